@@ -0,0 +1,318 @@
+// ActiveRenderer.java
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.VolatileImage;
+
+/**
+ * The ActiveRenderer class draws the game into a VolatileImage back buffer and copies it to
+ * the screen from the game loop thread, without going through Swing's repaint queue.
+ * Only the cells that changed since the last frame are redrawn: the new head, the vacated
+ * tail, the eaten and the new apple, and new poison apples. Everything is redrawn on
+ * restart, when poison apples are cleared, or when the back buffer loses its contents.
+ *
+ * The snake is drawn cell by cell, without the interpolation of the passive renderer.
+ * The performance overlay, when shown, is drawn over the copy on the screen, never into
+ * the back buffer.
+ *
+ * @author Michael Nguyen
+ * @version Last Modified Oct 17th, 2026
+ */
+public class ActiveRenderer
+{
+    private static final int MAX_DIRTY_CELLS = 64;  // More changes than this in one frame redraws everything
+
+    private final JComponent view;
+    private final GameEngine engine;
+    private final GameSettings settings;
+    private final PerformanceHud hud;
+    private VolatileImage backBuffer;
+
+    // Changed cells since the last frame, guarded by the engine lock
+    private final int[] dirtyX = new int[MAX_DIRTY_CELLS];
+    private final int[] dirtyY = new int[MAX_DIRTY_CELLS];
+    private int dirtyCount;
+    private boolean fullRedraw;
+    private final Rectangle changedArea = new Rectangle();  // Area to copy to the screen this frame
+    private boolean changed;
+
+    // What was on the board at the previous tick
+    private int lastFoodX;
+    private int lastFoodY;
+    private int lastPoisonCount;
+    private int lastPoisonClears;
+
+
+    /**
+     * Constructor
+     *
+     * @param   view        The panel to draw on
+     * @param   engine      The engine holding the game state
+     * @param   settings    The game settings
+     * @param   hud         The performance overlay
+     */
+    public ActiveRenderer(JComponent view, GameEngine engine, GameSettings settings, PerformanceHud hud)
+    {
+        this.view = view;
+        this.engine = engine;
+        this.settings = settings;
+        this.hud = hud;
+        this.reset();
+    }
+
+
+    /**
+     * Forces a full redraw on the next frame. Call while holding the engine lock.
+     */
+    public void reset()
+    {
+        this.fullRedraw = true;
+        this.dirtyCount = 0;
+        this.lastFoodX = engine.getFood().getX();
+        this.lastFoodY = engine.getFood().getY();
+        this.lastPoisonCount = engine.getPoisonCount();
+        this.lastPoisonClears = engine.getGrid().getPoisonClears();
+    }
+
+
+    /**
+     * Records the cells changed by a tick. Runs on the loop thread while holding the engine lock.
+     *
+     * @param   result  What happened during the tick
+     */
+    public void recordTick(TickResult result)
+    {
+        Snake snake = engine.getSnake();
+        markDirty(snake.getHeadX(), snake.getHeadY());
+
+        if (snake.hasVacatedTail())
+        {
+            markDirty(snake.getVacatedTailX(), snake.getVacatedTailY());
+        }
+
+        if (result.hasAteFood())
+        {
+            ConsumableFood food = engine.getFood();
+            markDirty(lastFoodX, lastFoodY);
+            markDirty(food.getX(), food.getY());
+
+            lastFoodX = food.getX();
+            lastFoodY = food.getY();
+        }
+
+        // Poison apples are only ever appended, or all cleared at once
+        BoardGrid grid = engine.getGrid();
+        int poisonCount = grid.getPoisonCount();
+        if (grid.getPoisonClears() != lastPoisonClears)
+        {
+            fullRedraw = true;
+            lastPoisonCount = 0;
+            lastPoisonClears = grid.getPoisonClears();
+        }
+
+        for (int i = lastPoisonCount; i < poisonCount; i++)
+        {
+            int cell = grid.getPoisonCell(i);
+            markDirty(grid.getCellX(cell), grid.getCellY(cell));
+        }
+        lastPoisonCount = poisonCount;
+    }
+
+
+    /**
+     * Brings the back buffer up to date and copies the changed area to the screen.
+     * Runs on the loop thread.
+     */
+    public void renderFrame()
+    {
+        if (!view.isShowing()) { return; }
+        long frameStart = TickProfiler.start();
+
+        synchronized (engine)
+        {
+            if (!prepareBackBuffer()) { return; }
+
+            changed = false;
+            Graphics2D g = backBuffer.createGraphics();
+
+            if (fullRedraw) { redrawRegion(g, 0, 0, backBuffer.getWidth(), backBuffer.getHeight()); }
+            else { redrawDirtyCells(g); }
+            g.dispose();
+
+            dirtyCount = 0;
+            fullRedraw = false;
+
+            // The overlay changes every frame
+            if (hud.isVisible())
+            {
+                if (changed) { changedArea.add(hud.getBounds()); }
+                else { changedArea.setBounds(hud.getBounds()); }
+                changed = true;
+            }
+
+            if (!changed) { return; }
+
+            Graphics screen = view.getGraphics();
+            if (screen == null) { return; }
+
+            screen.setClip(changedArea);
+            screen.drawImage(backBuffer, 0, 0, null);
+            hud.draw(screen, engine);
+            screen.dispose();
+        }
+
+        Toolkit.getDefaultToolkit().sync();
+        TickProfiler.frameFinished(frameStart);
+    }
+
+
+    /**
+     * Copies the whole back buffer for a repaint requested by Swing.
+     *
+     * @param   g   Graphics object of the panel
+     * @return      False if there is no back buffer yet
+     */
+    public boolean paint(Graphics g)
+    {
+        synchronized (engine)
+        {
+            if (backBuffer == null) { return false; }
+
+            if (backBuffer.contentsLost()) { fullRedraw = true; }
+            g.drawImage(backBuffer, 0, 0, null);
+            hud.draw(g, engine);
+            return true;
+        }
+    }
+
+
+    // Helper Methods
+
+    /**
+     * Creates or restores the back buffer.
+     *
+     * @return  False if the panel cannot create one yet
+     */
+    private boolean prepareBackBuffer()
+    {
+        int width = view.getWidth();
+        int height = view.getHeight();
+
+        if (backBuffer == null || backBuffer.getWidth() != width || backBuffer.getHeight() != height)
+        {
+            if (width <= 0 || height <= 0) { return false; }
+
+            backBuffer = view.createVolatileImage(width, height);
+            if (backBuffer == null) { return false; }
+            fullRedraw = true;
+        }
+
+        int status = backBuffer.validate(view.getGraphicsConfiguration());
+        if (status == VolatileImage.IMAGE_INCOMPATIBLE)
+        {
+            backBuffer = view.createVolatileImage(width, height);
+            fullRedraw = true;
+        }
+        else if (status == VolatileImage.IMAGE_RESTORED)
+        {
+            fullRedraw = true;
+        }
+        return backBuffer != null;
+    }
+
+
+    /**
+     * Records a changed cell, falling back to a full redraw when too many cells changed.
+     */
+    private void markDirty(int x, int y)
+    {
+        if (dirtyCount == MAX_DIRTY_CELLS)
+        {
+            fullRedraw = true;
+            return;
+        }
+
+        dirtyX[dirtyCount] = x;
+        dirtyY[dirtyCount] = y;
+        dirtyCount++;
+    }
+
+
+    /**
+     * Redraws the area an apple sprite could cover around each changed cell.
+     */
+    private void redrawDirtyCells(Graphics2D g)
+    {
+        int spriteSize = (int) (settings.getSegmentSize() * 1.5);
+
+        for (int i = 0; i < dirtyCount; i++)
+        {
+            redrawRegion(g, dirtyX[i], dirtyY[i], spriteSize, spriteSize);
+        }
+    }
+
+
+    /**
+     * Clears an area and redraws whatever overlaps it: snake cells, then the apple,
+     * then poison apples, in the same order as the full paint. The area is added to
+     * the area copied to the screen this frame.
+     */
+    private void redrawRegion(Graphics2D g, int x, int y, int width, int height)
+    {
+        int size = settings.getSegmentSize();
+        BoardGrid grid = engine.getGrid();
+
+        g.setClip(x, y, width, height);
+        g.setColor(view.getBackground());
+        g.fillRect(x, y, width, height);
+
+        // Sprites are one and a half cells wide, so look one cell up and left as well
+        int firstColumn = Math.max(0, x / size - 1);
+        int firstRow = Math.max(0, y / size - 1);
+        int lastColumn = (x + width) / size;
+        int lastRow = (y + height) / size;
+
+        g.setColor(settings.getSnakeColor());
+        for (int row = firstRow; row <= lastRow; row++)
+        {
+            for (int column = firstColumn; column <= lastColumn; column++)
+            {
+                if (grid.getSnakeCount(column * size, row * size) > 0)
+                {
+                    g.fillRect(column * size, row * size, size, size);
+                }
+            }
+        }
+
+        ConsumableFood food = engine.getFood();
+        drawSprite(g, food.getImageName(), food.getX(), food.getY());
+
+        for (int row = firstRow; row <= lastRow; row++)
+        {
+            for (int column = firstColumn; column <= lastColumn; column++)
+            {
+                if (grid.isPoison(column * size, row * size))
+                {
+                    drawSprite(g, PoisonFood.IMAGE_NAME, column * size, row * size);
+                }
+            }
+        }
+
+        if (!changed) { changedArea.setBounds(x, y, width, height); }
+        else
+        {
+            changedArea.add(x, y);
+            changedArea.add(x + width, y + height);
+        }
+        changed = true;
+    }
+
+
+    /**
+     * Draws an apple sprite. Sprites outside the clip are skipped by the graphics pipeline.
+     */
+    private void drawSprite(Graphics2D g, String imageName, int x, int y)
+    {
+        g.drawImage(SpriteAtlas.getSprite(imageName, settings.getSegmentSize()), x, y, null);
+    }
+}
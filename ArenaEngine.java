@@ -0,0 +1,377 @@
+// ArenaEngine.java
+
+import java.util.Arrays;
+
+/**
+ * The ArenaEngine class runs an arena: many AI snakes sharing one board, each able to run
+ * into the others. Like GameEngine it has no dependency on AWT or Swing.
+ *
+ * All snakes share one BoardGrid, which counts the segments on every cell, so checking a
+ * head against every body on the board is a single lookup. A tick is O(number of snakes)
+ * however long the snakes get. Snakes move at the same time: every snake decides, then
+ * every snake moves, eats and is checked, and only then are the dead taken off the board,
+ * so two heads meeting on one cell both die.
+ *
+ * There is one apple for every few snakes, and each snake heads for its own apple.
+ * An apple is only eaten by moving onto its cell. Every cell records the slot of the apple
+ * on it, so finding the apple a snake ate is one lookup.
+ * Any snake can be handed to a player, whose turns are applied instead of the AI's.
+ *
+ * @author Michael Nguyen
+ * @version Last Modified Oct 17th, 2026
+ */
+public class ArenaEngine
+{
+    private static final int SNAKES_PER_APPLE = 4;
+    private static final int START_ATTEMPTS = 1000;     // Tries to find a starting spot for each snake
+    private static final Snake.Direction[] DIRECTIONS = Snake.Direction.values();
+
+    private final GameSettings settings;
+    private final BoardGrid grid;                       // Occupancy index shared by every snake
+    private final GameRandom random;
+    private final GreedyPlayer.Hazards hazards = this::isDeadly;
+    private final Snake[] snakes;
+    private final boolean[] alive;
+    private final int[] scores;
+    private final boolean[] playerControlled;
+    private final Snake.Direction[] playerTurns;        // Turn to apply on the next tick, or null
+    private final ConsumableFood[] foods;               // Null where no free cell was left for an apple
+    private final int[] foodSlots;                      // Slot in foods of the apple on every cell, or -1
+    private final PoisonFood poisonSpawner;             // Picks cells for poison apples, which live in the grid
+    private final int[] died;                           // Snakes that died during the current tick
+    private int aliveCount;
+    private long tickCount;
+
+
+    /**
+     * Constructor places the snakes and apples on an empty board.
+     *
+     * @param   settings    The game settings
+     * @param   snakeCount  Number of snakes in the arena
+     * @param   seed        Seed of every random decision in the arena
+     * @throws  IllegalArgumentException    If the board has no room for that many snakes
+     */
+    public ArenaEngine(GameSettings settings, int snakeCount, long seed)
+    {
+        this.settings = settings;
+        this.grid = new BoardGrid(settings);
+        this.random = new GameRandom(seed);
+        this.snakes = new Snake[snakeCount];
+        this.alive = new boolean[snakeCount];
+        this.scores = new int[snakeCount];
+        this.playerControlled = new boolean[snakeCount];
+        this.playerTurns = new Snake.Direction[snakeCount];
+        this.died = new int[snakeCount];
+        this.poisonSpawner = new PoisonFood(settings, random);
+
+        for (int i = 0; i < snakeCount; i++)
+        {
+            snakes[i] = placeSnake();
+            alive[i] = true;
+        }
+        this.aliveCount = snakeCount;
+
+        this.foods = new ConsumableFood[Math.max(1, snakeCount / SNAKES_PER_APPLE)];
+        this.foodSlots = new int[grid.getColumns() * grid.getRows()];
+        Arrays.fill(foodSlots, -1);
+        for (int i = 0; i < foods.length; i++)
+        {
+            spawnFood(i);
+        }
+    }
+
+
+    // Getter Methods
+
+    /**
+     * @return  The game settings
+     */
+    public GameSettings getSettings() { return this.settings; }
+
+    /**
+     * @return  Occupancy index of the board
+     */
+    public BoardGrid getGrid() { return this.grid; }
+
+    /**
+     * @return  Number of snakes the arena started with
+     */
+    public int getSnakeCount() { return this.snakes.length; }
+
+    /**
+     * @return  A snake, alive or dead
+     */
+    public Snake getSnake(int index) { return this.snakes[index]; }
+
+    /**
+     * @return  True if the snake is still in the arena
+     */
+    public boolean isAlive(int index) { return this.alive[index]; }
+
+    /**
+     * @return  True if a player steers the snake instead of the AI
+     */
+    public boolean isPlayerControlled(int index) { return this.playerControlled[index]; }
+
+    /**
+     * @return  Number of snakes still in the arena
+     */
+    public int getAliveCount() { return this.aliveCount; }
+
+    /**
+     * @return  Score of a snake
+     */
+    public int getScore(int index) { return this.scores[index]; }
+
+    /**
+     * @return  Number of apple slots in the arena
+     */
+    public int getFoodCount() { return this.foods.length; }
+
+    /**
+     * @return  An apple, or null if no free cell was left for it
+     */
+    public ConsumableFood getFood(int index) { return this.foods[index]; }
+
+    /**
+     * @return  Number of poison apples on the field. BoardGrid.getPoisonCell() gives their cells.
+     */
+    public int getPoisonCount() { return this.grid.getPoisonCount(); }
+
+    /**
+     * @return  Number of ticks played
+     */
+    public long getTickCount() { return this.tickCount; }
+
+    /**
+     * @return  True once every snake has died.
+     */
+    public boolean isGameOver() { return this.aliveCount == 0; }
+
+
+    /**
+     * Checks whether moving a head onto a position would kill the snake.
+     *
+     * @param   x   x-coordinate in pixels
+     * @param   y   y-coordinate in pixels
+     * @return      True if the position is a wall, part of any snake or a poison apple.
+     */
+    public boolean isDeadly(int x, int y)
+    {
+        return isWall(x, y) || grid.getSnakeCount(x, y) > 0 || grid.isPoison(x, y);
+    }
+
+
+    /**
+     * Hands a snake to a player, or back to the AI.
+     *
+     * @param   index       The snake
+     * @param   controlled  True if a player steers it
+     */
+    public void setPlayerControlled(int index, boolean controlled)
+    {
+        this.playerControlled[index] = controlled;
+        this.playerTurns[index] = null;
+    }
+
+
+    /**
+     * Sets the turn a player's snake takes on the next tick.
+     *
+     * @param   index       The snake
+     * @param   direction   The new direction, or null to keep going straight
+     */
+    public void setTurn(int index, Snake.Direction direction)
+    {
+        this.playerTurns[index] = direction;
+    }
+
+
+    /**
+     * Advances the arena by one step. Every living snake turns as its player asked,
+     * or steers towards its apple, then all of them move, eat and are checked for collisions together.
+     *
+     * @return  Number of snakes that died this tick
+     */
+    public int tick()
+    {
+        if (aliveCount == 0) { return 0; }
+        tickCount++;
+
+        int size = settings.getSegmentSize();
+
+        // Every snake decides before any snake moves
+        for (int i = 0; i < snakes.length; i++)
+        {
+            if (!alive[i]) { continue; }
+
+            if (playerControlled[i])
+            {
+                if (playerTurns[i] != null) { snakes[i].setDirection(playerTurns[i]); }
+                playerTurns[i] = null;
+                continue;
+            }
+
+            ConsumableFood food = foods[i % foods.length];
+            Snake snake = snakes[i];
+            int targetX = food != null ? food.getX() : settings.getWidth() / 2;
+            int targetY = food != null ? food.getY() : settings.getHeight() / 2;
+
+            snake.setDirection(GreedyPlayer.steer(snake, targetX, targetY, size, hazards));
+        }
+
+        for (int i = 0; i < snakes.length; i++)
+        {
+            if (alive[i]) { snakes[i].move(); }
+        }
+
+        // Eat before checking collisions, so a growing tail still blocks the cell it stayed on
+        for (int i = 0; i < snakes.length; i++)
+        {
+            if (alive[i] && grid.isFood(snakes[i].getHeadX(), snakes[i].getHeadY())) { eat(i); }
+        }
+
+        int diedCount = 0;
+        for (int i = 0; i < snakes.length; i++)
+        {
+            if (!alive[i]) { continue; }
+
+            int headX = snakes[i].getHeadX();
+            int headY = snakes[i].getHeadY();
+
+            // More than one segment on the head's cell means it ran into a body, its own or another's
+            if (isWall(headX, headY) || grid.getSnakeCount(headX, headY) > 1 || grid.isPoison(headX, headY))
+            {
+                died[diedCount++] = i;
+            }
+        }
+
+        // Take the dead off the board only once every snake has been checked
+        for (int i = 0; i < diedCount; i++)
+        {
+            snakes[died[i]].removeFromGrid();
+            alive[died[i]] = false;
+        }
+        aliveCount -= diedCount;
+
+        return diedCount;
+    }
+
+
+    // Helper Methods
+
+    /**
+     * Finds a free spot for a new snake, with room behind it for its tail and ahead of it to move.
+     *
+     * @return  The new snake
+     */
+    private Snake placeSnake()
+    {
+        int size = settings.getSegmentSize();
+
+        for (int attempt = 0; attempt < START_ATTEMPTS; attempt++)
+        {
+            int cell = grid.randomFreeCell(random);
+            if (cell < 0) { break; }
+
+            int x = grid.getCellX(cell);
+            int y = grid.getCellY(cell);
+            Snake.Direction direction = DIRECTIONS[random.nextInt(DIRECTIONS.length)];
+            int stepX = GreedyPlayer.dx(direction) * size;
+            int stepY = GreedyPlayer.dy(direction) * size;
+
+            if (!isDeadly(x - stepX, y - stepY) && !isDeadly(x + stepX, y + stepY))
+            {
+                return new Snake(settings, grid, x, y, direction);
+            }
+        }
+        throw new IllegalArgumentException("No room for " + snakes.length + " snakes on the board");
+    }
+
+
+    /**
+     * Places a new apple on a free cell, or leaves the slot empty if the board is full.
+     *
+     * @param   slot    Index in foods of the apple
+     */
+    private void spawnFood(int slot)
+    {
+        ConsumableFood food = new ConsumableFood(settings, random);
+        if (!food.generateNewPosition(grid))
+        {
+            foods[slot] = null;
+            return;
+        }
+
+        grid.setFood(food.getX(), food.getY(), true);
+        foods[slot] = food;
+        foodSlots[cellOf(food.getX(), food.getY())] = slot;
+    }
+
+
+    /**
+     * A snake eats the apple under its head: it grows, scores, and the apple respawns.
+     * A golden apple clears every poison apple, and any apple may leave a poison apple behind.
+     */
+    private void eat(int index)
+    {
+        Snake snake = snakes[index];
+
+        // Only apples carry the food flag, so the head's cell holds one of them
+        int cell = cellOf(snake.getHeadX(), snake.getHeadY());
+        int food = foodSlots[cell];
+        foodSlots[cell] = -1;
+
+        ConsumableFood eaten = foods[food];
+        snake.grow();
+        scores[index] += eaten.getPoints();
+        grid.setFood(eaten.getX(), eaten.getY(), false);
+
+        if (eaten.getAppleType() == ConsumableFood.AppleType.GOLDEN) { grid.clearPoison(); }
+
+        spawnFood(food);
+        if (random.nextDouble() < settings.getPoisonProbability())
+        {
+            for (int i = 0; i < settings.getPoisonPerApple(); i++)
+            {
+                if (!spawnPoisonApple()) { break; }
+            }
+        }
+    }
+
+
+    /**
+     * Adds a poison apple on a free cell, unless the board is full.
+     *
+     * @return  True if a poison apple was added
+     */
+    private boolean spawnPoisonApple()
+    {
+        if (!poisonSpawner.generateNewPosition(grid)) { return false; }
+
+        grid.addPoison(poisonSpawner.getX(), poisonSpawner.getY());
+        return true;
+    }
+
+
+    /**
+     * @return  Index of the cell at a position in pixels, numbered like the grid's cells
+     */
+    private int cellOf(int x, int y)
+    {
+        int size = settings.getSegmentSize();
+        return x / size + (y / size) * grid.getColumns();
+    }
+
+
+    /**
+     * @return  True if the position is outside the area the snakes can move in.
+     */
+    private boolean isWall(int x, int y)
+    {
+        return x <= 0
+                || x >= settings.getWidth()
+                || y < 0
+                || y >= settings.getHeight() - settings.getSegmentSize();
+    }
+}
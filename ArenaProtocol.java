@@ -0,0 +1,378 @@
+// ArenaProtocol.java
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * The ArenaProtocol class defines the binary messages of the multiplayer server and encodes
+ * them. Every message is a frame: a 4-byte length, a type byte, then the payload. Numbers
+ * inside a payload are varints, and positions are sent as cell indices, column + row * columns.
+ *
+ * Client to server:
+ *   JOIN       room name in UTF-8
+ *   INPUT      direction ordinal
+ *
+ * Server to client:
+ *   WELCOME    seat + 1 (0 to watch), columns, rows, seats, apple slots
+ *   KEYFRAME   tick, then for every seat: alive, and if alive its length and cells head first;
+ *              then every score, every apple slot as cell + 1 (0 if empty) and type,
+ *              and the poison apples as a count and cells
+ *   DELTA      tick, then events until END, then the state hash as 8 bytes
+ *
+ * A delta only describes what changed during one tick: heads moved, tails removed, snakes
+ * died, apples spawned, poison spawned or cleared, and scores. Clients apply deltas in order
+ * to the last keyframe, and can compare stateHash() of their copy with the hash that closes
+ * every delta to catch a desync.
+ *
+ * @author Michael Nguyen
+ * @version Last Modified Oct 17th, 2026
+ */
+public final class ArenaProtocol
+{
+    public static final int HEADER_BYTES = 5;
+    public static final int MAX_FRAME_BYTES = 1 << 24;
+
+    // Message types
+    public static final byte JOIN = 1;
+    public static final byte INPUT = 2;
+    public static final byte WELCOME = 10;
+    public static final byte KEYFRAME = 11;
+    public static final byte DELTA = 12;
+
+    // Delta events
+    public static final int END = 0;
+    public static final int HEAD = 1;               // seat, cell
+    public static final int TAIL = 2;               // seat
+    public static final int DIED = 3;               // seat
+    public static final int FOOD = 4;               // slot, cell + 1 (0 if empty), type
+    public static final int POISON = 5;             // cell
+    public static final int POISON_CLEARED = 6;
+    public static final int SCORE = 7;              // seat, score
+
+
+    private ArenaProtocol() { }
+
+
+    /**
+     * Encodes a JOIN frame.
+     */
+    public static void writeJoin(ByteBuffer out, String room)
+    {
+        int start = beginFrame(out, JOIN);
+        out.put(room.getBytes(StandardCharsets.UTF_8));
+        endFrame(out, start);
+    }
+
+
+    /**
+     * Encodes an INPUT frame.
+     */
+    public static void writeInput(ByteBuffer out, Snake.Direction direction)
+    {
+        int start = beginFrame(out, INPUT);
+        out.put((byte) direction.ordinal());
+        endFrame(out, start);
+    }
+
+
+    /**
+     * Encodes a WELCOME frame.
+     *
+     * @param   seat    The client's seat, or -1 if it only watches
+     */
+    public static void writeWelcome(ByteBuffer out, ArenaEngine arena, int seat)
+    {
+        int start = beginFrame(out, WELCOME);
+        Varint.write(out, seat + 1);
+        Varint.write(out, arena.getGrid().getColumns());
+        Varint.write(out, arena.getGrid().getRows());
+        Varint.write(out, arena.getSnakeCount());
+        Varint.write(out, arena.getFoodCount());
+        endFrame(out, start);
+    }
+
+
+    /**
+     * Encodes the whole state of an arena as a KEYFRAME frame.
+     */
+    public static void writeKeyframe(ByteBuffer out, ArenaEngine arena)
+    {
+        int start = beginFrame(out, KEYFRAME);
+        Varint.write(out, arena.getTickCount());
+
+        for (int seat = 0; seat < arena.getSnakeCount(); seat++)
+        {
+            out.put((byte) (arena.isAlive(seat) ? 1 : 0));
+            if (!arena.isAlive(seat)) { continue; }
+
+            Snake snake = arena.getSnake(seat);
+            Varint.write(out, snake.getLength());
+            for (int i = 0; i < snake.getLength(); i++)
+            {
+                Varint.write(out, cellOf(arena, snake.getSegmentX(i), snake.getSegmentY(i)));
+            }
+        }
+
+        for (int seat = 0; seat < arena.getSnakeCount(); seat++)
+        {
+            Varint.write(out, arena.getScore(seat));
+        }
+
+        for (int slot = 0; slot < arena.getFoodCount(); slot++)
+        {
+            writeFood(out, arena, arena.getFood(slot));
+        }
+
+        BoardGrid grid = arena.getGrid();
+        Varint.write(out, grid.getPoisonCount());
+        for (int i = 0; i < grid.getPoisonCount(); i++)
+        {
+            Varint.write(out, grid.getPoisonCell(i));
+        }
+        endFrame(out, start);
+    }
+
+
+    /**
+     * Writes a frame with a growing scratch buffer and copies it out at its exact size,
+     * so one encoded frame can be shared by every client.
+     *
+     * @param   scratch     Buffer to encode into; a larger one is allocated if it is too small
+     * @param   encoder     Writes the frame
+     * @return              A new buffer holding the frame, positioned at its start
+     */
+    public static ByteBuffer encode(ByteBuffer[] scratch, Consumer<ByteBuffer> encoder)
+    {
+        while (true)
+        {
+            ByteBuffer buffer = scratch[0];
+            buffer.clear();
+            try
+            {
+                encoder.accept(buffer);
+                buffer.flip();
+
+                ByteBuffer frame = ByteBuffer.allocate(buffer.remaining());
+                frame.put(buffer).flip();
+                return frame;
+            }
+            catch (BufferOverflowException e)
+            {
+                scratch[0] = ByteBuffer.allocate(buffer.capacity() * 2);
+            }
+        }
+    }
+
+
+    /**
+     * Hash of everything a delta changes, computed the same way on both ends of the connection.
+     *
+     * @param   tick        Tick of the state
+     * @param   heads       Cell of every seat's head, or -1 if the seat is dead
+     * @param   lengths     Length of every seat's snake
+     * @param   scores      Score of every seat
+     * @param   foods       Cell of every apple slot, or -1 if empty
+     * @param   poison      Number of poison apples
+     */
+    public static long stateHash(long tick, int[] heads, int[] lengths, int[] scores, int[] foods, int poison)
+    {
+        long hash = tick;
+        for (int i = 0; i < heads.length; i++)
+        {
+            hash = hash * 31 + heads[i];
+            hash = hash * 31 + lengths[i];
+            hash = hash * 31 + scores[i];
+        }
+        for (int food : foods) { hash = hash * 31 + food; }
+        return hash * 31 + poison;
+    }
+
+
+    /**
+     * @return  Cell index of a position in pixels
+     */
+    static int cellOf(ArenaEngine arena, int x, int y)
+    {
+        int size = arena.getSettings().getSegmentSize();
+        return x / size + (y / size) * arena.getGrid().getColumns();
+    }
+
+
+    // Helper Methods
+
+    /**
+     * Reserves the frame header.
+     *
+     * @return  Position of the frame in the buffer
+     */
+    private static int beginFrame(ByteBuffer out, byte type)
+    {
+        int start = out.position();
+        out.putInt(0);
+        out.put(type);
+        return start;
+    }
+
+    /**
+     * Fills in the length of a frame once its payload is written.
+     */
+    private static void endFrame(ByteBuffer out, int start)
+    {
+        out.putInt(start, out.position() - start - 4);
+    }
+
+    /**
+     * Writes an apple slot: cell + 1, or 0 for an empty slot, then the apple type.
+     */
+    private static void writeFood(ByteBuffer out, ArenaEngine arena, ConsumableFood food)
+    {
+        if (food == null)
+        {
+            Varint.write(out, 0);
+            return;
+        }
+        Varint.write(out, cellOf(arena, food.getX(), food.getY()) + 1);
+        out.put((byte) food.getAppleType().ordinal());
+    }
+
+
+    /**
+     * The DeltaEncoder class remembers what clients were last told about an arena, and after
+     * each tick writes a DELTA frame with only what changed since.
+     */
+    public static final class DeltaEncoder
+    {
+        private final ArenaEngine arena;
+        private final boolean[] alive;
+        private final int[] scores;
+        private final ConsumableFood[] foods;
+        private int poisonCount;
+        private int poisonClears;
+
+        // State hash inputs, reused every tick
+        private final int[] hashHeads;
+        private final int[] hashLengths;
+        private final int[] hashFoods;
+
+
+        /**
+         * Constructor takes the arena as it is in the keyframe clients start from.
+         */
+        public DeltaEncoder(ArenaEngine arena)
+        {
+            this.arena = arena;
+            this.alive = new boolean[arena.getSnakeCount()];
+            this.scores = new int[arena.getSnakeCount()];
+            this.foods = new ConsumableFood[arena.getFoodCount()];
+            this.hashHeads = new int[arena.getSnakeCount()];
+            this.hashLengths = new int[arena.getSnakeCount()];
+            this.hashFoods = new int[arena.getFoodCount()];
+
+            for (int seat = 0; seat < alive.length; seat++)
+            {
+                alive[seat] = arena.isAlive(seat);
+                scores[seat] = arena.getScore(seat);
+            }
+            for (int slot = 0; slot < foods.length; slot++) { foods[slot] = arena.getFood(slot); }
+            this.poisonCount = arena.getPoisonCount();
+            this.poisonClears = arena.getGrid().getPoisonClears();
+        }
+
+
+        /**
+         * Writes a DELTA frame for the tick the arena just played.
+         */
+        public void write(ByteBuffer out)
+        {
+            int start = beginFrame(out, DELTA);
+            Varint.write(out, arena.getTickCount());
+
+            for (int seat = 0; seat < alive.length; seat++)
+            {
+                if (!alive[seat]) { continue; }
+
+                if (scores[seat] != arena.getScore(seat))
+                {
+                    scores[seat] = arena.getScore(seat);
+                    Varint.write(out, SCORE);
+                    Varint.write(out, seat);
+                    Varint.write(out, scores[seat]);
+                }
+
+                Snake snake = arena.getSnake(seat);
+                if (!arena.isAlive(seat))
+                {
+                    // A dead snake's last move is never shown, the client just removes it
+                    Varint.write(out, DIED);
+                    Varint.write(out, seat);
+                    alive[seat] = false;
+                    continue;
+                }
+
+                Varint.write(out, HEAD);
+                Varint.write(out, seat);
+                Varint.write(out, cellOf(arena, snake.getHeadX(), snake.getHeadY()));
+
+                if (snake.hasVacatedTail())
+                {
+                    Varint.write(out, TAIL);
+                    Varint.write(out, seat);
+                }
+            }
+
+            for (int slot = 0; slot < foods.length; slot++)
+            {
+                ConsumableFood food = arena.getFood(slot);
+                if (food == foods[slot]) { continue; }
+
+                foods[slot] = food;
+                Varint.write(out, FOOD);
+                Varint.write(out, slot);
+                writeFood(out, arena, food);
+            }
+
+            // Poison apples are only ever added at the end of the list or all cleared at once
+            BoardGrid grid = arena.getGrid();
+            if (grid.getPoisonClears() != poisonClears)
+            {
+                Varint.write(out, POISON_CLEARED);
+                poisonCount = 0;
+                poisonClears = grid.getPoisonClears();
+            }
+            for (int i = poisonCount; i < grid.getPoisonCount(); i++)
+            {
+                Varint.write(out, POISON);
+                Varint.write(out, grid.getPoisonCell(i));
+            }
+            poisonCount = grid.getPoisonCount();
+
+            Varint.write(out, END);
+            out.putLong(stateHash());
+            endFrame(out, start);
+        }
+
+
+        /**
+         * @return  Hash of the arena's current state, as clients should see it
+         */
+        public long stateHash()
+        {
+            for (int seat = 0; seat < hashHeads.length; seat++)
+            {
+                Snake snake = arena.getSnake(seat);
+                boolean living = arena.isAlive(seat);
+                hashHeads[seat] = living ? cellOf(arena, snake.getHeadX(), snake.getHeadY()) : -1;
+                hashLengths[seat] = living ? snake.getLength() : 0;
+            }
+            for (int slot = 0; slot < hashFoods.length; slot++)
+            {
+                ConsumableFood food = arena.getFood(slot);
+                hashFoods[slot] = food == null ? -1 : cellOf(arena, food.getX(), food.getY());
+            }
+            return ArenaProtocol.stateHash(arena.getTickCount(), hashHeads, hashLengths, scores,
+                    hashFoods, arena.getPoisonCount());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+// ArenaSimulator.java
+
+/**
+ * The ArenaSimulator class runs a headless arena of AI snakes and prints how fast it ticks,
+ * so the cost of a tick can be compared across snake counts and board sizes.
+ *
+ * Usage: java ArenaSimulator [snakes] [boardCells] [maxTicks] [seed]
+ *
+ * @author Michael Nguyen
+ * @version Last Modified Oct 17th, 2026
+ */
+public class ArenaSimulator
+{
+    public static void main(String[] args)
+    {
+        int snakeCount = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int boardCells = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        int maxTicks = args.length > 2 ? Integer.parseInt(args[2]) : 10_000;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 2023_12_17L;
+
+        GameSettings settings = new GameSettings();
+        settings.setBoardSize(boardCells, boardCells);
+        ArenaEngine arena = new ArenaEngine(settings, snakeCount, seed);
+
+        System.out.printf("Arena of %,d snakes on %,d x %,d cells%n", snakeCount, boardCells, boardCells);
+
+        long start = System.nanoTime();
+        long snakeTicks = 0;
+
+        while (!arena.isGameOver() && arena.getTickCount() < maxTicks)
+        {
+            snakeTicks += arena.getAliveCount();
+            arena.tick();
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        int bestScore = 0;
+        int longest = 0;
+        for (int i = 0; i < arena.getSnakeCount(); i++)
+        {
+            bestScore = Math.max(bestScore, arena.getScore(i));
+            longest = Math.max(longest, arena.getSnake(i).getLength());
+        }
+
+        System.out.printf("%,d ticks in %.2f s (%,.0f ticks/s, %.0f ns per snake move)%n",
+                arena.getTickCount(), seconds, arena.getTickCount() / seconds, seconds * 1e9 / snakeTicks);
+        System.out.printf("%,d snakes alive, best score %,d, longest snake %,d, %,d poison apples%n",
+                arena.getAliveCount(), bestScore, longest, arena.getPoisonCount());
+    }
+}
@@ -0,0 +1,111 @@
+// AssetPreloader.java
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The AssetPreloader class does the game's startup work in the background while the player
+ * is still choosing settings, so pressing Play does not have to wait for it.
+ *
+ * Every apple image is decoded and scaled into the SpriteAtlas for every segment size the
+ * difficulties use, one image per task so they load in parallel. At the same time the game
+ * classes are loaded and initialised, and a short headless game is played so the JIT has
+ * compiled the tick before the first real one. That game is skipped when the TickProfiler is
+ * on, since its histograms expect ticks from the game loop thread only.
+ *
+ * @author Michael Nguyen
+ * @version Last Modified Oct 17th, 2026
+ */
+public final class AssetPreloader
+{
+    private static final int WARM_UP_TICKS = 5_000;
+    private static final long WARM_UP_SEED = 2023_12_16L;
+
+    // Loaded and initialised ahead of the first game, in the order the game needs them
+    private static final String[] GAME_CLASSES =
+    {
+        "ScoreBoard", "GameWindow", "GameEngine", "GameLoop", "Snake", "BoardGrid", "Food",
+        "TickResult", "InputQueue", "ReplayRecorder", "SpectatorPublisher", "PerformanceHud",
+        "ActiveRenderer", "AutopilotPlayer", "GreedyPlayer"
+    };
+
+
+    private AssetPreloader() { }
+
+
+    /**
+     * Starts preloading on background threads and returns immediately. The threads are
+     * daemons and exit once the work is done.
+     *
+     * @param   segmentSizes    Segment sizes to scale the apple images for
+     * @return                  Completes when everything has been loaded
+     */
+    public static CompletableFuture<Void> start(int... segmentSizes)
+    {
+        String[] imageNames = SpriteAtlas.getImageNames();
+        int taskCount = imageNames.length * segmentSizes.length + 1;
+
+        // Leave a core to the event dispatch thread
+        int threadCount = Math.max(1, Math.min(taskCount, Runtime.getRuntime().availableProcessors() - 1));
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount, task ->
+        {
+            Thread thread = new Thread(task, "asset-preloader");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        });
+
+        List<CompletableFuture<Void>> tasks = new ArrayList<>(taskCount);
+        tasks.add(CompletableFuture.runAsync(AssetPreloader::warmGameClasses, executor));
+        for (int segmentSize : segmentSizes)
+        {
+            for (String imageName : imageNames)
+            {
+                tasks.add(CompletableFuture.runAsync(() -> SpriteAtlas.preload(imageName, segmentSize), executor));
+            }
+        }
+
+        CompletableFuture<Void> done = CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0]));
+        return done.whenComplete((result, error) ->
+        {
+            executor.shutdown();
+            if (error != null) { System.err.println("Preloading failed: " + error.getCause()); }
+            else { StartupTimer.mark(StartupTimer.Stage.ASSETS_PRELOADED); }
+        });
+    }
+
+
+    // Helper Methods
+
+    /**
+     * Loads and initialises the game classes, then plays a short headless game.
+     */
+    private static void warmGameClasses()
+    {
+        ClassLoader loader = AssetPreloader.class.getClassLoader();
+        for (String name : GAME_CLASSES)
+        {
+            try
+            {
+                Class.forName(name, true, loader);
+            }
+            catch (ClassNotFoundException e)
+            {
+                // Only a warm-up; the game loads it when needed
+            }
+        }
+
+        if (TickProfiler.ENABLED) { return; }
+
+        GameEngine engine = new GameEngine(new GameSettings(), WARM_UP_SEED);
+        GreedyPlayer player = new GreedyPlayer();
+        for (int tick = 0; tick < WARM_UP_TICKS; tick++)
+        {
+            engine.tick(player.decide(engine));
+            if (engine.isGameOver()) { engine.reset(); }
+        }
+    }
+}
@@ -0,0 +1,277 @@
+// AutopilotPlayer.java
+
+/**
+ * The AutopilotPlayer class drives a snake on its own, for soak tests and demos.
+ * Each tick it runs a breadth-first search from the head to the apple, around walls,
+ * the snake and poison apples, and takes the first step of the shortest path if the
+ * snake can still reach its own tail from there. Otherwise it takes the move that keeps
+ * the tail reachable, or failing that the one with the most room.
+ *
+ * Searches only look at a window of the board around the head, and each search stops after
+ * a fixed number of cells, so a decision costs the same on a huge board as on a small one.
+ * An apple outside the window is approached through the window cell closest to it.
+ * The frontier and the visited marks are arrays allocated once; a new search bumps a
+ * generation number instead of clearing them, so deciding creates no garbage.
+ *
+ * Not thread-safe. The planning metrics are updated by decide() and should be read
+ * under the same lock.
+ *
+ * @author Michael Nguyen
+ * @version Last Modified Oct 17th, 2026
+ */
+public class AutopilotPlayer
+{
+    private static final int MAX_WINDOW = 256;          // Largest searched area, in cells across
+    private static final int NODE_BUDGET = 16_384;      // Most cells expanded by one search
+    private static final Snake.Direction[] DIRECTIONS = Snake.Direction.values();
+
+    // Search state, reused by every search
+    private final int[] frontier = new int[MAX_WINDOW * MAX_WINDOW];
+    private final int[] visited = new int[MAX_WINDOW * MAX_WINDOW];     // Generation that reached each cell
+    private final byte[] firstStep = new byte[MAX_WINDOW * MAX_WINDOW]; // Direction leaving the start towards each cell
+    private int generation;
+
+    // Window of the board searched this decision
+    private GameEngine engine;
+    private int size;
+    private int originColumn;
+    private int originRow;
+    private int windowColumns;
+    private int windowRows;
+
+    // Result of the last search
+    private int searchArea;
+    private boolean searchReachedTarget;
+    private int searchStep;
+
+    // Planning metrics
+    private final Distribution planningMicros = new Distribution(1, 10_000);
+    private long nodesExpanded;
+
+
+    /**
+     * Chooses the next direction for the snake.
+     *
+     * @param   engine  The game being played
+     * @return          Direction for the next tick
+     */
+    public Snake.Direction decide(GameEngine engine)
+    {
+        long start = System.nanoTime();
+        Snake.Direction direction = plan(engine);
+        planningMicros.record((System.nanoTime() - start) / 1000);
+        return direction;
+    }
+
+
+    // Planning Metrics
+
+    /**
+     * @return  Number of decisions made
+     */
+    public long getDecisionCount() { return planningMicros.getCount(); }
+
+    /**
+     * @return  Mean time taken by a decision, in microseconds
+     */
+    public double getMeanPlanningMicros() { return planningMicros.getMean(); }
+
+    /**
+     * @return  Time taken by the slowest decision, in microseconds
+     */
+    public long getMaxPlanningMicros() { return planningMicros.getMax(); }
+
+    /**
+     * @param   fraction    Fraction of decisions, for example 0.99
+     * @return              Time within which that fraction of decisions were made, in microseconds
+     */
+    public long getPlanningMicrosPercentile(double fraction) { return planningMicros.getPercentile(fraction); }
+
+    /**
+     * @return  Number of cells expanded by every search so far
+     */
+    public long getNodesExpanded() { return this.nodesExpanded; }
+
+
+    // Helper Methods
+
+    /**
+     * Plans the next move without timing it.
+     */
+    private Snake.Direction plan(GameEngine engine)
+    {
+        Snake snake = engine.getSnake();
+        ConsumableFood food = engine.getFood();
+        setUpWindow(engine, snake);
+
+        int head = localCell(snake.getHeadX(), snake.getHeadY());
+        int tail = localCell(snake.getSegmentX(snake.getLength() - 1), snake.getSegmentY(snake.getLength() - 1));
+
+        // Shortest path to the apple, or to the window cell nearest it
+        search(head, food.getX(), food.getY(), -1, NODE_BUDGET);
+        int towardsFood = searchStep;
+        if (towardsFood >= 0 && isSafe(head, DIRECTIONS[towardsFood], tail, snake.getLength()))
+        {
+            return DIRECTIONS[towardsFood];
+        }
+
+        // No safe path: keep the tail in reach, or at least keep the most room
+        Snake.Direction best = snake.getDirection();
+        int bestScore = -1;
+
+        for (Snake.Direction direction : DIRECTIONS)
+        {
+            int next = step(head, direction);
+            if (next < 0 || isBlocked(next)) { continue; }
+
+            search(next, -1, -1, tail, NODE_BUDGET);
+            int score = searchReachedTarget ? NODE_BUDGET + searchArea : searchArea;
+
+            if (score > bestScore)
+            {
+                best = direction;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+
+    /**
+     * Centres the search window on the head, inside the board.
+     */
+    private void setUpWindow(GameEngine engine, Snake snake)
+    {
+        BoardGrid grid = engine.getGrid();
+        this.engine = engine;
+        this.size = engine.getSettings().getSegmentSize();
+        this.windowColumns = Math.min(grid.getColumns(), MAX_WINDOW);
+        this.windowRows = Math.min(grid.getRows(), MAX_WINDOW);
+
+        int headColumn = snake.getHeadX() / size;
+        int headRow = snake.getHeadY() / size;
+        this.originColumn = Math.max(0, Math.min(headColumn - windowColumns / 2, grid.getColumns() - windowColumns));
+        this.originRow = Math.max(0, Math.min(headRow - windowRows / 2, grid.getRows() - windowRows));
+    }
+
+
+    /**
+     * Checks that after a move towards the apple, the snake can still reach its tail, or has at
+     * least as much room as its own length.
+     */
+    private boolean isSafe(int head, Snake.Direction direction, int tail, int length)
+    {
+        search(step(head, direction), -1, -1, tail, length + 1);
+        return searchReachedTarget || searchArea > length;
+    }
+
+
+    /**
+     * Breadth-first search from a cell. The search ends at the goal position if there is one,
+     * once enough cells are reached, or when the node budget runs out.
+     * Sets searchArea to the number of cells reached, searchReachedTarget, and searchStep to
+     * the first step from the start towards the goal or the closest cell reached, or -1.
+     *
+     * @param   start       Window cell to search from
+     * @param   goalX       x-coordinate in pixels of the cell to find a path to, or -1
+     * @param   goalY       y-coordinate in pixels of the cell to find a path to, or -1
+     * @param   target      Window cell that counts as reached even though it is blocked, or -1
+     * @param   enoughArea  Number of cells after which the search can stop
+     */
+    private void search(int start, int goalX, int goalY, int target, int enoughArea)
+    {
+        generation++;
+        searchArea = 0;
+        searchReachedTarget = false;
+        searchStep = -1;
+
+        if (start < 0) { return; }
+
+        int head = 0;
+        int tail = 0;
+        int bestDistance = Integer.MAX_VALUE;
+
+        frontier[tail++] = start;
+        visited[start] = generation;
+        firstStep[start] = -1;
+
+        while (head < tail && head < NODE_BUDGET && tail < enoughArea)
+        {
+            int cell = frontier[head++];
+            nodesExpanded++;
+
+            if (goalX >= 0)
+            {
+                int distance = Math.abs(worldX(cell) - goalX) + Math.abs(worldY(cell) - goalY);
+                if (distance < bestDistance && cell != start)
+                {
+                    bestDistance = distance;
+                    searchStep = firstStep[cell];
+                }
+                if (distance == 0) { break; }
+            }
+
+            for (int d = 0; d < DIRECTIONS.length; d++)
+            {
+                int next = step(cell, DIRECTIONS[d]);
+                if (next < 0 || visited[next] == generation) { continue; }
+
+                if (next == target)
+                {
+                    searchReachedTarget = true;
+                    visited[next] = generation;
+                    continue;
+                }
+                if (isBlocked(next)) { continue; }
+
+                visited[next] = generation;
+                firstStep[next] = cell == start ? (byte) d : firstStep[cell];
+                frontier[tail++] = next;
+            }
+        }
+        searchArea = tail;
+    }
+
+
+    /**
+     * @return  True if moving onto a window cell would kill the snake.
+     */
+    private boolean isBlocked(int cell)
+    {
+        return engine.isDeadly(worldX(cell), worldY(cell));
+    }
+
+    /**
+     * @return  The window cell one step away in a direction, or -1 if it is outside the window.
+     */
+    private int step(int cell, Snake.Direction direction)
+    {
+        int column = cell % windowColumns + GreedyPlayer.dx(direction);
+        int row = cell / windowColumns + GreedyPlayer.dy(direction);
+
+        if (column < 0 || row < 0 || column >= windowColumns || row >= windowRows) { return -1; }
+        return row * windowColumns + column;
+    }
+
+    /**
+     * @return  The window cell holding a position, or -1 if it is outside the window.
+     */
+    private int localCell(int x, int y)
+    {
+        int column = x / size - originColumn;
+        int row = y / size - originRow;
+
+        if (x < 0 || y < 0 || column < 0 || row < 0 || column >= windowColumns || row >= windowRows) { return -1; }
+        return row * windowColumns + column;
+    }
+
+    /**
+     * @return  x-coordinate in pixels of a window cell
+     */
+    private int worldX(int cell) { return (originColumn + cell % windowColumns) * size; }
+
+    /**
+     * @return  y-coordinate in pixels of a window cell
+     */
+    private int worldY(int cell) { return (originRow + cell / windowColumns) * size; }
+}
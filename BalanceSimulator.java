@@ -0,0 +1,218 @@
+// BalanceSimulator.java
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * The BalanceSimulator class plays large batches of headless games with a GreedyPlayer
+ * for every combination in a grid of GameSettings values, and prints the score,
+ * survival and poison density distributions of each combination.
+ *
+ * Games are split across all cores with fork/join. Each leaf task owns its engine,
+ * player, random number generator and histograms, so workers share nothing until
+ * their results are merged. Every task's generator is split from its parent's when it
+ * is forked, so a run with the same seed is repeatable on any number of cores.
+ *
+ * Usage: java BalanceSimulator [gamesPerSetting] [maxTicksPerGame] [seed]
+ *
+ * @author Michael Nguyen
+ * @version Last Modified Oct 17th, 2026
+ */
+public class BalanceSimulator
+{
+    private static final int GAMES_PER_TASK = 500;      // Leaf size of the fork/join split
+
+    // The grid of settings to sweep
+    private static final double[] REGULAR_PROBABILITIES = { 0.6, 0.7, 0.8 };
+    private static final double[] RARE_PROBABILITIES = { 0.1, 0.2 };
+    private static final double[] POISON_PROBABILITIES = { 0.3, 0.4, 0.5 };
+    private static final int[] GAME_DELAYS = { 80, 90, 100 };
+
+
+    public static void main(String[] args)
+    {
+        int gamesPerSetting = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int maxTicks = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+        GameRandom seeds = new GameRandom(args.length > 2 ? Long.parseLong(args[2]) : 2023_12_17L);
+
+        List<GameSettings> grid = createSettingsGrid();
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+
+        System.out.printf("Simulating %,d games for each of %d settings on %d worker threads%n",
+                gamesPerSetting, grid.size(), pool.getParallelism());
+        System.out.printf("%-7s %-5s %-6s %-5s | %-24s | %-24s | %-20s%n", "regular", "rare", "poison", "delay",
+                "score mean/p50/p90/max", "survival s mean/p50/p90", "poison %o mean/p90");
+
+        long start = System.nanoTime();
+
+        for (int i = 0; i < grid.size(); i++)
+        {
+            GameSettings settings = grid.get(i);
+            Results results = pool.invoke(new SimulationTask(settings, seeds.split(), 0, gamesPerSetting, maxTicks));
+            printResults(settings, results);
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long games = (long) gamesPerSetting * grid.size();
+        System.out.printf("%,d games in %.1f s (%,.0f games/s)%n", games, seconds, games / seconds);
+    }
+
+
+    /**
+     * Plays one game to the end, or until the tick limit.
+     *
+     * @param   engine      A freshly reset engine
+     * @param   player      The player choosing directions
+     * @param   maxTicks    Tick limit of the game
+     * @param   results     Histograms to record the game in
+     */
+    static void playGame(GameEngine engine, GreedyPlayer player, int maxTicks, Results results)
+    {
+        GameSettings settings = engine.getSettings();
+        long survivalMillis = 0;
+        int ticks = 0;
+
+        while (!engine.isGameOver() && ticks < maxTicks)
+        {
+            survivalMillis += engine.getCurrentDelay();
+            engine.tick(player.decide(engine));
+            ticks++;
+        }
+
+        int spawnCells = (settings.getWidth() / settings.getSegmentSize() - 2)
+                * (settings.getHeight() / settings.getSegmentSize() - 2);
+
+        results.scores.record(engine.getScore());
+        results.survivalTicks.record(ticks);
+        results.survivalMillis.record(survivalMillis);
+        results.poisonPerMille.record(1000L * engine.getPoisonCount() / spawnCells);
+    }
+
+
+    // Helper Methods
+
+    /**
+     * @return  Every combination of the swept settings
+     */
+    private static List<GameSettings> createSettingsGrid()
+    {
+        List<GameSettings> grid = new ArrayList<>();
+
+        for (double regular : REGULAR_PROBABILITIES)
+        {
+            for (double rare : RARE_PROBABILITIES)
+            {
+                if (regular + rare > 1.0) { continue; }
+
+                for (double poison : POISON_PROBABILITIES)
+                {
+                    for (int delay : GAME_DELAYS)
+                    {
+                        GameSettings settings = new GameSettings(Color.BLACK, delay, poison);
+                        settings.setAppleProbabilities(regular, rare);
+                        grid.add(settings);
+                    }
+                }
+            }
+        }
+        return grid;
+    }
+
+
+    /**
+     * Prints one row of the results table.
+     */
+    private static void printResults(GameSettings settings, Results results)
+    {
+        System.out.printf("%-7.2f %-5.2f %-6.2f %-5d | %6.1f %5d %5d %6d | %7.1f %7.1f %7.1f | %8.1f %8d%n",
+                settings.getRegularProbability(), settings.getRareProbability(),
+                settings.getPoisonProbability(), settings.getGameDelay(),
+                results.scores.getMean(), results.scores.getPercentile(0.5),
+                results.scores.getPercentile(0.9), results.scores.getMax(),
+                results.survivalMillis.getMean() / 1000, results.survivalMillis.getPercentile(0.5) / 1000.0,
+                results.survivalMillis.getPercentile(0.9) / 1000.0,
+                results.poisonPerMille.getMean(), results.poisonPerMille.getPercentile(0.9));
+    }
+
+
+    /**
+     * Histograms collected for one setting.
+     */
+    static class Results
+    {
+        final Distribution scores = new Distribution(1, 4096);
+        final Distribution survivalTicks = new Distribution(16, 8192);
+        final Distribution survivalMillis = new Distribution(1000, 4096);
+        final Distribution poisonPerMille = new Distribution(1, 1001);
+
+        /**
+         * Adds another set of results into this one.
+         */
+        Results merge(Results other)
+        {
+            scores.merge(other.scores);
+            survivalTicks.merge(other.survivalTicks);
+            survivalMillis.merge(other.survivalMillis);
+            poisonPerMille.merge(other.poisonPerMille);
+            return this;
+        }
+    }
+
+
+    /**
+     * Plays the games [first, last) of one setting, splitting the range until it is small enough.
+     */
+    static class SimulationTask extends RecursiveTask<Results>
+    {
+        private final GameSettings settings;
+        private final GameRandom random;     // Confined to the thread running this task
+        private final int first;
+        private final int last;
+        private final int maxTicks;
+
+
+        SimulationTask(GameSettings settings, GameRandom random, int first, int last, int maxTicks)
+        {
+            this.settings = settings;
+            this.random = random;
+            this.first = first;
+            this.last = last;
+            this.maxTicks = maxTicks;
+        }
+
+
+        protected Results compute()
+        {
+            if (last - first <= GAMES_PER_TASK) { return simulate(); }
+
+            int middle = (first + last) >>> 1;
+            SimulationTask left = new SimulationTask(settings, random.split(), first, middle, maxTicks);
+            SimulationTask right = new SimulationTask(settings, random.split(), middle, last, maxTicks);
+
+            left.fork();
+            Results results = right.compute();
+            return results.merge(left.join());
+        }
+
+
+        /**
+         * Plays this task's games on the current thread with its own engine and generator.
+         */
+        private Results simulate()
+        {
+            Results results = new Results();
+            GameEngine engine = new GameEngine(settings, random.nextLong());
+            GreedyPlayer player = new GreedyPlayer();
+
+            for (int game = first; game < last; game++)
+            {
+                engine.reset(random.nextLong());
+                playGame(engine, player, maxTicks, results);
+            }
+            return results;
+        }
+    }
+}
@@ -0,0 +1,429 @@
+// BoardGrid.java
+
+import java.util.Arrays;
+
+/**
+ * The BoardGrid class is an occupancy index over the cells of the board.
+ * The snake, the food and the poison apples update it as they move or spawn,
+ * so collision and spawn checks are O(1) no matter how long the snake gets.
+ *
+ * Each cell is one byte. The low bits count the snake segments on the cell
+ * (more than one means the snake ran into itself) and the high bits flag food and poison.
+ * The grid also keeps an indexed set of the free cells inside the spawn area, so food
+ * can be placed on a uniformly random free cell in one step.
+ *
+ * Huge boards skip the free set, which would take eight bytes per cell, and only count
+ * the free cells. A random free cell is then found with a few random probes, which almost
+ * always hit on a mostly empty board, falling back to a scan from a random cell.
+ *
+ * Poison apples are indexed by cell, in spawn order, so there may be tens of thousands of
+ * them. Clearing them all is O(1): poison is marked with one of two bits, one per epoch, and
+ * a clear just moves to the next epoch, which turns the current bit into a stale one. Cells
+ * with a stale bit stay out of the free set until they are reclaimed, a batch at a time on
+ * each spawn, and any left are reclaimed before the following clear reuses their bit.
+ *
+ * @author Michael Nguyen
+ * @version Last Modified Oct 17th, 2026
+ */
+public class BoardGrid
+{
+    private static final int SNAKE_MASK = 0x1F;
+    private static final int FOOD = 0x20;
+    private static final int POISON_BITS = 0xC0;            // One poison bit per epoch, alternating
+    private static final int MAX_FREE_SET_CELLS = 1 << 22;  // Larger boards only count free cells
+    private static final int MAX_PROBES = 32;               // Random probes before scanning for a free cell
+    private static final int RECLAIM_BATCH = 64;            // Stale poison cells reclaimed per spawn
+
+    private final int segmentSize;
+    private final int columns;
+    private final int rows;
+    private final byte[] cells;
+    private final int[] freeCells;      // Dense list of the empty cells inside the spawn area, null on huge boards
+    private final int[] freeSlot;       // Position of each cell in freeCells, or -1 if not free
+    private int freeCount;
+
+    // Poison cells in spawn order: stale ones from head to live, current ones from live to tail
+    private int[] poisonCells = new int[64];                // Ring buffer, length a power of two
+    private int poisonHead;
+    private int poisonLive;
+    private int poisonTail;
+    private int poisonBit = 0x40;                           // Bit marking poison of the current epoch
+    private int poisonClears;                               // Number of clears, which is the epoch
+
+
+    /**
+     * Constructor creates an empty grid covering the playing area.
+     *
+     * @param   settings    The game settings
+     */
+    public BoardGrid(GameSettings settings)
+    {
+        this.segmentSize = settings.getSegmentSize();
+        this.columns = settings.getWidth() / segmentSize;
+        this.rows = settings.getHeight() / segmentSize;
+        this.cells = new byte[columns * rows];
+
+        boolean freeSet = columns * rows <= MAX_FREE_SET_CELLS;
+        this.freeCells = freeSet ? new int[columns * rows] : null;
+        this.freeSlot = freeSet ? new int[columns * rows] : null;
+
+        this.clear();
+    }
+
+
+    // Queries
+
+    /**
+     * @return  True if the position holds a snake segment, food or a poison apple.
+     */
+    public boolean isOccupied(int x, int y)
+    {
+        int cell = cellOf(x, y);
+        return cell >= 0 && cells[cell] != 0;
+    }
+
+    /**
+     * @return  The number of snake segments on the position.
+     */
+    public int getSnakeCount(int x, int y)
+    {
+        int cell = cellOf(x, y);
+        return cell >= 0 ? cells[cell] & SNAKE_MASK : 0;
+    }
+
+    /**
+     * @return  True if the position holds food.
+     */
+    public boolean isFood(int x, int y)
+    {
+        int cell = cellOf(x, y);
+        return cell >= 0 && (cells[cell] & FOOD) != 0;
+    }
+
+    /**
+     * @return  True if the position holds a poison apple.
+     */
+    public boolean isPoison(int x, int y)
+    {
+        int cell = cellOf(x, y);
+        return cell >= 0 && (cells[cell] & poisonBit) != 0;
+    }
+
+    /**
+     * @return  Number of poison apples on the board.
+     */
+    public int getPoisonCount() { return this.poisonTail - this.poisonLive; }
+
+    /**
+     * @return  Number of times every poison apple was cleared. Comparing it is the only reliable
+     *          way to notice a clear, since new poison may spawn on the same tick.
+     */
+    public int getPoisonClears() { return this.poisonClears; }
+
+    /**
+     * @param   index   From 0 to getPoisonCount() - 1, in the order the poison apples spawned
+     * @return          Index of the cell holding the poison apple
+     */
+    public int getPoisonCell(int index)
+    {
+        return poisonCells[(poisonLive + index) & (poisonCells.length - 1)];
+    }
+
+    /**
+     * @return  The number of empty cells food can still spawn on.
+     */
+    public int getFreeCount() { return this.freeCount; }
+
+    /**
+     * @return  True if free cells are kept in a set, whose order depends on the board's history.
+     *          Larger boards only count them.
+     */
+    public boolean hasFreeSet() { return this.freeCells != null; }
+
+    /**
+     * @return  Number of cells across the board.
+     */
+    public int getColumns() { return this.columns; }
+
+    /**
+     * @return  Number of cells down the board.
+     */
+    public int getRows() { return this.rows; }
+
+    /**
+     * Picks a random empty cell inside the spawn area. The pick is uniform, except on a
+     * huge board so full that every probe missed.
+     *
+     * @param   random  Random number generator to draw from.
+     * @return          Index of the cell, or -1 if the board is full.
+     */
+    public int randomFreeCell(GameRandom random)
+    {
+        reclaimPoison(RECLAIM_BATCH);
+
+        if (freeCount == 0) { return -1; }
+        if (freeCells != null) { return freeCells[random.nextInt(freeCount)]; }
+
+        for (int probe = 0; probe < MAX_PROBES; probe++)
+        {
+            int row = 1 + random.nextInt(rows - 2);
+            int column = 1 + random.nextInt(columns - 2);
+            int cell = row * columns + column;
+
+            if (cells[cell] == 0) { return cell; }
+        }
+
+        // Scan from a random cell, wrapping around, for the first free one
+        int start = random.nextInt(cells.length);
+        for (int cell = start; cell < cells.length; cell++)
+        {
+            if (cells[cell] == 0 && isSpawnCell(cell)) { return cell; }
+        }
+        for (int cell = 0; cell < start; cell++)
+        {
+            if (cells[cell] == 0 && isSpawnCell(cell)) { return cell; }
+        }
+        return -1;
+    }
+
+    /**
+     * @return  x-coordinate in pixels of the cell's top-left corner.
+     */
+    public int getCellX(int cell) { return (cell % columns) * segmentSize; }
+
+    /**
+     * @return  y-coordinate in pixels of the cell's top-left corner.
+     */
+    public int getCellY(int cell) { return (cell / columns) * segmentSize; }
+
+
+    // Updates
+
+    /**
+     * Records a snake segment entering the position.
+     */
+    public void addSnake(int x, int y)
+    {
+        int cell = cellOf(x, y);
+        if (cell < 0) { return; }
+
+        boolean wasEmpty = cells[cell] == 0;
+        cells[cell]++;
+        updateFree(cell, wasEmpty);
+    }
+
+    /**
+     * Records a snake segment leaving the position.
+     */
+    public void removeSnake(int x, int y)
+    {
+        int cell = cellOf(x, y);
+        if (cell < 0 || (cells[cell] & SNAKE_MASK) == 0) { return; }
+
+        cells[cell]--;
+        updateFree(cell, false);
+    }
+
+    /**
+     * Marks or unmarks the position as holding food.
+     */
+    public void setFood(int x, int y, boolean food)
+    {
+        setFlag(x, y, FOOD, food);
+    }
+
+    /**
+     * Puts a poison apple on the position.
+     */
+    public void addPoison(int x, int y)
+    {
+        int cell = cellOf(x, y);
+        if (cell < 0) { return; }
+
+        if (poisonTail - poisonHead == poisonCells.length) { growPoisonCells(); }
+        poisonCells[poisonTail++ & (poisonCells.length - 1)] = cell;
+
+        setFlag(x, y, poisonBit, true);
+    }
+
+    /**
+     * Removes every poison apple in O(1), amortized: each poison cell is reclaimed only once.
+     */
+    public void clearPoison()
+    {
+        // Stale cells of the last clear carry the bit the next epoch uses, so they go first
+        reclaimPoison(Integer.MAX_VALUE);
+
+        poisonLive = poisonTail;
+        poisonBit ^= POISON_BITS;
+        poisonClears++;
+    }
+
+    /**
+     * Removes every poison apple right away instead of lazily, in O(poison apples),
+     * for example before the board is refilled from a snapshot.
+     */
+    public void removePoison()
+    {
+        clearPoison();
+        reclaimPoison(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Empties every cell of the grid.
+     */
+    public void clear()
+    {
+        Arrays.fill(cells, (byte) 0);
+        freeCount = 0;
+        poisonHead = poisonLive = poisonTail = 0;
+
+        if (freeCells == null)
+        {
+            freeCount = Math.max(0, columns - 2) * Math.max(0, rows - 2);
+            return;
+        }
+        Arrays.fill(freeSlot, -1);
+
+        // Food spawns anywhere except the outer ring of cells
+        for (int row = 1; row < rows - 1; row++)
+        {
+            for (int column = 1; column < columns - 1; column++)
+            {
+                addFree(row * columns + column);
+            }
+        }
+    }
+
+
+    // Helper Methods
+
+    /**
+     * Takes stale poison off up to a number of cells, returning them to the free set
+     * unless something else is on them.
+     */
+    private void reclaimPoison(int budget)
+    {
+        int staleBit = poisonBit ^ POISON_BITS;
+        int mask = poisonCells.length - 1;
+
+        while (poisonHead != poisonLive && budget-- > 0)
+        {
+            int cell = poisonCells[poisonHead++ & mask];
+            if ((cells[cell] & staleBit) == 0) { continue; }
+
+            cells[cell] &= ~staleBit;
+            updateFree(cell, false);
+        }
+    }
+
+    /**
+     * Doubles the poison ring buffer, keeping the cells in order.
+     */
+    private void growPoisonCells()
+    {
+        int[] larger = new int[poisonCells.length * 2];
+        int count = poisonTail - poisonHead;
+
+        for (int i = 0; i < count; i++)
+        {
+            larger[i] = poisonCells[(poisonHead + i) & (poisonCells.length - 1)];
+        }
+        poisonLive -= poisonHead;
+        poisonTail = count;
+        poisonHead = 0;
+        poisonCells = larger;
+    }
+
+    /**
+     * Sets or clears a flag bit on the position.
+     */
+    private void setFlag(int x, int y, int flag, boolean value)
+    {
+        int cell = cellOf(x, y);
+        if (cell < 0) { return; }
+
+        boolean wasEmpty = cells[cell] == 0;
+        if (value) { cells[cell] |= flag; }
+        else { cells[cell] &= ~flag; }
+
+        updateFree(cell, wasEmpty);
+    }
+
+    /**
+     * Adds or removes a cell from the free set after its contents changed.
+     * Without a free set, only the count of free cells is kept.
+     *
+     * @param   cell        Index of the cell
+     * @param   wasEmpty    True if the cell was empty before the change
+     */
+    private void updateFree(int cell, boolean wasEmpty)
+    {
+        if (freeCells == null)
+        {
+            boolean empty = cells[cell] == 0;
+            if (empty != wasEmpty && isSpawnCell(cell)) { freeCount += empty ? 1 : -1; }
+            return;
+        }
+
+        if (cells[cell] == 0)
+        {
+            if (freeSlot[cell] < 0 && isSpawnCell(cell)) { addFree(cell); }
+        }
+        else if (freeSlot[cell] >= 0)
+        {
+            removeFree(cell);
+        }
+    }
+
+    /**
+     * Appends a cell to the free set.
+     */
+    private void addFree(int cell)
+    {
+        freeSlot[cell] = freeCount;
+        freeCells[freeCount++] = cell;
+    }
+
+    /**
+     * Removes a cell from the free set by moving the last free cell into its slot.
+     */
+    private void removeFree(int cell)
+    {
+        int slot = freeSlot[cell];
+        int last = freeCells[--freeCount];
+
+        freeCells[slot] = last;
+        freeSlot[last] = slot;
+        freeSlot[cell] = -1;
+    }
+
+    /**
+     * @return  True if food is allowed to spawn on the cell.
+     */
+    private boolean isSpawnCell(int cell)
+    {
+        int column = cell % columns;
+        int row = cell / columns;
+
+        return column > 0 && column < columns - 1 && row > 0 && row < rows - 1;
+    }
+
+    /**
+     * Converts a pixel position into a cell index.
+     *
+     * @param   x   x-coordinate in pixels
+     * @param   y   y-coordinate in pixels
+     * @return      Index into the cell array, or -1 if the position is off the board.
+     */
+    private int cellOf(int x, int y)
+    {
+        if (x < 0 || y < 0) { return -1; }
+
+        int column = x / segmentSize;
+        int row = y / segmentSize;
+
+        if (column >= columns || row >= rows) { return -1; }
+        return row * columns + column;
+    }
+}
@@ -0,0 +1,161 @@
+// BoardPainter.java
+
+import java.awt.*;
+
+/**
+ * The BoardPainter class holds the rules for drawing a game: the snake, the apples and the
+ * poison apples, seen through a camera. GameWindow paints the screen with it, and the
+ * FrameExporter paints offscreen images, so a recorded game looks exactly as it was played.
+ *
+ * The head and the vacated tail cell slide between their old and new cells according to how
+ * far the game is towards the next tick. On boards larger than the view, a camera centred on
+ * the head picks the part of the world to draw. Only the cells inside the view are visited,
+ * through the board grid, so a frame costs the same however large the world or long the
+ * snake is. The background is left to the caller.
+ *
+ * @author Michael Nguyen
+ * @version Last Modified Oct 17th, 2026
+ */
+public final class BoardPainter
+{
+    private BoardPainter() { }
+
+
+    /**
+     * Draws the game. Call while holding the engine lock if the engine is shared.
+     *
+     * @param   g           Graphics to draw on, with the view's top-left corner at 0, 0
+     * @param   engine      The game to draw
+     * @param   viewWidth   Width of the view in pixels
+     * @param   viewHeight  Height of the view in pixels
+     * @param   alpha       Progress towards the next tick, from 0.0 (just ticked) to 1.0
+     * @param   bodyLayer   Cached image of the body to draw instead of its cells, or null
+     */
+    public static void paint(Graphics g, GameEngine engine, int viewWidth, int viewHeight,
+                             double alpha, SnakeLayer bodyLayer)
+    {
+        GameSettings settings = engine.getSettings();
+        int size = settings.getSegmentSize();
+        Snake snake = engine.getSnake();
+        BoardGrid grid = engine.getGrid();
+
+        // The head slides from the neck into its new cell, and the camera follows it
+        int headX = interpolate(snake.getSegmentX(1), snake.getSegmentX(0), alpha);
+        int headY = interpolate(snake.getSegmentY(1), snake.getSegmentY(0), alpha);
+        int cameraX = cameraOrigin(headX + size / 2, viewWidth, settings.getWidth());
+        int cameraY = cameraOrigin(headY + size / 2, viewHeight, settings.getHeight());
+        g.translate(-cameraX, -cameraY);
+
+        // Cells in view, plus one up and left for sprites that overhang into it
+        int firstColumn = Math.max(0, cameraX / size - 1);
+        int firstRow = Math.max(0, cameraY / size - 1);
+        int lastColumn = Math.min(grid.getColumns() - 1, (cameraX + viewWidth) / size);
+        int lastRow = Math.min(grid.getRows() - 1, (cameraY + viewHeight) / size);
+
+        // Draw snake, from the neck to the tail, skipping the head's cell unless the body is on it too
+        g.setColor(settings.getSnakeColor());
+        if (bodyLayer != null) { bodyLayer.draw(g); }
+        else
+        {
+            for (int row = firstRow; row <= lastRow; row++)
+            {
+                for (int column = firstColumn; column <= lastColumn; column++)
+                {
+                    int x = column * size;
+                    int y = row * size;
+                    int count = grid.getSnakeCount(x, y);
+
+                    if (count > 1 || (count == 1 && (x != snake.getHeadX() || y != snake.getHeadY())))
+                    {
+                        g.fillRect(x, y, size, size);
+                    }
+                }
+            }
+        }
+
+        // The cell the tail just left slides into the new tail
+        int tail = snake.getLength() - 1;
+        if (snake.hasVacatedTail())
+        {
+            g.fillRect(interpolate(snake.getVacatedTailX(), snake.getSegmentX(tail), alpha),
+                    interpolate(snake.getVacatedTailY(), snake.getSegmentY(tail), alpha), size, size);
+        }
+        g.fillRect(headX, headY, size, size);
+
+        // Draw apples
+        drawFood(g, engine.getFood(), size);
+
+        // Draw poison apples
+        for (int row = firstRow; row <= lastRow; row++)
+        {
+            for (int column = firstColumn; column <= lastColumn; column++)
+            {
+                if (grid.isPoison(column * size, row * size))
+                {
+                    drawSprite(g, PoisonFood.IMAGE_NAME, column * size, row * size, size);
+                }
+            }
+        }
+
+        g.translate(cameraX, cameraY);
+    }
+
+
+    // Helper Methods
+
+    /**
+     * Draws an apple using the shared sprite atlas.
+     *
+     * @param   g       Graphics object for drawing.
+     * @param   food    The apple to draw
+     * @param   size    Segment size in pixels
+     */
+    private static void drawFood(Graphics g, Food food, int size)
+    {
+        drawSprite(g, food.getImageName(), food.getX(), food.getY(), size);
+    }
+
+
+    /**
+     * Draws an apple sprite using the shared sprite atlas. The sprites are fully loaded
+     * images, so no observer is needed.
+     *
+     * @param   g           Graphics object for drawing.
+     * @param   imageName   File name of the apple image
+     * @param   x           x-coordinate in pixels
+     * @param   y           y-coordinate in pixels
+     * @param   size        Segment size in pixels
+     */
+    private static void drawSprite(Graphics g, String imageName, int x, int y, int size)
+    {
+        g.drawImage(SpriteAtlas.getSprite(imageName, size), x, y, null);
+    }
+
+
+    /**
+     * Places the camera so a point is centred in the view, without showing anything past
+     * the edges of the world.
+     *
+     * @param   center  Coordinate to centre on, in pixels
+     * @param   view    Size of the view, in pixels
+     * @param   world   Size of the world, in pixels
+     * @return          Coordinate of the view's top-left corner in the world
+     */
+    private static int cameraOrigin(int center, int view, int world)
+    {
+        return Math.max(0, Math.min(center - view / 2, world - view));
+    }
+
+
+    /**
+     * Linear interpolation between two coordinates.
+     * @param   from    Coordinate at the previous tick
+     * @param   to      Coordinate at the latest tick
+     * @param   alpha   Progress towards the next tick, from 0.0 to 1.0
+     * @return          Coordinate to draw at
+     */
+    private static int interpolate(int from, int to, double alpha)
+    {
+        return (int) Math.round(from + (to - from) * alpha);
+    }
+}
@@ -0,0 +1,105 @@
+// DiskWriter.java
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.concurrent.*;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * The DiskWriter class runs all of the game's file I/O on one background thread,
+ * so neither the event dispatch thread nor the game loop ever waits on the disk.
+ * Files are replaced atomically: the data goes to a temporary file that is flushed
+ * to disk and then renamed over the old file, so a crash never leaves a half-written file.
+ * Pending writes are finished when the JVM exits.
+ *
+ * @author Michael Nguyen
+ * @version Last Modified Oct 17th, 2026
+ */
+public final class DiskWriter
+{
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor(task ->
+    {
+        Thread thread = new Thread(task, "disk-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static
+    {
+        Runtime.getRuntime().addShutdownHook(new Thread(DiskWriter::drain, "disk-writer-drain"));
+    }
+
+
+    private DiskWriter() { }
+
+
+    /**
+     * @return  The executor of the background I/O thread
+     */
+    public static Executor executor() { return executor; }
+
+
+    /**
+     * Queues a task on the background I/O thread.
+     */
+    public static void execute(Runnable task)
+    {
+        executor.execute(task);
+    }
+
+
+    /**
+     * Replaces a file with new contents: write a temporary file, fsync it, then rename it over the old one.
+     * Call on the background I/O thread.
+     *
+     * @param   file    File to replace
+     * @param   data    New contents
+     */
+    public static void writeAtomically(Path file, byte[] data) throws IOException
+    {
+        Path target = file.toAbsolutePath();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(temp, CREATE, WRITE, TRUNCATE_EXISTING))
+        {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            while (buffer.hasRemaining()) { channel.write(buffer); }
+            channel.force(true);
+        }
+
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        // Make the rename itself durable. Not every platform can open a directory, which is fine.
+        try (FileChannel directory = FileChannel.open(target.getParent(), READ))
+        {
+            directory.force(true);
+        }
+        catch (IOException e)
+        {
+            // The file is complete either way; only the rename may be lost on power failure
+        }
+    }
+
+
+    // Helper Methods
+
+    /**
+     * Finishes queued writes when the JVM shuts down.
+     */
+    private static void drain()
+    {
+        executor.shutdown();
+
+        try
+        {
+            executor.awaitTermination(2, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+// Distribution.java
+
+/**
+ * The Distribution class is a fixed-width histogram of non-negative integer samples.
+ * Values past the last bucket are counted in it. Histograms are cheap to merge,
+ * so every simulation worker can fill its own and they are added together at the end.
+ *
+ * @author Michael Nguyen
+ * @version Last Modified Oct 17th, 2026
+ */
+public class Distribution
+{
+    private final int bucketWidth;
+    private final long[] counts;
+    private long total;
+    private long sum;
+    private long max;
+
+
+    /**
+     * Constructor
+     *
+     * @param   bucketWidth     Range of values covered by each bucket
+     * @param   bucketCount     Number of buckets
+     */
+    public Distribution(int bucketWidth, int bucketCount)
+    {
+        this.bucketWidth = bucketWidth;
+        this.counts = new long[bucketCount];
+    }
+
+
+    /**
+     * Adds a sample.
+     */
+    public void record(long value)
+    {
+        int bucket = (int) Math.min(value / bucketWidth, counts.length - 1);
+
+        counts[bucket]++;
+        total++;
+        sum += value;
+        max = Math.max(max, value);
+    }
+
+
+    /**
+     * Adds every sample of another distribution with the same buckets.
+     */
+    public void merge(Distribution other)
+    {
+        for (int i = 0; i < counts.length; i++) { counts[i] += other.counts[i]; }
+
+        total += other.total;
+        sum += other.sum;
+        max = Math.max(max, other.max);
+    }
+
+
+    /**
+     * @return  Number of samples
+     */
+    public long getCount() { return this.total; }
+
+    /**
+     * @return  Mean of the samples
+     */
+    public double getMean() { return total == 0 ? 0.0 : (double) sum / total; }
+
+    /**
+     * @return  Largest sample
+     */
+    public long getMax() { return this.max; }
+
+
+    /**
+     * @param   fraction    Fraction of samples at or below the result, from 0.0 to 1.0
+     * @return              Upper bound of the bucket holding that percentile
+     */
+    public long getPercentile(double fraction)
+    {
+        long target = (long) Math.ceil(fraction * total);
+        long seen = 0;
+
+        for (int i = 0; i < counts.length; i++)
+        {
+            seen += counts[i];
+            if (seen >= target && seen > 0)
+            {
+                return Math.min((long) (i + 1) * bucketWidth - 1, max);
+            }
+        }
+        return max;
+    }
+}
@@ -1,13 +1,8 @@
 // Food.java
 
-import javax.swing.*;
-import java.awt.*;
-import java.awt.image.BufferedImage;
-import java.util.Random;
-
 /**
  * The abstract class Food serves as a base for different types of food items in the game.
- * It manages common properties such as position, image scaling, and random generation of food positions.
+ * It manages common properties such as position, image name, and random generation of food positions.
  *
  * @author Michael Nguyen
  * @version Dec 16th, 2023
@@ -15,69 +10,63 @@ import java.util.Random;
 public abstract class Food
 {
     protected GameSettings settings;
-    protected Point position;
-    protected Random random;
+    protected int x;
+    protected int y;
+    protected GameRandom random;
     protected String imageName;
 
 
     /**
      * Constructor
+     *
+     * @param   settings    The game settings
+     * @param   random      Random number generator of the game this apple belongs to
      */
-    public Food(GameSettings settings)
+    public Food(GameSettings settings, GameRandom random)
     {
         this.settings = settings;
-        this.random = new Random();
+        this.random = random;
     }
 
 
     // Getter
 
     /**
-     * Gets the current position of the apple.
-     * @return  Point representing the position of the apple.
+     * @return  The x coordinate of the apple.
      */
-    public Point getPosition() { return this.position; }
-
+    public int getX() { return this.x; }
 
     /**
-     * Generates an image for the apple with appropriate scaling.
-     * @return Scaled image of the apple.
+     * @return  The y coordinate of the apple.
      */
-    protected Image getFoodImage()
-    {
-        Image sourceImage = new ImageIcon("./images/" + this.imageName).getImage();
-
-        // Calculate the new dimensions
-        int scaledWidth = (int) (settings.getSegmentSize() * 1.5);
-        int scaledHeight = (int) (settings.getSegmentSize() * 1.5);
-
+    public int getY() { return this.y; }
 
-        // Create a buffered image with the desired size
-        BufferedImage scaledImage = new BufferedImage(
-                scaledWidth, scaledHeight, BufferedImage.TYPE_INT_ARGB);
 
-        Graphics2D graphics = scaledImage.createGraphics();
-
-        // Draw the source image into the buffered image with scaling
-        graphics.drawImage(sourceImage, 0, 0, scaledWidth, scaledHeight, null);
-        graphics.dispose();
+    /**
+     * Moves the food onto a uniformly random free cell of the board.
+     * @param   grid    Occupancy index of the board.
+     * @return          True if the food was placed, false if the board is full.
+     */
+    public boolean generateNewPosition(BoardGrid grid)
+    {
+        int cell = grid.randomFreeCell(random);
+        if (cell < 0) { return false; }
 
-        return scaledImage;
+        this.x = grid.getCellX(cell);
+        this.y = grid.getCellY(cell);
+        return true;
     }
 
 
     /**
-     * Generates a random position for the food within specified bounds.
-     * @param   maxWidth    Maximum width for apple position.
-     * @param   maxHeight   Maximum height for apple position.
+     * Puts the food on a given position, for example when a saved game is restored.
+     * @param   x   x coordinate in pixels
+     * @param   y   y coordinate in pixels
      */
-    public void generateNewPosition(int maxWidth, int maxHeight)
+    void placeAt(int x, int y)
     {
-        int min = settings.getSegmentSize();
-        int x = random.nextInt((maxWidth - min) + 1) + min;
-        int y = random.nextInt((maxHeight - min) + 1) + min;
-
-        this.position = new Point(x, y);
+        this.x = x;
+        this.y = y;
     }
 
 
@@ -98,14 +87,26 @@ class ConsumableFood extends Food
     private AppleType appleType;
 
 
-    public ConsumableFood(GameSettings settings)
+    public ConsumableFood(GameSettings settings, GameRandom random)
     {
-        super(settings);
+        super(settings, random);
         this.appleType = determineAppleType();
         this.imageName = getImageName();
     }
 
 
+    /**
+     * Creates an apple of a known type without drawing from the generator,
+     * for example when a saved game is restored.
+     */
+    public ConsumableFood(GameSettings settings, GameRandom random, AppleType appleType)
+    {
+        super(settings, random);
+        this.appleType = appleType;
+        this.imageName = getImageName();
+    }
+
+
     /**
      * Gets the type of apple.
      * @return AppleType enum representing the type of apple.
@@ -116,6 +117,21 @@ class ConsumableFood extends Food
     }
 
 
+    /**
+     * Gets the points the apple is worth.
+     * @return 1 for a regular apple, 5 for a rare one and 20 for a golden one.
+     */
+    public int getPoints()
+    {
+        switch (appleType)
+        {
+            case RARE       -> { return 5; }
+            case GOLDEN     -> { return 20; }
+            default         -> { return 1; }
+        }
+    }
+
+
     /**
      * Determines the type of apple based on preset probabilities.
      * @return AppleType enum representing the type of apple.
@@ -123,7 +139,7 @@ class ConsumableFood extends Food
     private AppleType determineAppleType()
     {
         // Random value between 0.0 and 1.0
-        double randomValue = Math.random();
+        double randomValue = random.nextDouble();
 
         // Given default values where regular is 0.7, rare is 0.2, and golden is 0.1
 
@@ -144,6 +160,17 @@ class ConsumableFood extends Food
      * @return String representing the image name.
      */
     public String getImageName()
+    {
+        return getImageName(appleType);
+    }
+
+
+    /**
+     * Provides the image name for a type of apple, for drawing one without its Food object.
+     * @param   appleType   The type of apple
+     * @return              String representing the image name.
+     */
+    static String getImageName(AppleType appleType)
     {
         switch (appleType)
         {
@@ -160,9 +187,12 @@ class ConsumableFood extends Food
  */
 class PoisonFood extends Food
 {
-    public PoisonFood(GameSettings settings)
+    static final String IMAGE_NAME = "applePoison.png";
+
+
+    public PoisonFood(GameSettings settings, GameRandom random)
     {
-        super(settings);
+        super(settings, random);
         this.imageName = getImageName();
     }
 
@@ -172,7 +202,7 @@ class PoisonFood extends Food
      */
     public String getImageName()
     {
-        return "applePoison.png";
+        return IMAGE_NAME;
     }
 }
 
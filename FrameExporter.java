@@ -0,0 +1,237 @@
+// FrameExporter.java
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.*;
+import java.nio.file.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The FrameExporter class turns a recorded game into numbered PNG images, frame_000000.png
+ * onwards, for making videos of bug reports and highlights. It needs no display.
+ *
+ * The ReplayPlayer re-simulates the game, and after every tick the frame is drawn by the
+ * BoardPainter into an offscreen image, exactly as GameWindow draws it. With more than one
+ * frame per tick, the snake slides between ticks as on screen. Drawing stays on the replay
+ * thread, since the game can only move forwards, while the images are encoded and written
+ * in parallel, one per core.
+ *
+ * The images are taken from a fixed pool and returned once written, so the replay waits
+ * whenever every image is in use. Memory stays bounded by the pool however long the game,
+ * and no image is allocated per frame.
+ *
+ * Usage: java FrameExporter file.replay outputDirectory [framesPerTick] [threads]
+ *
+ * @author Michael Nguyen
+ * @version Last Modified Oct 17th, 2026
+ */
+public class FrameExporter
+{
+    private static final int IMAGES_PER_THREAD = 2;     // Enough to keep every encoder busy
+    private static final float PNG_QUALITY = 0.5f;      // Deflate effort; frames are mostly flat colour
+
+    // Each encoder thread reuses its own writer
+    private static final ThreadLocal<ImageWriter> writers =
+            ThreadLocal.withInitial(() -> ImageIO.getImageWritersByFormatName("png").next());
+
+    private final Path directory;
+    private final int framesPerTick;
+    private final ExecutorService encoders;
+    private final BlockingQueue<BufferedImage> freeImages;
+    private final int poolSize;
+    private final AtomicReference<IOException> failure = new AtomicReference<>();
+    private Color background;
+    private long frames;
+
+
+    /**
+     * Constructor
+     *
+     * @param   directory       Directory to write the frames to; it is created if needed
+     * @param   framesPerTick   Frames drawn for every tick, at even steps between ticks
+     * @param   threads         Number of threads encoding frames
+     */
+    public FrameExporter(Path directory, int framesPerTick, int threads)
+    {
+        this.directory = directory;
+        this.framesPerTick = framesPerTick;
+        this.poolSize = threads * IMAGES_PER_THREAD;
+        this.freeImages = new ArrayBlockingQueue<>(poolSize);
+        this.encoders = Executors.newFixedThreadPool(threads, task ->
+        {
+            Thread thread = new Thread(task, "frame-encoder");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+
+    /**
+     * Replays a recording and writes its frames. Waits until every frame is on disk.
+     * An exporter writes one recording only.
+     *
+     * @param   in          Stream positioned at the start of a recording
+     * @return              Outcome of the replay
+     * @throws  IOException If the recording cannot be read or a frame cannot be written
+     */
+    public ReplayPlayer.Result export(InputStream in) throws IOException
+    {
+        Files.createDirectories(directory);
+        ImageIO.setUseCache(false);     // Encode in memory rather than through temporary files
+
+        ReplayPlayer.Result result;
+        try
+        {
+            result = ReplayPlayer.replay(in, this::renderTick);
+            awaitFrames();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Export interrupted");
+        }
+        catch (UncheckedIOException e)
+        {
+            throw e.getCause();
+        }
+        finally
+        {
+            encoders.shutdownNow();
+        }
+
+        if (failure.get() != null) { throw failure.get(); }
+        return result;
+    }
+
+
+    /**
+     * @return  Number of frames written
+     */
+    public long getFrames() { return this.frames; }
+
+
+    public static void main(String[] args) throws IOException
+    {
+        if (args.length < 2)
+        {
+            System.err.println("Usage: java FrameExporter file.replay outputDirectory [framesPerTick] [threads]");
+            return;
+        }
+
+        int framesPerTick = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        FrameExporter exporter = new FrameExporter(Paths.get(args[1]), framesPerTick, threads);
+
+        long start = System.nanoTime();
+        ReplayPlayer.Result result;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(Paths.get(args[0]))))
+        {
+            result = exporter.export(in);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%,d frames of %,d ticks in %.2f s (%,.0f frames/s) with %d threads, %s%n",
+                exporter.getFrames(), result.getTicks(), seconds, exporter.getFrames() / seconds, threads,
+                result.matches() ? "identical to the recording" : "MISMATCH with the recording");
+    }
+
+
+    // Helper Methods
+
+    /**
+     * Draws the frames of one tick and hands them to the encoders. Runs on the replay thread.
+     */
+    private void renderTick(GameEngine engine, TickResult result)
+    {
+        GameSettings settings = engine.getSettings();
+        if (background == null) { createImages(settings); }
+
+        // The initial state has no previous tick to slide from
+        int steps = result == null ? 1 : framesPerTick;
+        for (int step = 1; step <= steps; step++)
+        {
+            if (failure.get() != null) { throw new UncheckedIOException(failure.get()); }
+
+            BufferedImage image;
+            try
+            {
+                image = freeImages.take();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw new UncheckedIOException(new InterruptedIOException("Export interrupted"));
+            }
+
+            Graphics2D g = image.createGraphics();
+            g.setColor(background);
+            g.fillRect(0, 0, image.getWidth(), image.getHeight());
+            BoardPainter.paint(g, engine, image.getWidth(), image.getHeight(), (double) step / steps, null);
+            g.dispose();
+
+            Path file = directory.resolve(String.format("frame_%06d.png", frames++));
+            encoders.execute(() -> encode(image, file));
+        }
+    }
+
+
+    /**
+     * Writes one frame and returns its image to the pool. Runs on an encoder thread.
+     */
+    private void encode(BufferedImage image, Path file)
+    {
+        ImageWriter writer = writers.get();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(PNG_QUALITY);
+
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file));
+             ImageOutputStream stream = ImageIO.createImageOutputStream(out))
+        {
+            writer.setOutput(stream);
+            writer.write(null, new IIOImage(image, null, null), param);
+        }
+        catch (IOException e)
+        {
+            failure.compareAndSet(null, e);
+        }
+        finally
+        {
+            freeImages.add(image);
+        }
+    }
+
+
+    /**
+     * Creates the image pool at the size of the view, and preloads the sprites.
+     */
+    private void createImages(GameSettings settings)
+    {
+        Color panelBackground = UIManager.getColor("Panel.background");
+        background = panelBackground != null ? panelBackground : Color.LIGHT_GRAY;
+        SpriteAtlas.preload(settings.getSegmentSize());
+
+        for (int i = 0; i < poolSize; i++)
+        {
+            freeImages.add(new BufferedImage(settings.getViewWidth(), settings.getViewHeight(),
+                    BufferedImage.TYPE_INT_RGB));
+        }
+    }
+
+
+    /**
+     * Waits until every frame has been written.
+     */
+    private void awaitFrames() throws InterruptedException
+    {
+        encoders.shutdown();
+        encoders.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,634 @@
+// GameEngine.java
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * The GameEngine class holds the complete state of one game and applies the game rules.
+ * It has no dependency on AWT or Swing, so the simulation can run headless and as fast
+ * as tick() is called. GameWindow is a view that draws the engine's state and feeds it input.
+ *
+ * The whole state can be saved as a compact snapshot and restored later. A snapshot only
+ * restores into an engine with the same settings profile and difficulty, so a saved score is
+ * never carried into another leaderboard. Snapshot layout (counts are varints, and the head's
+ * column and row zigzag varints, see Varint):
+ *   "SNKS", version byte
+ *   columns, rows, segment size, 8-byte settings profile id, difficulty ordinal byte
+ *   8-byte seed, 8-byte generator state
+ *   score, current delay, last milestone
+ *   flags byte (1 game over, 2 tail vacated), direction ordinal byte
+ *   length, head column and row, then one byte per step from each segment to the next,
+ *           3 * (column step + 1) + (row step + 1), ending with the vacated tail if there is one
+ *   food cell, apple type ordinal byte
+ *   poison count, poison cells oldest first
+ * Every segment takes one byte, so even a snake of thousands of segments saves in a few kilobytes.
+ *
+ * @author Michael Nguyen
+ * @version Last Modified Oct 17th, 2026
+ */
+public class GameEngine
+{
+    private final GameSettings settings;
+    private final BoardGrid grid;                   // Occupancy index of the board
+    private final GameRandom random;                // Every random decision of this game
+    private final TickResult result;                // Reused for every tick
+    private Snake snake;
+    private ConsumableFood food;                    // Current consumable food
+    private final PoisonFood poisonSpawner;         // Picks cells for poison apples, which live in the grid
+    private int score;                              // Current Score
+    private int currentDelay;                       // Current Game Delay (Lower is quicker)
+    private int lastMilestone;                      // Every 50 is a "milestone"
+    private boolean gameOver;
+    private long seed;                              // Seed the current game started from
+
+    static final int SNAPSHOT_MAGIC = 0x534E4B53;   // "SNKS"
+    static final int SNAPSHOT_VERSION = 2;          // 2 added the settings profile and difficulty
+
+
+    /**
+     * Constructor sets up a new game.
+     *
+     * @param   settings    The game settings
+     */
+    public GameEngine(GameSettings settings)
+    {
+        this(settings, GameRandom.newSeed());
+    }
+
+
+    /**
+     * Constructor sets up a new game from a seed. Two engines with the same settings
+     * and seed that receive the same directions play exactly the same game.
+     *
+     * @param   settings    The game settings
+     * @param   seed        Seed of every random decision in the game
+     */
+    public GameEngine(GameSettings settings, long seed)
+    {
+        this.settings = settings;
+        this.grid = new BoardGrid(settings);
+        this.random = new GameRandom(seed);
+        this.result = new TickResult();
+        this.poisonSpawner = new PoisonFood(settings, random);
+
+        this.reset(seed);
+    }
+
+
+    // Getter Methods
+
+    /**
+     * @return  The game settings
+     */
+    public GameSettings getSettings() { return this.settings; }
+
+    /**
+     * @return  Occupancy index of the board
+     */
+    public BoardGrid getGrid() { return this.grid; }
+
+    /**
+     * @return  The snake
+     */
+    public Snake getSnake() { return this.snake; }
+
+    /**
+     * @return  Current consumable food
+     */
+    public ConsumableFood getFood() { return this.food; }
+
+    /**
+     * @return  Number of poison apples on the field. BoardGrid.getPoisonCell() gives their cells.
+     */
+    public int getPoisonCount() { return this.grid.getPoisonCount(); }
+
+    /**
+     * @return  Current score
+     */
+    public int getScore() { return this.score; }
+
+    /**
+     * @return  Current delay between ticks in milliseconds.
+     */
+    public int getCurrentDelay() { return this.currentDelay; }
+
+    /**
+     * @return  True once the snake has died or the board is full.
+     */
+    public boolean isGameOver() { return this.gameOver; }
+
+
+    /**
+     * Hashes the complete game state, including the generator. Two games that played out
+     * identically have the same hash, which is how a replay is checked against the original.
+     *
+     * @return  Hash of the game state
+     */
+    public long getStateHash()
+    {
+        long hash = seed;
+        hash = hash * 31 + score;
+        hash = hash * 31 + currentDelay;
+        hash = hash * 31 + lastMilestone;
+        hash = hash * 31 + (gameOver ? 1 : 0);
+        hash = hash * 31 + random.getState();
+
+        hash = hash * 31 + snake.getDirection().ordinal();
+        for (int i = 0; i < snake.getLength(); i++)
+        {
+            hash = hash * 31 + snake.getSegmentX(i);
+            hash = hash * 31 + snake.getSegmentY(i);
+        }
+
+        hash = hash * 31 + food.getX();
+        hash = hash * 31 + food.getY();
+        hash = hash * 31 + food.getAppleType().ordinal();
+
+        for (int i = 0; i < grid.getPoisonCount(); i++)
+        {
+            hash = hash * 31 + grid.getCellX(grid.getPoisonCell(i));
+            hash = hash * 31 + grid.getCellY(grid.getPoisonCell(i));
+        }
+        return hash;
+    }
+
+
+    /**
+     * Checks whether moving the head onto a position would end the game.
+     * The tail's cell counts as occupied even though the tail moves away on the same tick.
+     *
+     * @param   x   x-coordinate in pixels
+     * @param   y   y-coordinate in pixels
+     * @return      True if the position is a wall, part of the snake or a poison apple.
+     */
+    public boolean isDeadly(int x, int y)
+    {
+        return isWall(x, y) || grid.getSnakeCount(x, y) > 0 || grid.isPoison(x, y);
+    }
+
+
+    /**
+     * @return  Seed the current game started from
+     */
+    public long getSeed() { return this.seed; }
+
+
+    /**
+     * Resets every game component to the start of a new game.
+     * The new game's seed is drawn from the current generator.
+     */
+    public void reset()
+    {
+        reset(random.nextLong());
+    }
+
+
+    /**
+     * Resets every game component to the start of a new game with the given seed.
+     *
+     * @param   seed    Seed of every random decision in the new game
+     */
+    public void reset(long seed)
+    {
+        this.seed = seed;
+        this.random.setState(seed);
+
+        this.currentDelay = settings.getGameDelay();
+        this.lastMilestone = 0;
+        this.score = 0;
+        this.gameOver = false;
+
+        this.grid.clear();
+        this.snake = new Snake(settings, grid);
+        this.food = new ConsumableFood(settings, random);
+        this.generateFoodPosition();
+    }
+
+
+    /**
+     * Saves the complete game state. The game can be restored from it by any engine with the
+     * same settings, and plays on from there. What happens after a restore depends only on the
+     * snapshot and the directions given, so every restore of a snapshot plays on identically;
+     * the game it was saved from may not, since the order it keeps its free cells in depends on
+     * its whole history.
+     *
+     * @return  The snapshot
+     */
+    public byte[] saveSnapshot()
+    {
+        int saved = snake.hasVacatedTail() ? snake.getLength() + 1 : snake.getLength();
+        ByteBuffer out = ByteBuffer.allocate(96 + saved + 5 * grid.getPoisonCount());
+
+        out.putInt(SNAPSHOT_MAGIC);
+        out.put((byte) SNAPSHOT_VERSION);
+        Varint.write(out, grid.getColumns());
+        Varint.write(out, grid.getRows());
+        Varint.write(out, settings.getSegmentSize());
+        out.putLong(settings.getProfileId());
+        out.put((byte) settings.getDifficulty().ordinal());
+        out.putLong(seed);
+        out.putLong(random.getState());
+        Varint.write(out, score);
+        Varint.write(out, currentDelay);
+        Varint.write(out, lastMilestone);
+        out.put((byte) ((gameOver ? 1 : 0) | (snake.hasVacatedTail() ? 2 : 0)));
+        out.put((byte) snake.getDirection().ordinal());
+
+        // The vacated tail sits right after the tail in the ring buffer
+        int size = settings.getSegmentSize();
+        Varint.write(out, snake.getLength());
+        Varint.writeSigned(out, snake.getHeadX() / size);
+        Varint.writeSigned(out, snake.getHeadY() / size);
+        for (int i = 1; i < saved; i++)
+        {
+            int stepColumn = (snake.getSegmentX(i) - snake.getSegmentX(i - 1)) / size;
+            int stepRow = (snake.getSegmentY(i) - snake.getSegmentY(i - 1)) / size;
+            out.put((byte) (3 * (stepColumn + 1) + stepRow + 1));
+        }
+
+        Varint.write(out, food.getX() / size + (food.getY() / size) * grid.getColumns());
+        out.put((byte) food.getAppleType().ordinal());
+
+        Varint.write(out, grid.getPoisonCount());
+        for (int i = 0; i < grid.getPoisonCount(); i++) { Varint.write(out, grid.getPoisonCell(i)); }
+
+        byte[] snapshot = new byte[out.position()];
+        out.flip().get(snapshot);
+        return snapshot;
+    }
+
+
+    /**
+     * Checks, from its header alone, whether a snapshot was saved with these settings.
+     *
+     * @param   snapshot    A snapshot from saveSnapshot()
+     * @return              True if restoreSnapshot() would accept its header
+     */
+    public boolean canRestore(byte[] snapshot)
+    {
+        try
+        {
+            readSnapshotHeader(ByteBuffer.wrap(snapshot));
+            return true;
+        }
+        catch (IOException | BufferUnderflowException e)
+        {
+            return false;
+        }
+    }
+
+
+    /**
+     * Replaces the game with a saved one. The snapshot is read and checked in full before the
+     * game is touched. Boards small enough to keep a set of free cells are then cleared and
+     * refilled, so the set's order depends on the snapshot alone; on larger boards only the
+     * cells of the old snake, food and poison apples are cleared.
+     *
+     * @param   snapshot        A snapshot from saveSnapshot()
+     * @throws  IOException     If the snapshot is malformed or was saved with other settings
+     */
+    public void restoreSnapshot(byte[] snapshot) throws IOException
+    {
+        ByteBuffer in = ByteBuffer.wrap(snapshot);
+        try
+        {
+            readSnapshotHeader(in);
+            int columns = grid.getColumns();
+            int size = settings.getSegmentSize();
+
+            long savedSeed = in.getLong();
+            long randomState = in.getLong();
+            int savedScore = Varint.readInt(in);
+            int savedDelay = Varint.readInt(in);
+            int savedMilestone = Varint.readInt(in);
+            int flags = in.get();
+            boolean savedGameOver = (flags & 1) != 0;
+            boolean tailVacated = (flags & 2) != 0;
+            Snake.Direction direction = readOrdinal(in, Snake.Direction.values());
+
+            // Every segment after the head takes a byte, so a length the snapshot cannot hold is rejected before allocating
+            int length = Varint.readInt(in);
+            int saved = tailVacated ? length + 1 : length;
+            if (length < 1 || length > columns * grid.getRows() + 1 || saved - 1 > in.remaining())
+            {
+                throw new IOException("Bad length " + length);
+            }
+
+            // Only the head can be off the board, after running into a wall
+            int[] segmentX = new int[saved];
+            int[] segmentY = new int[saved];
+            int column = Varint.readSigned(in);
+            int row = Varint.readSigned(in);
+            segmentX[0] = column * size;
+            segmentY[0] = row * size;
+            for (int i = 1; i < saved; i++)
+            {
+                int step = in.get() & 0xFF;
+                if (step > 8) { throw new IOException("Bad step " + step); }
+
+                column += step / 3 - 1;
+                row += step % 3 - 1;
+                checkCell(column, row);
+                segmentX[i] = column * size;
+                segmentY[i] = row * size;
+            }
+
+            int foodCell = Varint.readInt(in);
+            checkCell(foodCell % columns, foodCell / columns);
+            ConsumableFood.AppleType foodType = readOrdinal(in, ConsumableFood.AppleType.values());
+
+            int poisonCount = Varint.readInt(in);
+            if (poisonCount > in.remaining()) { throw new IOException("Bad poison count " + poisonCount); }
+            int[] poisonCells = new int[poisonCount];
+            for (int i = 0; i < poisonCount; i++)
+            {
+                poisonCells[i] = Varint.readInt(in);
+                checkCell(poisonCells[i] % columns, poisonCells[i] / columns);
+            }
+
+            // Everything checked out, so swap the saved game in
+            if (grid.hasFreeSet()) { grid.clear(); }
+            else
+            {
+                snake.removeFromGrid();
+                grid.setFood(food.getX(), food.getY(), false);
+                grid.removePoison();
+            }
+
+            this.seed = savedSeed;
+            this.random.setState(randomState);
+            this.score = savedScore;
+            this.currentDelay = savedDelay;
+            this.lastMilestone = savedMilestone;
+            this.gameOver = savedGameOver;
+
+            this.snake = new Snake(settings, grid, segmentX, segmentY, length, tailVacated, direction);
+            this.food = new ConsumableFood(settings, random, foodType);
+            this.food.placeAt(grid.getCellX(foodCell), grid.getCellY(foodCell));
+            grid.setFood(food.getX(), food.getY(), true);
+            for (int cell : poisonCells) { grid.addPoison(grid.getCellX(cell), grid.getCellY(cell)); }
+        }
+        catch (BufferUnderflowException e)
+        {
+            throw new IOException("Truncated snapshot");
+        }
+    }
+
+
+    /**
+     * Advances the game by one step: the snake turns and moves, then food, walls,
+     * the snake's body and poison apples are checked in that order.
+     * Does nothing once the game is over.
+     *
+     * @param   direction   New direction for the snake, or null to keep going straight.
+     * @return              What happened during the tick. Valid until the next call.
+     */
+    public TickResult tick(Snake.Direction direction)
+    {
+        result.reset();
+        if (gameOver) { return result; }
+
+        // Each phase is timed when profiling is on; otherwise the calls compile away
+        long time = TickProfiler.start();
+
+        if (direction != null) { snake.setDirection(direction); }
+        snake.move();
+        time = TickProfiler.record(TickProfiler.Phase.MOVE, time);
+
+        int headX = snake.getHeadX();
+        int headY = snake.getHeadY();
+
+        boolean over = detectFoodCollision(headX, headY);
+        time = TickProfiler.record(TickProfiler.Phase.FOOD, time);
+
+        if (!over)
+        {
+            over = detectWallCollision(headX, headY);
+            time = TickProfiler.record(TickProfiler.Phase.WALL, time);
+        }
+        if (!over)
+        {
+            over = detectSelfCollision(headX, headY);
+            time = TickProfiler.record(TickProfiler.Phase.SELF, time);
+        }
+        if (!over)
+        {
+            over = detectPoisonCollision(headX, headY);
+            TickProfiler.record(TickProfiler.Phase.POISON, time);
+        }
+
+        this.gameOver = over;
+        return result;
+    }
+
+
+    /**
+     * Generates a new poison apple on a free cell and adds it to the game.
+     * No poison apple is added if the board is full.
+     *
+     * @return  True if a poison apple was added.
+     */
+    public boolean spawnPoisonApple()
+    {
+        if (!poisonSpawner.generateNewPosition(grid)) { return false; }
+
+        grid.addPoison(poisonSpawner.getX(), poisonSpawner.getY());
+        return true;
+    }
+
+
+    // Helper Methods
+
+    /**
+     * Detects collision between the snake and food. On contact, snake will grow,
+     * score increments depending on apple type, and game speed is adjusted if a milestone is reached.
+     * This method will also generate poison apples at their set probability, and spawn a new apple.
+     *
+     * @return  True if the game ended because no free cell was left for the new apple.
+     */
+    private boolean detectFoodCollision(int headX, int headY)
+    {
+        // The food sits on a whole cell like the head, so eating it means sharing its cell
+        if (headX != food.getX() || headY != food.getY()) { return false; }
+
+        snake.grow();
+        result.setAteFood(increaseScore(food));
+
+        // Check if a new milestone (every 50 points) is reached
+        checkMilestoneReached();
+
+        grid.setFood(food.getX(), food.getY(), false);
+        food = new ConsumableFood(settings, random);
+
+        if (!generateFoodPosition())
+        {
+            result.setDied(true);
+            return true;
+        }
+
+        if (random.nextDouble() < settings.getPoisonProbability())
+        {
+            for (int i = 0; i < settings.getPoisonPerApple(); i++)
+            {
+                if (!spawnPoisonApple()) { break; }
+            }
+        }
+        return false;
+    }
+
+
+    /**
+     * Checks if a new score milestone is reached and increases the snake's speed.
+     */
+    private void checkMilestoneReached()
+    {
+        if (score / 50 > lastMilestone)
+        {
+            lastMilestone = score / 50;
+            increaseSpeed();
+        }
+    }
+
+
+    /**
+     * Detects collision of the snake with the game boundaries (walls).
+     */
+    private boolean detectWallCollision(int headX, int headY)
+    {
+        if (isWall(headX, headY))
+        {
+            result.setDied(false);
+            return true;
+        }
+        return false;
+    }
+
+
+    /**
+     * @return  True if the position is outside the area the snake can move in.
+     */
+    private boolean isWall(int x, int y)
+    {
+        return x <= 0
+                || x >= settings.getWidth()
+                || y < 0
+                || y >= settings.getHeight() - settings.getSegmentSize();
+    }
+
+
+    /**
+     * Detects collision of the snake with itself.
+     */
+    private boolean detectSelfCollision(int headX, int headY)
+    {
+        // More than one segment on the head's cell means the head ran into the body
+        if (grid.getSnakeCount(headX, headY) > 1)
+        {
+            result.setDied(false);
+            return true;
+        }
+        return false;
+    }
+
+
+    /**
+     * Detects collision of the snake with any of the poison apples.
+     */
+    private boolean detectPoisonCollision(int headX, int headY)
+    {
+        // Poison apples sit on whole cells, so touching one means sharing its cell
+        if (grid.isPoison(headX, headY))
+        {
+            result.setDied(false);
+            return true;
+        }
+        return false;
+    }
+
+
+    /**
+     * Moves the food onto a free cell of the board.
+     *
+     * @return  True if the food was placed, false if the board is full.
+     */
+    private boolean generateFoodPosition()
+    {
+        if (!food.generateNewPosition(grid)) { return false; }
+
+        grid.setFood(food.getX(), food.getY(), true);
+        return true;
+    }
+
+
+    /**
+     * Increases the score based on the type of apple consumed.
+     * A golden apple also clears every poison apple.
+     * @param   food    The apple consumed
+     * @return          Points gained
+     */
+    private int increaseScore(ConsumableFood food)
+    {
+        if (food.getAppleType() == ConsumableFood.AppleType.GOLDEN) { grid.clearPoison(); }
+
+        this.score += food.getPoints();
+        return food.getPoints();
+    }
+
+
+    /**
+     * Reads the header of a snapshot and checks it was saved with these settings.
+     */
+    private void readSnapshotHeader(ByteBuffer in) throws IOException
+    {
+        if (in.getInt() != SNAPSHOT_MAGIC) { throw new IOException("Not a snapshot"); }
+        int version = in.get() & 0xFF;
+        if (version != SNAPSHOT_VERSION) { throw new IOException("Unsupported snapshot version " + version); }
+
+        if (Varint.readInt(in) != grid.getColumns() || Varint.readInt(in) != grid.getRows()
+                || Varint.readInt(in) != settings.getSegmentSize())
+        {
+            throw new IOException("Snapshot was saved on a different board");
+        }
+        if (in.getLong() != settings.getProfileId() || in.get() != settings.getDifficulty().ordinal())
+        {
+            throw new IOException("Snapshot was saved with different settings");
+        }
+    }
+
+
+    /**
+     * Checks that a cell read from a snapshot is on the board.
+     */
+    private void checkCell(int column, int row) throws IOException
+    {
+        if (column < 0 || column >= grid.getColumns() || row < 0 || row >= grid.getRows())
+        {
+            throw new IOException("Cell off the board: " + column + ", " + row);
+        }
+    }
+
+
+    /**
+     * Reads an enum ordinal byte from a snapshot.
+     */
+    private static <E> E readOrdinal(ByteBuffer in, E[] values) throws IOException
+    {
+        int ordinal = in.get() & 0xFF;
+        if (ordinal >= values.length) { throw new IOException("Bad ordinal " + ordinal); }
+        return values[ordinal];
+    }
+
+
+    /**
+     * Increases the speed of the snake. Game delay will never drop below 30. (Would be too fast)
+     */
+    private void increaseSpeed()
+    {
+        if (currentDelay > 30)
+        {
+            this.currentDelay = currentDelay - 10;
+            result.setSpeedChanged();
+        }
+    }
+}
@@ -0,0 +1,192 @@
+// GameLoop.java
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The GameLoop class runs the GameEngine on its own thread with a fixed timestep.
+ * Elapsed time is added to an accumulator and the engine ticks once per game delay,
+ * catching up after a stall, so the tick rate does not depend on how long painting takes.
+ * Between ticks the loop asks the view to repaint and reports how far the game is
+ * towards the next tick, so the view can interpolate.
+ *
+ * The engine is used as the lock: the loop holds it while ticking and the view
+ * must hold it while reading the game state. With -Dsnake.profile=true every tick is
+ * timed, including the wait for the lock, along with how late it started.
+ *
+ * @author Michael Nguyen
+ * @version Last Modified Oct 17th, 2026
+ */
+public class GameLoop implements Runnable
+{
+    private static final long FRAME_NANOS = 8_000_000L;     // Repaint at most about 120 times a second
+    private static final int MAX_CATCH_UP_TICKS = 10;       // Ticks replayed at most after a stall
+
+    /**
+     * Callbacks from the loop thread to the view.
+     */
+    public interface Listener
+    {
+        /**
+         * @return  Direction to pass to the next tick, or null to keep going straight.
+         */
+        Snake.Direction nextDirection();
+
+        /**
+         * Called on the loop thread, while holding the engine lock, after every tick.
+         * @param   result  What happened during the tick. Valid only during the call.
+         */
+        void tickCompleted(TickResult result);
+
+        /**
+         * Called on the loop thread when a new frame should be drawn.
+         */
+        void frameReady();
+    }
+
+    private final GameEngine engine;
+    private final Listener listener;
+    private Thread thread;
+    private volatile boolean running;
+    private volatile boolean paused;
+    private volatile long lastTickNanos;    // Simulated time of the latest tick
+    private volatile long stepNanos;        // Current timestep
+    private volatile boolean ticked;        // True once a tick ran since the last start or resume
+
+
+    /**
+     * Constructor
+     *
+     * @param   engine      The engine to tick
+     * @param   listener    The view receiving ticks and frames
+     */
+    public GameLoop(GameEngine engine, Listener listener)
+    {
+        this.engine = engine;
+        this.listener = listener;
+    }
+
+
+    /**
+     * Starts the loop thread.
+     */
+    public void start()
+    {
+        if (running) { return; }
+
+        running = true;
+        paused = false;
+        ticked = false;
+
+        thread = new Thread(this, "game-loop");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+
+    /**
+     * Stops the loop thread and waits for it to finish.
+     */
+    public void stop()
+    {
+        running = false;
+        if (thread == null) { return; }
+
+        LockSupport.unpark(thread);
+        if (thread != Thread.currentThread())
+        {
+            try { thread.join(); }
+            catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+        }
+        thread = null;
+    }
+
+
+    /**
+     * Pauses ticking. Frames keep being requested.
+     */
+    public void pause() { paused = true; }
+
+
+    /**
+     * Resumes ticking from now, without catching up on the time spent paused.
+     */
+    public void resume()
+    {
+        ticked = false;
+        paused = false;
+        LockSupport.unpark(thread);
+    }
+
+
+    /**
+     * @return  Progress towards the next tick, from 0.0 (just ticked) to 1.0.
+     *          Always 1.0 before the first tick so a fresh game is drawn as is.
+     */
+    public double getInterpolation()
+    {
+        if (!ticked || paused) { return 1.0; }
+
+        double alpha = (double) (System.nanoTime() - lastTickNanos) / stepNanos;
+        return Math.min(1.0, Math.max(0.0, alpha));
+    }
+
+
+    /**
+     * The loop: tick as many times as the elapsed time allows, then request a frame and sleep.
+     */
+    public void run()
+    {
+        long previous = System.nanoTime();
+        long accumulator = 0;
+
+        while (running)
+        {
+            long now = System.nanoTime();
+            long step = engine.getCurrentDelay() * 1_000_000L;
+            stepNanos = step;
+
+            if (paused)
+            {
+                previous = now;
+                accumulator = 0;
+            }
+            else
+            {
+                accumulator += now - previous;
+                previous = now;
+
+                // Catch up after a stall, but never spiral on an endless backlog
+                accumulator = Math.min(accumulator, MAX_CATCH_UP_TICKS * step);
+
+                while (accumulator >= step && !paused)
+                {
+                    long tickStart = TickProfiler.start();
+
+                    synchronized (engine)
+                    {
+                        TickResult result = engine.tick(listener.nextDirection());
+                        if (result.hasDied()) { paused = true; }
+
+                        listener.tickCompleted(result);
+                    }
+
+                    // The tick was due when the accumulator last reached one step
+                    TickProfiler.tickFinished(tickStart, accumulator - step);
+
+                    accumulator -= step;
+                    ticked = true;
+
+                    // A milestone may have shortened the timestep
+                    step = engine.getCurrentDelay() * 1_000_000L;
+                    stepNanos = step;
+                }
+                lastTickNanos = now - accumulator;
+            }
+
+            listener.frameReady();
+
+            long untilTick = paused ? FRAME_NANOS : step - accumulator;
+            LockSupport.parkNanos(Math.min(untilTick, FRAME_NANOS));
+        }
+    }
+}
@@ -0,0 +1,110 @@
+// GameRandom.java
+
+/**
+ * The GameRandom class is the single source of randomness of a game session.
+ * It is a SplitMix64 generator: the whole state is one long, so a game can be
+ * replayed from its seed, a generator can be saved and restored, and independent
+ * generators for parallel workers can be split off deterministically.
+ * It is not thread safe; each game or worker owns its own instance.
+ *
+ * @author Michael Nguyen
+ * @version Last Modified Oct 17th, 2026
+ */
+public final class GameRandom
+{
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    private long state;
+
+
+    /**
+     * Constructor
+     *
+     * @param   seed    Starting state of the generator
+     */
+    public GameRandom(long seed)
+    {
+        this.state = seed;
+    }
+
+
+    /**
+     * @return  A seed for a game that does not need to be reproduced from a known value.
+     */
+    public static long newSeed()
+    {
+        return mix64(System.nanoTime() ^ System.identityHashCode(new Object()));
+    }
+
+
+    /**
+     * @return  The next pseudorandom long
+     */
+    public long nextLong()
+    {
+        state += GOLDEN_GAMMA;
+        return mix64(state);
+    }
+
+
+    /**
+     * @param   bound   Upper bound (exclusive), must be positive
+     * @return          A uniformly distributed int between 0 (inclusive) and bound (exclusive)
+     */
+    public int nextInt(int bound)
+    {
+        int r = (int) (nextLong() >>> 33);
+        int m = bound - 1;
+
+        // Power of two: take the high bits
+        if ((bound & m) == 0) { return (int) ((bound * (long) r) >> 31); }
+
+        // Otherwise reject the values that would bias the result
+        for (int u = r; u - (r = u % bound) + m < 0; u = (int) (nextLong() >>> 33)) { }
+        return r;
+    }
+
+
+    /**
+     * @return  A uniformly distributed double between 0.0 (inclusive) and 1.0 (exclusive)
+     */
+    public double nextDouble()
+    {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+
+    /**
+     * Creates an independent generator, advancing this one.
+     * The same sequence of splits always produces the same generators.
+     *
+     * @return  A new generator
+     */
+    public GameRandom split()
+    {
+        return new GameRandom(mix64(nextLong()));
+    }
+
+
+    /**
+     * @return  The complete state of the generator
+     */
+    public long getState() { return this.state; }
+
+    /**
+     * @param   state   A state previously returned by getState(), or a seed
+     */
+    public void setState(long state) { this.state = state; }
+
+
+    // Helper Methods
+
+    /**
+     * Stafford's variant 13 of the MurmurHash3 finalizer.
+     */
+    private static long mix64(long z)
+    {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,226 @@
+// GameRoom.java
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The GameRoom class is one shared game on a GameServer. It runs an ArenaEngine on its own
+ * tick thread, at the settings' game delay. Clients that join take a free seat and steer that
+ * snake; the other seats are played by the AI. Once every snake is dead a new round starts.
+ *
+ * Everything about the room happens on its tick thread. The selector thread only hands over
+ * joins and leaves through a command queue and turns through each client's InputQueue, so the
+ * arena itself is never shared. After every tick the room encodes one DELTA frame and queues it
+ * to every client; joining clients and every new round get a KEYFRAME instead.
+ *
+ * A tick that throws stops the room, and the server disconnects its clients, rather than
+ * leaving them connected to a room the executor silently cancelled. The server also stops a
+ * room and forgets it once its last client leaves.
+ *
+ * @author Michael Nguyen
+ * @version Last Modified Oct 17th, 2026
+ */
+public class GameRoom implements Runnable
+{
+    private final GameServer server;
+    private final String name;
+    private final GameSettings settings;
+    private final int seatCount;
+    private final GameRandom seeds;
+    private final ScheduledExecutorService ticker;
+    private final Queue<Runnable> commands = new ConcurrentLinkedQueue<>();
+    private final List<GameServer.Connection> members = new ArrayList<>();     // Selector thread only
+
+    // Tick thread only
+    private final ArrayList<GameServer.Connection> clients = new ArrayList<>();
+    private final GameServer.Connection[] seats;
+    private final ByteBuffer[] scratch = { ByteBuffer.allocate(4096) };
+    private ArenaEngine arena;
+    private ArenaProtocol.DeltaEncoder delta;
+    private boolean started;
+
+
+    /**
+     * Constructor creates the room's first round. Call start() to begin ticking.
+     *
+     * @param   server      The server hosting the room
+     * @param   name        Name clients join the room by
+     * @param   settings    The game settings
+     * @param   seatCount   Number of snakes in the room
+     */
+    public GameRoom(GameServer server, String name, GameSettings settings, int seatCount)
+    {
+        this.server = server;
+        this.name = name;
+        this.settings = settings;
+        this.seatCount = seatCount;
+        this.seeds = new GameRandom(GameRandom.newSeed());
+        this.seats = new GameServer.Connection[seatCount];
+        this.ticker = Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "room-" + name));
+        newRound();
+    }
+
+
+    /**
+     * @return  Name of the room
+     */
+    public String getName() { return this.name; }
+
+    /**
+     * @return  True once start() has been called
+     */
+    public boolean isStarted() { return this.started; }
+
+
+    /**
+     * Starts ticking. Not thread-safe; call from the thread that created the room.
+     */
+    public void start()
+    {
+        started = true;
+        long delay = settings.getGameDelay();
+        ticker.scheduleAtFixedRate(this, delay, delay, TimeUnit.MILLISECONDS);
+    }
+
+
+    /**
+     * Stops ticking.
+     */
+    public void stop()
+    {
+        ticker.shutdownNow();
+    }
+
+
+    /**
+     * @return  Clients that joined and have not left. Selector thread only.
+     */
+    List<GameServer.Connection> getMembers() { return this.members; }
+
+
+    /**
+     * Adds a client on the next tick: it takes the first free seat, or watches if none is left.
+     * Called by the selector thread.
+     */
+    void join(GameServer.Connection client)
+    {
+        members.add(client);
+        commands.add(() -> {
+            for (int seat = 0; seat < seats.length && client.seat < 0; seat++)
+            {
+                if (seats[seat] == null && arena.isAlive(seat))
+                {
+                    seats[seat] = client;
+                    client.seat = seat;
+                    arena.setPlayerControlled(seat, true);
+                }
+            }
+            clients.add(client);
+
+            int seat = client.seat;
+            client.send(ArenaProtocol.encode(scratch, out -> ArenaProtocol.writeWelcome(out, arena, seat)));
+            client.send(ArenaProtocol.encode(scratch, out -> ArenaProtocol.writeKeyframe(out, arena)));
+        });
+    }
+
+
+    /**
+     * Removes a client on the next tick; the AI takes over its snake. Called by the selector thread.
+     *
+     * @return  True if that was the last client in the room
+     */
+    boolean leave(GameServer.Connection client)
+    {
+        members.remove(client);
+        commands.add(() -> {
+            clients.remove(client);
+            if (client.seat >= 0)
+            {
+                seats[client.seat] = null;
+                arena.setPlayerControlled(client.seat, false);
+                client.seat = -1;
+            }
+        });
+        return members.isEmpty();
+    }
+
+
+    /**
+     * Plays one tick and broadcasts it. An exception escaping here would cancel the schedule
+     * without a trace, so it is logged and the room is closed instead.
+     */
+    @Override
+    public void run()
+    {
+        try
+        {
+            tick();
+        }
+        catch (RuntimeException e)
+        {
+            System.err.println("Room " + name + " stopped: " + e);
+            e.printStackTrace();
+            ticker.shutdown();
+            server.closeRoom(this);
+        }
+    }
+
+
+    // Helper Methods
+
+    /**
+     * Applies the queued joins, leaves and turns, then plays one tick and broadcasts it.
+     */
+    private void tick()
+    {
+        Runnable command;
+        while ((command = commands.poll()) != null) { command.run(); }
+
+        for (GameServer.Connection client : clients)
+        {
+            if (client.seat < 0) { continue; }
+
+            Snake.Direction turn = client.input.poll(arena.getSnake(client.seat));
+            if (turn != null) { arena.setTurn(client.seat, turn); }
+        }
+
+        arena.tick();
+        broadcast(ArenaProtocol.encode(scratch, delta::write));
+
+        if (arena.isGameOver())
+        {
+            newRound();
+            broadcast(ArenaProtocol.encode(scratch, out -> ArenaProtocol.writeKeyframe(out, arena)));
+        }
+    }
+
+
+    /**
+     * Starts a new arena, with every client keeping its seat.
+     */
+    private void newRound()
+    {
+        arena = new ArenaEngine(settings, seatCount, seeds.nextLong());
+        delta = new ArenaProtocol.DeltaEncoder(arena);
+
+        for (int seat = 0; seat < seats.length; seat++)
+        {
+            if (seats[seat] != null) { arena.setPlayerControlled(seat, true); }
+        }
+    }
+
+
+    /**
+     * Queues the same frame to every client.
+     */
+    private void broadcast(ByteBuffer frame)
+    {
+        for (GameServer.Connection client : clients) { client.send(frame); }
+    }
+}
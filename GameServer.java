@@ -0,0 +1,433 @@
+// GameServer.java
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The GameServer class hosts multiplayer arenas over TCP. It is authoritative: clients only
+ * send turns, and every GameRoom plays its own ArenaEngine on its own tick thread and
+ * broadcasts what changed after each tick, as described in ArenaProtocol.
+ *
+ * All sockets are served by one selector thread with non-blocking channels, so a few thousand
+ * clients do not need a few thousand threads. A room encodes each frame once and queues the
+ * same bytes to every client, and the selector thread writes them out whenever a socket can
+ * take more. A client that falls too far behind is disconnected rather than slowing its room.
+ * A room is stopped and dropped once its last client leaves, or if its tick fails.
+ *
+ * Usage: java GameServer [port] [seatsPerRoom] [boardCells]
+ *
+ * @author Michael Nguyen
+ * @version Last Modified Oct 17th, 2026
+ */
+public class GameServer implements Runnable, Closeable
+{
+    private static final int READ_BUFFER_SIZE = 256;
+    private static final int MAX_QUEUED_FRAMES = 256;   // A client further behind is disconnected
+    private static final int MAX_ROOM_NAME_BYTES = 64;
+
+    private final GameSettings settings;
+    private final int seatsPerRoom;
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final Map<String, GameRoom> rooms = new HashMap<>();                // Selector thread only
+    private final Queue<Connection> writeRequests = new ConcurrentLinkedQueue<>();
+    private final Queue<GameRoom> failedRooms = new ConcurrentLinkedQueue<>();
+    private final Thread thread;
+    private volatile boolean running = true;
+
+
+    /**
+     * Constructor binds the server socket. Call start() to accept clients.
+     *
+     * @param   address         Address to listen on; port 0 picks a free port
+     * @param   settings        Settings of every room's arena
+     * @param   seatsPerRoom    Number of snakes in a room, played by clients or the AI
+     * @throws  IOException     If the socket cannot be bound
+     */
+    public GameServer(InetSocketAddress address, GameSettings settings, int seatsPerRoom) throws IOException
+    {
+        this.settings = settings;
+        this.seatsPerRoom = seatsPerRoom;
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        this.serverChannel.bind(address);
+        this.serverChannel.configureBlocking(false);
+        this.serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        this.thread = new Thread(this, "game-server");
+    }
+
+
+    /**
+     * @return  The port the server listens on
+     */
+    public int getPort()
+    {
+        return ((InetSocketAddress) serverChannel.socket().getLocalSocketAddress()).getPort();
+    }
+
+
+    /**
+     * Starts the selector thread.
+     *
+     * @throws  IllegalStateException   If the server was closed
+     */
+    public synchronized void start()
+    {
+        if (!running) { throw new IllegalStateException("The server is closed"); }
+        thread.start();
+    }
+
+
+    /**
+     * Stops every room and closes every connection.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        synchronized (this)
+        {
+            // Without a selector thread to clean up as its loop ends, close the socket here
+            if (thread.getState() == Thread.State.NEW)
+            {
+                if (running) { shutdown(); }
+                running = false;
+                return;
+            }
+            running = false;
+        }
+
+        selector.wakeup();
+        try
+        {
+            thread.join();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+
+    /**
+     * Selector loop: accepts clients, reads their frames, and writes queued frames.
+     */
+    @Override
+    public void run()
+    {
+        try
+        {
+            while (running)
+            {
+                selector.select();
+                processWriteRequests();
+                processFailedRooms();
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext())
+                {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+
+                    if (!key.isValid()) { continue; }
+                    if (key.isAcceptable()) { accept(); }
+                    else
+                    {
+                        Connection connection = (Connection) key.attachment();
+                        if (key.isReadable()) { read(connection); }
+                        if (key.isValid() && key.isWritable()) { write(connection); }
+                    }
+                }
+            }
+        }
+        catch (IOException e)
+        {
+            System.err.println("Game server stopped: " + e.getMessage());
+        }
+        finally
+        {
+            shutdown();
+        }
+    }
+
+
+    public static void main(String[] args) throws IOException
+    {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 7777;
+        int seats = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int boardCells = args.length > 2 ? Integer.parseInt(args[2]) : 60;
+
+        GameSettings settings = new GameSettings();
+        settings.setBoardSize(boardCells, boardCells);
+
+        GameServer server = new GameServer(new InetSocketAddress(port), settings, seats);
+        server.start();
+        System.out.printf("Serving %d-seat rooms on %d x %d cells at port %d%n",
+                seats, boardCells, boardCells, server.getPort());
+    }
+
+
+    // Helper Methods
+
+    /**
+     * Asks the selector thread to write a connection's queued frames. Called by rooms.
+     */
+    void requestWrite(Connection connection)
+    {
+        writeRequests.add(connection);
+        selector.wakeup();
+    }
+
+
+    /**
+     * Asks the selector thread to drop a room whose tick failed and disconnect its clients.
+     * Called by the room.
+     */
+    void closeRoom(GameRoom room)
+    {
+        failedRooms.add(room);
+        selector.wakeup();
+    }
+
+
+    /**
+     * Turns on write interest for every connection with frames queued since the last select,
+     * and drops those that fell too far behind.
+     */
+    private void processWriteRequests()
+    {
+        Connection connection;
+        while ((connection = writeRequests.poll()) != null)
+        {
+            if (!connection.key.isValid()) { continue; }
+
+            if (connection.queuedFrames.get() > MAX_QUEUED_FRAMES) { disconnect(connection); }
+            else { connection.key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE); }
+        }
+    }
+
+
+    /**
+     * Disconnects every client of the rooms that failed since the last select.
+     */
+    private void processFailedRooms()
+    {
+        GameRoom room;
+        while ((room = failedRooms.poll()) != null)
+        {
+            rooms.remove(room.getName(), room);
+            for (Connection connection : new ArrayList<>(room.getMembers())) { disconnect(connection); }
+        }
+    }
+
+
+    private void accept() throws IOException
+    {
+        SocketChannel channel = serverChannel.accept();
+        if (channel == null) { return; }
+
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+
+        Connection connection = new Connection(this, channel);
+        connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+    }
+
+
+    /**
+     * Reads what a client sent and handles every complete frame.
+     */
+    private void read(Connection connection)
+    {
+        ByteBuffer in = connection.inbound;
+        try
+        {
+            if (connection.channel.read(in) < 0)
+            {
+                disconnect(connection);
+                return;
+            }
+
+            in.flip();
+            while (in.remaining() >= ArenaProtocol.HEADER_BYTES)
+            {
+                int length = in.getInt(in.position());
+                if (length < 1 || length > READ_BUFFER_SIZE - 4) { throw new IOException("Bad frame length " + length); }
+                if (in.remaining() < length + 4) { break; }
+
+                in.getInt();
+                byte type = in.get();
+                int payloadEnd = in.position() + length - 1;
+                handleFrame(connection, type, in, payloadEnd);
+                in.position(payloadEnd);
+            }
+            in.compact();
+        }
+        catch (IOException | RuntimeException e)
+        {
+            disconnect(connection);
+        }
+    }
+
+
+    /**
+     * Handles one frame from a client.
+     */
+    private void handleFrame(Connection connection, byte type, ByteBuffer in, int payloadEnd) throws IOException
+    {
+        if (type == ArenaProtocol.JOIN && connection.room == null)
+        {
+            int length = payloadEnd - in.position();
+            if (length > MAX_ROOM_NAME_BYTES) { throw new IOException("Room name too long"); }
+
+            byte[] name = new byte[length];
+            in.get(name);
+            String roomName = new String(name, StandardCharsets.UTF_8);
+
+            GameRoom room = rooms.computeIfAbsent(roomName, n -> new GameRoom(this, n, settings, seatsPerRoom));
+            if (!room.isStarted()) { room.start(); }
+
+            connection.room = room;
+            room.join(connection);
+        }
+        else if (type == ArenaProtocol.INPUT && payloadEnd - in.position() == 1)
+        {
+            int direction = in.get();
+            if (direction < 0 || direction >= Connection.DIRECTIONS.length) { throw new IOException("Bad direction"); }
+
+            connection.input.offer(Connection.DIRECTIONS[direction]);
+        }
+        else
+        {
+            throw new IOException("Unexpected frame type " + type);
+        }
+    }
+
+
+    /**
+     * Writes as much of a client's queue as its socket takes without blocking.
+     */
+    private void write(Connection connection)
+    {
+        try
+        {
+            ByteBuffer frame;
+            while ((frame = connection.outbound.peek()) != null)
+            {
+                connection.channel.write(frame);
+                if (frame.hasRemaining()) { return; }
+
+                connection.outbound.poll();
+                connection.queuedFrames.decrementAndGet();
+            }
+
+            // Everything was sent; wait for the room to queue more
+            connection.key.interestOps(SelectionKey.OP_READ);
+            if (!connection.outbound.isEmpty()) { connection.key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE); }
+        }
+        catch (IOException e)
+        {
+            disconnect(connection);
+        }
+    }
+
+
+    private void disconnect(Connection connection)
+    {
+        if (connection.closed) { return; }
+
+        connection.closed = true;
+        connection.key.cancel();
+        try
+        {
+            connection.channel.close();
+        }
+        catch (IOException e)
+        {
+            // Already gone
+        }
+
+        GameRoom room = connection.room;
+        if (room != null && room.leave(connection))
+        {
+            room.stop();
+            rooms.remove(room.getName(), room);
+        }
+    }
+
+
+    private void shutdown()
+    {
+        for (GameRoom room : rooms.values()) { room.stop(); }
+
+        for (SelectionKey key : selector.keys())
+        {
+            if (key.attachment() instanceof Connection connection) { disconnect(connection); }
+        }
+        try
+        {
+            serverChannel.close();
+            selector.close();
+        }
+        catch (IOException e)
+        {
+            // Shutting down anyway
+        }
+    }
+
+
+    /**
+     * The Connection class is one client. The selector thread owns its socket and inbound
+     * buffer; its room owns the seat and produces the outbound queue.
+     */
+    static final class Connection
+    {
+        static final Snake.Direction[] DIRECTIONS = Snake.Direction.values();
+
+        final GameServer server;
+        final SocketChannel channel;
+        final ByteBuffer inbound = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        final Queue<ByteBuffer> outbound = new ConcurrentLinkedQueue<>();
+        final AtomicInteger queuedFrames = new AtomicInteger();
+        final InputQueue input = new InputQueue();      // Selector thread produces, room thread consumes
+        SelectionKey key;
+        GameRoom room;
+        int seat = -1;                                  // Room thread only
+        volatile boolean closed;
+
+
+        Connection(GameServer server, SocketChannel channel)
+        {
+            this.server = server;
+            this.channel = channel;
+        }
+
+
+        /**
+         * Queues a frame shared with other clients. Called by the room thread.
+         *
+         * @param   frame   Encoded frame, positioned at its start; it is not modified
+         */
+        void send(ByteBuffer frame)
+        {
+            if (closed) { return; }
+
+            outbound.add(frame.duplicate());
+
+            // The selector only needs waking when the queue was empty, or to drop a client that fell behind
+            int queued = queuedFrames.incrementAndGet();
+            if (queued == 1 || queued == MAX_QUEUED_FRAMES + 1) { server.requestWrite(this); }
+        }
+    }
+}
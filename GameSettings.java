@@ -4,6 +4,7 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.util.Arrays;
 
 /**
  * Holds all the configuration settings for the game. This includes dimensions,
@@ -14,9 +15,16 @@ import java.awt.event.ActionListener;
  */
 public class GameSettings
 {
+    /**
+     * Difficulty the settings were chosen as. Leaderboards are kept per difficulty.
+     */
+    public enum Difficulty { EASY, MEDIUM, INSANE, CUSTOM }
+
     // Game Properties
-    private int width = 600;
+    private int width = 600;            // Size of the world
     private int height = 600;
+    private int viewWidth = 600;        // Largest part of the world shown at once
+    private int viewHeight = 600;
     private int segmentSize = 20;
     private double regularProbability = 0.7;
     private double rareProbability = 0.2;
@@ -24,6 +32,9 @@ public class GameSettings
     private Color snakeColor;
     private int gameDelay;
     private double poisonProbability;
+    private int poisonPerApple = 1;     // Poison apples spawned each time poison is rolled
+    private boolean activeRendering;    // Draw only changed cells into a back buffer
+    private Difficulty difficulty = Difficulty.CUSTOM;
 
 
     /**
@@ -49,6 +60,23 @@ public class GameSettings
         this.poisonProbability = poisonProbability;
     }
 
+
+    /**
+     * Constructor with customizable settings and board size.
+     *
+     * @param   snakeColor              The color of the snake.
+     * @param   gameDelay               The  delay (speed) of the game.
+     * @param   poisonProbability       The probability of spawning a poison apple.
+     * @param   width                   The width in pixels of the playing area.
+     * @param   height                  The height in pixels of the playing area.
+     */
+    public GameSettings(Color snakeColor, int gameDelay, double poisonProbability, int width, int height)
+    {
+        this(snakeColor, gameDelay, poisonProbability);
+        this.width = width;
+        this.height = height;
+    }
+
     // Accessor methods
 
     /**
@@ -62,6 +90,21 @@ public class GameSettings
      */
     public int getHeight() { return this.height; }
 
+    /**
+     * @return  Returns the width in pixels of the part of the world shown on screen
+     */
+    public int getViewWidth() { return Math.min(this.viewWidth, this.width); }
+
+    /**
+     * @return  Returns the height in pixels of the part of the world shown on screen
+     */
+    public int getViewHeight() { return Math.min(this.viewHeight, this.height); }
+
+    /**
+     * @return  Returns true if the world is larger than the view, so a camera follows the head
+     */
+    public boolean isScrolling() { return getViewWidth() < width || getViewHeight() < height; }
+
     /**
      * @return Returns the delay in milliseconds
      */
@@ -82,15 +125,100 @@ public class GameSettings
      */
     public double getRareProbability() { return this.rareProbability; }
 
+    /**
+     * @return Returns the probability of a golden apple spawning.
+     */
+    public double getGoldenProbability() { return this.goldenProbability; }
+
     /**
      * @return  Returns the probability of a poison apple spawning
      */
     public double getPoisonProbability() { return this.poisonProbability; }
 
+    /**
+     * @return  Returns how many poison apples spawn each time an apple leaves poison behind
+     */
+    public int getPoisonPerApple() { return this.poisonPerApple; }
+
     /**
      * @return  Returns the color of the snake.
      */
     public Color getSnakeColor() { return this.snakeColor; }
+
+    /**
+     * @return  Returns true if the game window redraws only changed cells into a back buffer.
+     *          Scrolling boards always use the passive renderer.
+     */
+    public boolean isActiveRendering() { return this.activeRendering && !isScrolling(); }
+
+    /**
+     * @return  Returns the difficulty the settings were chosen as
+     */
+    public Difficulty getDifficulty() { return this.difficulty; }
+
+    /**
+     * Hashes every setting that changes how the game plays, so scores from different
+     * profiles are never ranked against each other. Colour and rendering are left out.
+     *
+     * @return  Returns the id of the settings profile
+     */
+    public long getProfileId()
+    {
+        long hash = width;
+        hash = hash * 31 + height;
+        hash = hash * 31 + segmentSize;
+        hash = hash * 31 + gameDelay;
+        hash = hash * 31 + Double.doubleToLongBits(poisonProbability);
+        hash = hash * 31 + Double.doubleToLongBits(regularProbability);
+        hash = hash * 31 + Double.doubleToLongBits(rareProbability);
+
+        // Left out at its default so profiles from before the setting keep their ids
+        if (poisonPerApple != 1) { hash = hash * 31 + poisonPerApple; }
+        return hash;
+    }
+
+
+    // Mutator methods
+
+    /**
+     * Sets the size of the world in cells. The view keeps its size, so larger boards scroll.
+     *
+     * @param   columns     Number of cells across
+     * @param   rows        Number of cells down
+     */
+    public void setBoardSize(int columns, int rows)
+    {
+        this.width = columns * segmentSize;
+        this.height = rows * segmentSize;
+    }
+
+    /**
+     * @param   activeRendering     True to redraw only changed cells into a back buffer
+     */
+    public void setActiveRendering(boolean activeRendering) { this.activeRendering = activeRendering; }
+
+    /**
+     * @param   poisonPerApple  How many poison apples spawn each time an apple leaves poison behind
+     */
+    public void setPoisonPerApple(int poisonPerApple) { this.poisonPerApple = poisonPerApple; }
+
+    /**
+     * @param   difficulty      The difficulty the settings were chosen as
+     */
+    public void setDifficulty(Difficulty difficulty) { this.difficulty = difficulty; }
+
+    /**
+     * Sets the apple type probabilities. Golden apples get whatever probability is left.
+     *
+     * @param   regularProbability      The probability of a regular apple spawning.
+     * @param   rareProbability         The probability of a rare apple spawning.
+     */
+    public void setAppleProbabilities(double regularProbability, double rareProbability)
+    {
+        this.regularProbability = regularProbability;
+        this.rareProbability = rareProbability;
+        this.goldenProbability = 1.0 - regularProbability - rareProbability;
+    }
 }
 
 /**
@@ -106,10 +234,17 @@ class SettingsWindow extends JPanel
     // Components
     private String[] snakeColorOptions = { "Black", "Blue", "Red", "Pink" };
     private Color[] snakeColors = { Color.BLACK, Color.BLUE, Color.RED, Color.PINK };
-    private JLabel difficultyLabel, colorLabel;
+    private String[] boardSizeOptions = { "Classic (30 x 30)", "Large (500 x 500)", "Huge (10,000 x 10,000)" };
+    private int[] boardSizes = { 30, 500, 10_000 };
+    private static final int POISON_STRESS_PER_APPLE = 100;
+    private static final int DIFFICULTY_COUNT = 3;              // Easy, medium and insane
+    private JLabel difficultyLabel, colorLabel, boardSizeLabel;
     private JRadioButton easyButton, mediumButton, insaneButton;
     private ButtonGroup difficultyGroup;
     private JComboBox<String> colorDropdown;
+    private JComboBox<String> boardSizeDropdown;
+    private JCheckBox activeRenderingBox;
+    private JCheckBox poisonStressBox;
     private JButton playButton, cancelButton;
     private SnakeGame snakeGame;
 
@@ -157,6 +292,17 @@ class SettingsWindow extends JPanel
         colorLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
         colorDropdown = new JComboBox<>(snakeColorOptions);
 
+        // Board size options
+        boardSizeLabel = new JLabel("Board Size:");
+        boardSizeLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+        boardSizeDropdown = new JComboBox<>(boardSizeOptions);
+
+        // Rendering options
+        activeRenderingBox = new JCheckBox("Active rendering");
+        activeRenderingBox.setAlignmentX(Component.CENTER_ALIGNMENT);
+        poisonStressBox = new JCheckBox("Poison stress (" + POISON_STRESS_PER_APPLE + " per apple)");
+        poisonStressBox.setAlignmentX(Component.CENTER_ALIGNMENT);
+
         // Play and Cancel buttons
         playButton = new JButton("Play Now");
         playButton.setAlignmentX(Component.CENTER_ALIGNMENT);
@@ -171,6 +317,10 @@ class SettingsWindow extends JPanel
         add(insaneButton);
         add(colorLabel);
         add(colorDropdown);
+        add(boardSizeLabel);
+        add(boardSizeDropdown);
+        add(activeRenderingBox);
+        add(poisonStressBox);
         add(playButton);
         add(cancelButton);
 
@@ -221,9 +371,45 @@ class SettingsWindow extends JPanel
     {
         Color snakeColor = snakeColors[colorDropdown.getSelectedIndex()];
         int difficulty = getDifficultySettings();
+        GameSettings settings = createDifficultySettings(difficulty, snakeColor);
+
+        int boardSize = boardSizes[boardSizeDropdown.getSelectedIndex()];
+        settings.setBoardSize(boardSize, boardSize);
+        settings.setDifficulty(GameSettings.Difficulty.values()[difficulty]);
+        settings.setActiveRendering(activeRenderingBox.isSelected());
+        if (poisonStressBox.isSelected()) { settings.setPoisonPerApple(POISON_STRESS_PER_APPLE); }
+        return settings;
+    }
+
 
+    /**
+     * Creates the settings of a difficulty, before the board and rendering options are applied.
+     *
+     * @param   difficulty  0 for easy, 1 for medium, 2 for insane
+     * @param   snakeColor  The color of the snake
+     * @return              Settings of the difficulty
+     */
+    static GameSettings createDifficultySettings(int difficulty, Color snakeColor)
+    {
         if (difficulty == 0) { return new GameSettings(snakeColor, 100, 0.3); }
-        else if (difficulty == 1) { return new GameSettings(snakeColor, 90, 0.4);}
+        else if (difficulty == 1) { return new GameSettings(snakeColor, 90, 0.4); }
         else { return new GameSettings(snakeColor, 80, 0.5); }
     }
-}
\ No newline at end of file
+
+
+    /**
+     * @return  Every segment size a difficulty uses, each once, for preloading images
+     */
+    static int[] getDifficultySegmentSizes()
+    {
+        int[] sizes = new int[DIFFICULTY_COUNT];
+        int count = 0;
+
+        for (int difficulty = 0; difficulty < DIFFICULTY_COUNT; difficulty++)
+        {
+            int size = createDifficultySettings(difficulty, Color.BLACK).getSegmentSize();
+            if (Arrays.stream(sizes, 0, count).noneMatch(s -> s == size)) { sizes[count++] = size; }
+        }
+        return Arrays.copyOf(sizes, count);
+    }
+}
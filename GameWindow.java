@@ -1,31 +1,53 @@
 // GameWindow.java
 
 import javax.swing.*;
-import javax.swing.Timer;
 import java.awt.*;
 import java.awt.event.*;
-import java.util.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 
 /**
  * GameWindow class is the main graphical user interface for the game.
- * It handles the game logic, rendering of the snake, consuming apples, and game over
- * mechanics
+ * It renders the snake and apples and turns keyboard input into directions.
+ * The GameEngine, which holds the game rules, is driven by a GameLoop on its own thread;
+ * this panel only reacts to its ticks and interpolates the snake between them.
+ * On boards that fit the view, the snake's body is kept in a SnakeLayer and drawn in one go.
+ * In active rendering mode an ActiveRenderer redraws only the changed cells instead.
+ * Every game is recorded, and the last one is saved to lastgame.replay for ReplayPlayer.
+ * Pressing A hands the snake to an AutopilotPlayer, and pressing it again takes it back.
+ * Pressing H shows or hides the PerformanceHud.
+ * Every tick is also handed to a SpectatorPublisher, which streams it to any viewers.
+ * Pressing V opens a SpectatorWindow that watches the game through that stream.
+ * Pressing S quick-saves a snapshot of the game to quicksave.snapshot, and pressing L, or
+ * choosing it when the game ends, restores it.
  *
  * @author Michael Nguyen
- * @version Last Modified Dec 17th, 2023
+ * @version Last Modified Oct 17th, 2026
  */
-public class GameWindow extends JPanel
+public class GameWindow extends JPanel implements GameLoop.Listener
 {
+    private static final int SPECTATOR_KEYFRAME_TICKS = 50;     // Five seconds at the slowest speed
+    private static final String QUICK_SAVE_FILE = "quicksave.snapshot";
+    private static final String REPLAY_FILE = "lastgame.replay";
+
     private GameSettings settings;
-    private Timer timer;                            // Timer for game loop
-    private Snake snake;
-    private ConsumableFood food;                    // Current consumable food
-    private ArrayList<PoisonFood> poisonApples;     // ArrayList of poison apples on the field
+    private final Path dataDirectory;               // Holds the last replay and the quick save
+    private GameEngine engine;                      // Game state and rules
+    private GameLoop loop;                          // Fixed timestep game loop thread
+    private ActiveRenderer activeRenderer;          // Only set in active rendering mode
+    private SnakeLayer snakeLayer;                  // Cached body image, only set on boards that fit the view
     private ScoreBoard scoreBoard;
-    private int score;                              // Current Score
-    private int currentDelay;                       // Current Game Delay (Lower is quicker)
-    private int lastMilestone;                      // Every 50 is a "milestone"
+    private final InputQueue input = new InputQueue();  // Key presses waiting for a tick
+    private ReplayRecorder recorder;                // Records the current game, guarded by the engine lock
+    private boolean replayable = true;              // False after a quick load; replays start from the seed
+    private volatile byte[] quickSave;              // Last quick save, or null
+    private final AutopilotPlayer autopilot = new AutopilotPlayer();    // Guarded by the engine lock
+    private volatile boolean autopilotEnabled;
+    private final PerformanceHud hud = new PerformanceHud();
+    private final SpectatorPublisher spectators;    // Guarded by the engine lock
 
 
 
@@ -37,392 +59,460 @@ public class GameWindow extends JPanel
      */
     public GameWindow(GameSettings settings, ScoreBoard scoreBoard)
     {
-        this.setPreferredSize(new Dimension(settings.getWidth(), settings.getHeight()));
+        this(settings, scoreBoard, Paths.get(""));
+    }
+
+
+    /**
+     * Constructor that keeps the last replay and the quick save in a given directory.
+     *
+     * @param   settings        The game settings
+     * @param   scoreBoard      The scoreboard
+     * @param   dataDirectory   Directory for the replay and quick save files
+     */
+    GameWindow(GameSettings settings, ScoreBoard scoreBoard, Path dataDirectory)
+    {
+        this.setPreferredSize(new Dimension(settings.getViewWidth(), settings.getViewHeight()));
         this.setFocusable(true);
 
         this.settings = settings;
-        this.currentDelay = settings.getGameDelay();
-        this.lastMilestone = 0;
+        this.dataDirectory = dataDirectory;
+        SpriteAtlas.preload(settings.getSegmentSize());        // Usually preloaded already; waits for any still loading
 
-        // Initialize ScoreBoard Object and get the score
         this.scoreBoard = scoreBoard;
-        this.score = scoreBoard.getScore();
+        this.engine = new GameEngine(settings);
+        this.recorder = new ReplayRecorder(engine);
+        this.spectators = new SpectatorPublisher(engine, SPECTATOR_KEYFRAME_TICKS);
 
-        // Sets up the snake, food, and poison apple ArrayList
-        this.snake = new Snake(settings);
-        this.food = new ConsumableFood(settings);
-        this.poisonApples = new ArrayList<>();
-        this.generateFoodPosition();
+        if (settings.isActiveRendering())
+        {
+            this.activeRenderer = new ActiveRenderer(this, engine, settings, hud);
+        }
+        else if (!settings.isScrolling())
+        {
+            this.snakeLayer = new SnakeLayer(this, engine, settings);
+        }
 
-        // Create and start timer
-        this.timer = addTimer();
-        this.timer.start();
+        // Create the game loop. It runs while the panel is on screen.
+        this.loop = new GameLoop(engine, this);
 
         this.addListeners();
+        this.readQuickSave();
     }
 
 
     /**
-     * Paints the game components including the snake, food, and poison apples.
-     *
-     * @param   g   Graphics object for drawing.
+     * Starts the game loop once the panel is shown.
      */
-    public void paintComponent(Graphics g)
+    public void addNotify()
     {
-        super.paintComponent(g);
-
-        // Draw snake
-        for (Point segment : snake.getBody())
-        {
-            g.setColor(settings.getSnakeColor());
-            g.fillRect(segment.x, segment.y, settings.getSegmentSize(), settings.getSegmentSize());
-        }
-
-        // Draw apples
-        Point foodPosition = food.getPosition();
-        g.drawImage(food.getFoodImage(), foodPosition.x, foodPosition.y, this);
-
-        // Draw poison apples
-        for (PoisonFood poisonApple : poisonApples)
-        {
-            Point poisonPosition = poisonApple.getPosition();
-            g.drawImage(poisonApple.getFoodImage(), poisonPosition.x, poisonPosition.y, this);
-        }
+        super.addNotify();
+        loop.start();
     }
 
 
     /**
-     * Creates and returns a Timer instance for the game loop.
-     * @return  Timer object for game loop
+     * Stops the game loop when the panel is removed.
      */
-    private Timer addTimer()
+    public void removeNotify()
     {
-        return new Timer(settings.getGameDelay(), new ActionListener()
-        {
-            public void actionPerformed(ActionEvent e)
-            {
-                snake.move();
+        loop.stop();
+        super.removeNotify();
+    }
 
-                Point head = snake.getHead();
 
-                // Food Consumption
-                detectFoodCollision(head);
+    /**
+     * @return  The engine holding the game state.
+     */
+    GameEngine getEngine() { return this.engine; }
 
-                // Checking collision with walls
-                detectWallCollision(head);
 
-                // Checking collision with self
-                detectSelfCollision(head);
+    /**
+     * Paints the game components including the snake, food, and poison apples, by the
+     * rules of the BoardPainter, with the snake interpolated according to how far the loop
+     * is towards the next tick.
+     *
+     * @param   g   Graphics object for drawing.
+     */
+    public void paintComponent(Graphics g)
+    {
+        StartupTimer.mark(StartupTimer.Stage.FIRST_FRAME);
+        if (activeRenderer != null && activeRenderer.paint(g)) { return; }
 
-                // Checking collision with poison apples
-                detectPoisonCollision(head);
+        long frameStart = TickProfiler.start();
+        if (snakeLayer == null) { super.paintComponent(g); }   // The layer covers the background itself
+        double alpha = loop.getInterpolation();
 
-                repaint();
-            }
-        });
+        synchronized (engine)
+        {
+            BoardPainter.paint(g, engine, getWidth(), getHeight(), alpha, snakeLayer);
+            hud.draw(g, engine);
+        }
+        TickProfiler.frameFinished(frameStart);
     }
 
 
     /**
-     * Adds key listeners for keyboard input
+     * Hands the next queued turn, or the autopilot's direction, to the next tick. The loop calls
+     * this right before every tick while holding the engine lock, so it is also where input is recorded.
+     *
+     * @return  Direction to pass to the next tick
      */
-    private void addListeners()
+    public Snake.Direction nextDirection()
     {
-        this.addKeyListener(new KeyAdapter()
+        Snake.Direction direction;
+        if (autopilotEnabled)
         {
-            public void keyPressed(KeyEvent e)
-            {
-                switch(e.getKeyCode())
-                {
-                    case KeyEvent.VK_UP     -> snake.setDirection(Snake.Direction.UP);
-                    case KeyEvent.VK_DOWN   -> snake.setDirection(Snake.Direction.DOWN);
-                    case KeyEvent.VK_LEFT   -> snake.setDirection(Snake.Direction.LEFT);
-                    case KeyEvent.VK_RIGHT  -> snake.setDirection(Snake.Direction.RIGHT);
-                }
-            }
-        });
+            input.clear();
+            direction = autopilot.decide(engine);
+        }
+        else { direction = input.poll(engine.getSnake()); }
+        recorder.record(direction);
+        hud.tickStarting();
+        return direction;
     }
 
-    // Helper Methods
 
     /**
-     * Detects collision between the snake and food. On contact, snake will grow,
-     * score increments depending on apple type, and game speed is adjusted if a milestone is reached.
-     * This method will also generate a poison apple at its set probability, and spawn a new apple.
+     * Reacts to a tick of the game loop. Runs on the loop thread, so Swing work is
+     * handed to the event dispatch thread.
      *
-     * @param   head    The current head position of the snake
+     * @param   result  What happened during the tick
      */
-    private void detectFoodCollision(Point head)
+    public void tickCompleted(TickResult result)
     {
-        Random random = new Random();
-        Point foodPosition = food.getPosition();
-        double foodDistance = distanceBetweenPoints(head.x, head.y, foodPosition.x, foodPosition.y);
+        StartupTimer.mark(StartupTimer.Stage.FIRST_TICK);
+        hud.tickFinished();
+        if (activeRenderer != null) { activeRenderer.recordTick(result); }
+        if (snakeLayer != null) { snakeLayer.recordTick(); }
+        spectators.publish();
 
-        if (foodDistance <= settings.getSegmentSize())
+        if (result.getScoreDelta() > 0)
         {
-            snake.grow();
-            increaseScore(food.getAppleType());
-            scoreBoard.setScore(score);
-
-            // Check if a new milestone (every 50 points) is reached
-            checkMilestoneReached();
-
-
-            food = new ConsumableFood(settings);
-            generateFoodPosition();
+            int score = engine.getScore();
+            SwingUtilities.invokeLater(() -> scoreBoard.setScore(score));
+        }
 
-            if (random.nextDouble() < settings.getPoisonProbability()) { generatePoisonApple(); }
+        if (result.hasDied())
+        {
+            recorder.finish(engine);
+            String message = result.isBoardFull()
+                    ? "The board is full! Your score: " + engine.getScore()
+                    : getGameEndMessage();
+            SwingUtilities.invokeLater(() -> handleGameOver(message));
         }
     }
 
 
     /**
-     * Checks if a new score milestone is reached and increases the snake's speed.
+     * Draws the next frame, or requests a repaint for it. Runs on the loop thread.
      */
-    private void checkMilestoneReached()
+    public void frameReady()
     {
-        if (score / 50 > lastMilestone)
+        if (activeRenderer != null)
         {
-            lastMilestone = score / 50;
-            increaseSpeed();
+            activeRenderer.renderFrame();
+            StartupTimer.mark(StartupTimer.Stage.FIRST_FRAME);
         }
+        else { repaint(); }
     }
 
 
     /**
-     * Detects collision of the snake with the game boundaries (walls).
-     * @param   head    The current head position of the snake
+     * Adds key listeners for keyboard input
      */
-    private void detectWallCollision(Point head)
+    private void addListeners()
     {
-        if (head.x <= 0
-                || head.x >= settings.getWidth()
-                || head.y < 0
-                || head.y >= settings.getHeight() - settings.getSegmentSize())
+        this.addKeyListener(new KeyAdapter()
         {
-            handleGameOver(getGameEndMessage());
-        }
+            public void keyPressed(KeyEvent e)
+            {
+                switch(e.getKeyCode())
+                {
+                    case KeyEvent.VK_UP     -> input.offer(Snake.Direction.UP);
+                    case KeyEvent.VK_DOWN   -> input.offer(Snake.Direction.DOWN);
+                    case KeyEvent.VK_LEFT   -> input.offer(Snake.Direction.LEFT);
+                    case KeyEvent.VK_RIGHT  -> input.offer(Snake.Direction.RIGHT);
+                    case KeyEvent.VK_A      -> toggleAutopilot();
+                    case KeyEvent.VK_H      -> toggleHud();
+                    case KeyEvent.VK_S      -> quickSave();
+                    case KeyEvent.VK_L      -> quickLoadFromKey();
+                    case KeyEvent.VK_V      -> SpectatorWindow.open(spectators, settings, GameWindow.this);
+                }
+            }
+        });
     }
 
+    // Helper Methods
 
     /**
-     * Detects collision of the snake with itself.
-     * @param   head    The current head position of the snake
+     * Turns the autopilot on or off, and its planning metrics on the overlay with it.
+     * Taking back control keeps the snake going straight until the player presses a direction.
      */
-    private void detectSelfCollision(Point head)
+    private void toggleAutopilot()
     {
-        ArrayList<Point> body = snake.getBody();
+        input.discardPending();
+        autopilotEnabled = !autopilotEnabled;
 
-        for (int i = 1; i < body.size(); i++)
+        synchronized (engine)
         {
-            if (head.equals(body.get(i)))
-            {
-                handleGameOver(getGameEndMessage());
-                break;
-            }
+            hud.setAutopilot(autopilotEnabled ? autopilot : null);
         }
+        if (hud.isVisible()) { redrawAll(); }
     }
 
 
     /**
-     * Detects collision of the snake with any of the poison apples.
-     * @param   head    The current head position of the snake
+     * Shows or hides the performance overlay.
      */
-    private void detectPoisonCollision(Point head)
+    private void toggleHud()
     {
-        for (PoisonFood poisonApple : poisonApples)
-        {
-            Point poisonPosition = poisonApple.getPosition();
-            double poisonDistance = distanceBetweenPoints(
-                    head.x, head.y, poisonPosition.x, poisonPosition.y);
-
-            if (poisonDistance < settings.getSegmentSize())
-            {
-                handleGameOver(getGameEndMessage());
-                break;
-            }
-        }
+        hud.toggle();
+        redrawAll();
     }
 
 
     /**
-     * Generates a new position for the food within the game boundaries.
+     * Redraws the whole game, so an overlay that was hidden or shrank does not leave its
+     * last frame on the screen with the active renderer.
      */
-    private void generateFoodPosition()
+    private void redrawAll()
     {
-        do
+        synchronized (engine)
         {
-            food.generateNewPosition(settings.getWidth() - 2 * settings.getSegmentSize(),
-                    settings.getHeight() - 2 * settings.getSegmentSize());
+            if (activeRenderer != null) { activeRenderer.reset(); }
+            if (snakeLayer != null) { snakeLayer.reset(); }
         }
-        while (isPositionOccupied(food.getPosition()));
+        repaint();
     }
 
 
     /**
-     * Generates a new poison apple and adds it to the game.
+     * Generates a game-ending message based on the current score.
+     * @return  Game-ending message
      */
-    private void generatePoisonApple()
+    private String getGameEndMessage()
     {
-        PoisonFood newPoisonApple;
+        int score = engine.getScore();
 
-        do
+        if (score <= 50)
         {
-            newPoisonApple = new PoisonFood(settings);
-
-            newPoisonApple.generateNewPosition(settings.getWidth() - 2 * settings.getSegmentSize(),
-                    settings.getHeight() - 2 * settings.getSegmentSize());
+            return "Are you even trying? Your score: " + score;
+        }
+        else if (score <= 100)
+        {
+            return "Not bad, kiddo! Your score: " + score;
+        }
+        else if (score <= 150)
+        {
+            return "You're getting the hang of this! Your score: " + score;
+        }
+        else if (score <= 200)
+        {
+            return "Impressive performance! Your score: " + score;
+        }
+        else
+        {
+            return "Snake master! Your score: " + score;
         }
-        while (isPositionOccupied(newPoisonApple.getPosition()));
-
-        poisonApples.add(newPoisonApple);
     }
 
 
     /**
-     * Calculates the distance between two points.
-     * @param   x1  x-coordinate of the first point
-     * @param   y1  y-coordinate of the first point
-     * @param   x2  x-coordinate of the second point
-     * @param   y2  y-coordinate of the second point
-     * @return      The distance between the two points
+     * Handles the game over scenario, updating high score and showing game over dialog.
+     * @param   message   Game over message to display
      */
-    private double distanceBetweenPoints(int x1, int y1, int x2, int y2)
+    private void handleGameOver(String message)
     {
-        // The distance between two points was used with the formula:
-            // Square Root of (x2 - x1)^2 + (y2 - y1)^2
-
-        return Math.sqrt(Math.pow(x2 - x1, 2) + Math.pow(y2 - y1, 2));
+        // The game loop paused itself when the snake died
+        scoreBoard.recordGame(engine.getScore(), engine.getSnake().getLength());
+        saveReplay();
+        showGameOverDialog(message);
     }
 
 
     /**
-     * Increases the score based on the type of apple consumed.
-     * @param   appleType   Type of the apple consumed
+     * Asks the player what to do next, until the choice succeeds.
+     * @param   message   Game over message to display
      */
-    private void increaseScore(ConsumableFood.AppleType appleType)
+    private void showGameOverDialog(String message)
     {
-        switch (appleType)
+        // Custom buttons, with a restart from the quick save if it fits these settings
+        byte[] snapshot = quickSave;
+        Object[] options = snapshot != null && engine.canRestore(snapshot)
+                ? new Object[] { "Play Again", "Load Quick Save", "Exit" }
+                : new Object[] { "Play Again", "Exit" };
+
+        int choice = JOptionPane.showOptionDialog(this, message, "Womp Womp",
+                JOptionPane.DEFAULT_OPTION, JOptionPane.QUESTION_MESSAGE, null, options, options[0]);
+
+        // Handle the player's choice
+        if (choice == 0) { restartGame(); }
+        else if (choice == 1 && options.length == 3)
         {
-            case REGULAR -> { this.score++; }
-            case RARE -> { this.score += 5; }
-            case GOLDEN ->
+            try
             {
-                this.score += 20;
-                poisonApples.clear();
+                quickLoad();
+            }
+            catch (IOException e)
+            {
+                // The snake is still dead, so ask again
+                JOptionPane.showMessageDialog(this, "Cannot load the quick save: " + e.getMessage(),
+                        "Quick Save", JOptionPane.ERROR_MESSAGE);
+                showGameOverDialog(message);
             }
         }
+        else { System.exit(0); }
     }
 
 
     /**
-     * Checks if a given position is already occupied by the snake's body or poison apples.
-     * @param position Position to check
-     * @return True if the position is occupied, false otherwise
+     * Saves the recording of the finished game to lastgame.replay in the background.
      */
-    private boolean isPositionOccupied(Point position)
+    private void saveReplay()
     {
-        // Check if the position is occupied by the snake's body
-        for (Point segment : snake.getBody())
+        byte[] replay;
+        synchronized (engine)
         {
-            if (segment.equals(position)) { return true; }
+            if (!replayable) { return; }
+            replay = recorder.toByteArray();
         }
 
-        // Check if the position is occupied by any poison apple
-        if (poisonApples != null)
+        Path file = dataDirectory.resolve(REPLAY_FILE);
+        DiskWriter.execute(() ->
         {
-            for (PoisonFood poisonApple : poisonApples)
+            try
             {
-                if (poisonApple.getPosition().equals(position)) { return true; }
+                DiskWriter.writeAtomically(file, replay);
             }
-        }
-        // Means the position is not occupied
-        return false;
+            catch (IOException e)
+            {
+                e.printStackTrace();
+            }
+        });
     }
 
 
     /**
-     * Increases the speed of the snake. Game delay will never drop below 30. (Would be too fast)
+     * Restarts the game by resetting all game components.
      */
-    private void increaseSpeed()
+    private void restartGame()
     {
-        if (currentDelay > 30)
+        synchronized (engine)
         {
-            this.currentDelay = currentDelay - 10;
-            timer.setDelay(currentDelay);
+            this.engine.reset();
+            this.recorder = new ReplayRecorder(engine);
+            this.replayable = true;
+            this.spectators.reset();
+            if (activeRenderer != null) { activeRenderer.reset(); }
+            if (snakeLayer != null) { snakeLayer.reset(); }
         }
+        this.input.discardPending();
+
+        this.scoreBoard.setScore(0);
+
+        this.loop.resume();
+        this.repaint();
     }
 
 
     /**
-     * Generates a game-ending message based on the current score.
-     * @return  Game-ending message
+     * Snapshots the running game and writes it to the quick save file in the background.
      */
-    private String getGameEndMessage()
+    private void quickSave()
     {
-        if (this.score <= 50)
-        {
-            return "Are you even trying? Your score: " + this.score;
-        }
-        else if (this.score <= 100)
+        byte[] snapshot;
+        synchronized (engine)
         {
-            return "Not bad, kiddo! Your score: " + this.score;
+            if (engine.isGameOver()) { return; }
+            snapshot = engine.saveSnapshot();
         }
-        else if (this.score <= 150)
+        quickSave = snapshot;
+
+        DiskWriter.execute(() ->
         {
-            return "You're getting the hang of this! Your score: " + this.score;
-        }
-        else if (this.score <= 200)
+            try
+            {
+                DiskWriter.writeAtomically(dataDirectory.resolve(QUICK_SAVE_FILE), snapshot);
+            }
+            catch (IOException e)
+            {
+                e.printStackTrace();
+            }
+        });
+    }
+
+
+    /**
+     * Restores the quick save while playing. A quick save that cannot be restored is
+     * reported and the game goes on.
+     */
+    private void quickLoadFromKey()
+    {
+        try
         {
-            return "Impressive performance! Your score: " + this.score;
+            quickLoad();
         }
-        else
+        catch (IOException e)
         {
-            return "Snake master! Your score: " + this.score;
+            System.err.println("Cannot load the quick save: " + e.getMessage());
         }
     }
 
 
     /**
-     * Handles the game over scenario, updating high score and showing game over dialog.
-     * @param   message   Game over message to display
+     * Restores the quick save, also after the game ended. The game goes on from the saved tick,
+     * but is no longer saved as a replay, since a replay can only start from the seed.
+     *
+     * @throws  IOException     If the quick save is malformed or was saved with other settings;
+     *                          the game is left as it was
      */
-    private void handleGameOver(String message)
+    private void quickLoad() throws IOException
     {
-        scoreBoard.checkAndUpdateHighScore(score);
+        byte[] snapshot = quickSave;
+        if (snapshot == null) { return; }
 
-        // Custom buttons
-        Object[] options = { "Play Again", "Exit" };
+        int score;
+        synchronized (engine)
+        {
+            engine.restoreSnapshot(snapshot);
 
-        int choice = JOptionPane.showOptionDialog(this, message, "Womp Womp",
-                JOptionPane.YES_NO_OPTION, JOptionPane.QUESTION_MESSAGE, null, options, options[0]);
+            this.replayable = false;
+            this.spectators.reset();
+            if (activeRenderer != null) { activeRenderer.reset(); }
+            if (snakeLayer != null) { snakeLayer.reset(); }
+            score = engine.getScore();
+        }
+        this.input.discardPending();
 
-        // Handle the player's choice
-        if (choice == JOptionPane.YES_OPTION) { restartGame(); }
-        else { System.exit(0); }
+        this.scoreBoard.setScore(score);
 
-        timer.stop();
+        this.loop.resume();
+        this.repaint();
     }
 
 
     /**
-     * Restarts the game by resetting all game components.
+     * Reads the quick save left by an earlier session in the background. One saved with other
+     * settings is kept, but never offered when the game ends.
      */
-    private void restartGame()
+    private void readQuickSave()
     {
-        // Reset Settings
-        this.currentDelay = settings.getGameDelay();
-        this.lastMilestone = 0;
-
-       // Reset the snake
-        this.snake = new Snake(settings);
-        this.generateFoodPosition();
-        this.poisonApples.clear();
-
-        this.scoreBoard.setScore(0);
-        this.score = scoreBoard.getScore();
+        DiskWriter.execute(() ->
+        {
+            try
+            {
+                Path file = dataDirectory.resolve(QUICK_SAVE_FILE);
+                if (!Files.exists(file)) { return; }
 
-        this.timer = addTimer();
-        this.timer.start();
+                // A quick save made in this session meanwhile is newer
+                byte[] snapshot = Files.readAllBytes(file);
+                if (quickSave == null) { quickSave = snapshot; }
+            }
+            catch (IOException e)
+            {
+                // No quick save to offer
+            }
+        });
     }
-}
\ No newline at end of file
+}
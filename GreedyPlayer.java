@@ -0,0 +1,100 @@
+// GreedyPlayer.java
+
+/**
+ * The GreedyPlayer class is a simple scripted player for headless games.
+ * Each tick it turns towards the food, choosing among the moves that do not
+ * immediately hit a wall, the snake or a poison apple. It never reverses.
+ *
+ * @author Michael Nguyen
+ * @version Last Modified Oct 17th, 2026
+ */
+public class GreedyPlayer
+{
+    private static final Snake.Direction[] DIRECTIONS = Snake.Direction.values();
+
+
+    /**
+     * Something that can end a snake's game, such as a wall or a body.
+     */
+    interface Hazards
+    {
+        /**
+         * @return  True if moving a head onto the position would kill the snake.
+         */
+        boolean isDeadly(int x, int y);
+    }
+
+
+    /**
+     * Chooses the next direction for the snake.
+     *
+     * @param   engine  The game being played
+     * @return          Direction for the next tick
+     */
+    public Snake.Direction decide(GameEngine engine)
+    {
+        ConsumableFood food = engine.getFood();
+        return steer(engine.getSnake(), food.getX(), food.getY(), engine.getSettings().getSegmentSize(), engine::isDeadly);
+    }
+
+
+    /**
+     * Chooses the safe move that gets a snake closest to a target.
+     *
+     * @param   snake       The snake to steer
+     * @param   targetX     x-coordinate of the target in pixels
+     * @param   targetY     y-coordinate of the target in pixels
+     * @param   size        Segment size in pixels
+     * @param   hazards     What the snake must not run into
+     * @return              Direction for the next tick, straight on if every move is deadly
+     */
+    static Snake.Direction steer(Snake snake, int targetX, int targetY, int size, Hazards hazards)
+    {
+        Snake.Direction best = snake.getDirection();
+        int bestDistance = Integer.MAX_VALUE;
+
+        for (Snake.Direction direction : DIRECTIONS)
+        {
+            if (isReverse(direction, snake.getDirection())) { continue; }
+
+            int x = snake.getHeadX() + dx(direction) * size;
+            int y = snake.getHeadY() + dy(direction) * size;
+            if (hazards.isDeadly(x, y)) { continue; }
+
+            int distance = Math.abs(targetX - x) + Math.abs(targetY - y);
+            if (distance < bestDistance)
+            {
+                best = direction;
+                bestDistance = distance;
+            }
+        }
+        return best;
+    }
+
+
+    // Helper Methods
+
+    /**
+     * @return  Column step of a direction
+     */
+    static int dx(Snake.Direction direction)
+    {
+        return direction == Snake.Direction.LEFT ? -1 : direction == Snake.Direction.RIGHT ? 1 : 0;
+    }
+
+    /**
+     * @return  Row step of a direction
+     */
+    static int dy(Snake.Direction direction)
+    {
+        return direction == Snake.Direction.UP ? -1 : direction == Snake.Direction.DOWN ? 1 : 0;
+    }
+
+    /**
+     * @return  True if the two directions are opposite
+     */
+    static boolean isReverse(Snake.Direction a, Snake.Direction b)
+    {
+        return dx(a) == -dx(b) && dy(a) == -dy(b);
+    }
+}
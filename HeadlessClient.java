@@ -0,0 +1,416 @@
+// HeadlessClient.java
+
+import java.awt.Color;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The HeadlessClient class is a stand-in for a real multiplayer client. It connects to a
+ * GameServer, rebuilds the arena from the keyframes and deltas it receives, steers its seat
+ * towards an apple while avoiding the walls and bodies it knows about, and checks its copy
+ * against the state hash at the end of every delta.
+ *
+ * Its main method runs a whole session over loopback: it starts a server, connects a number
+ * of clients to one room, plays for a while, and reports what was received and whether any
+ * client fell out of sync.
+ *
+ * Usage: java HeadlessClient [clients] [seconds] [seatsPerRoom] [boardCells] [gameDelay]
+ *
+ * @author Michael Nguyen
+ * @version Last Modified Oct 17th, 2026
+ */
+public class HeadlessClient implements Closeable
+{
+    private static final Snake.Direction[] DIRECTIONS = Snake.Direction.values();
+
+    private final SocketChannel channel;
+    private final ByteBuffer outbound = ByteBuffer.allocate(64);
+    private ByteBuffer inbound = ByteBuffer.allocate(4096).limit(0);     // Holds unread bytes between position and limit
+
+    // Arena as rebuilt from the server's frames
+    private int seat = -1;
+    private int columns;
+    private int rows;
+    private List<ArrayDeque<Integer>> bodies;  // Cells of every snake, head first; null when dead
+    private int[] scores;
+    private int[] foods;                        // Cell of every apple slot, or -1
+    private byte[] occupied;                    // Snake segments and poison apples on every cell
+    private final List<Integer> poison = new ArrayList<>();
+    private long tick;
+    private int[] hashHeads;
+    private int[] hashLengths;
+
+    // Statistics
+    private long framesReceived;
+    private long bytesReceived;
+    private long keyframes;
+    private long mismatches;
+
+
+    /**
+     * Connects to a server and joins a room.
+     *
+     * @param   address     The server
+     * @param   room        Name of the room to join
+     */
+    public HeadlessClient(InetSocketAddress address, String room) throws IOException
+    {
+        this.channel = SocketChannel.open(address);
+        this.channel.socket().setTcpNoDelay(true);
+
+        ArenaProtocol.writeJoin(outbound, room);
+        flush();
+    }
+
+
+    // Getter Methods
+
+    /**
+     * @return  This client's seat, or -1 while only watching
+     */
+    public int getSeat() { return this.seat; }
+
+    /**
+     * @return  Tick of the last frame applied
+     */
+    public long getTick() { return this.tick; }
+
+    /**
+     * @return  Frames received
+     */
+    public long getFramesReceived() { return this.framesReceived; }
+
+    /**
+     * @return  Bytes received, frame headers included
+     */
+    public long getBytesReceived() { return this.bytesReceived; }
+
+    /**
+     * @return  Keyframes received
+     */
+    public long getKeyframes() { return this.keyframes; }
+
+    /**
+     * @return  Deltas after which this client's copy did not match the server's hash
+     */
+    public long getMismatches() { return this.mismatches; }
+
+    /**
+     * @return  Score of a seat
+     */
+    public int getScore(int seat) { return this.scores[seat]; }
+
+
+    /**
+     * Blocks until one frame arrives, and applies it.
+     *
+     * @return  Type of the frame
+     */
+    public byte readFrame() throws IOException
+    {
+        fill(4);
+        int length = inbound.getInt(inbound.position());
+        if (length < 1 || length > ArenaProtocol.MAX_FRAME_BYTES) { throw new IOException("Bad frame length " + length); }
+
+        fill(4 + length);
+        inbound.getInt();
+        byte type = inbound.get();
+        int end = inbound.position() + length - 1;
+
+        switch (type)
+        {
+            case ArenaProtocol.WELCOME -> readWelcome(inbound);
+            case ArenaProtocol.KEYFRAME -> readKeyframe(inbound);
+            case ArenaProtocol.DELTA -> readDelta(inbound);
+            default -> throw new IOException("Unexpected frame type " + type);
+        }
+        if (inbound.position() != end) { throw new IOException("Frame " + type + " has trailing bytes"); }
+
+        framesReceived++;
+        bytesReceived += 4 + length;
+        return type;
+    }
+
+
+    /**
+     * Sends a turn for this client's snake.
+     */
+    public void sendTurn(Snake.Direction direction) throws IOException
+    {
+        ArenaProtocol.writeInput(outbound, direction);
+        flush();
+    }
+
+
+    /**
+     * Picks a turn from the rebuilt arena: towards an apple, unless that runs into a wall, a
+     * body or poison, in which case any safe way will do.
+     *
+     * @return  The turn, or null if the seat is empty, dead, or has no safe move
+     */
+    public Snake.Direction chooseTurn()
+    {
+        if (seat < 0 || bodies == null || bodies.get(seat) == null) { return null; }
+
+        int head = bodies.get(seat).peekFirst();
+        int target = foods[seat % foods.length];
+        Snake.Direction best = null;
+        int bestDistance = Integer.MAX_VALUE;
+
+        for (Snake.Direction direction : DIRECTIONS)
+        {
+            int x = head % columns + GreedyPlayer.dx(direction);
+            int y = head / columns + GreedyPlayer.dy(direction);
+
+            // Same walls as the arena: the first column and the last row are out
+            if (x <= 0 || x >= columns || y < 0 || y >= rows - 1 || occupied[x + y * columns] > 0) { continue; }
+
+            int distance = target < 0 ? 0 : Math.abs(x - target % columns) + Math.abs(y - target / columns);
+            if (distance < bestDistance)
+            {
+                best = direction;
+                bestDistance = distance;
+            }
+        }
+        return best;
+    }
+
+
+    @Override
+    public void close() throws IOException
+    {
+        channel.close();
+    }
+
+
+    public static void main(String[] args) throws Exception
+    {
+        int clientCount = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int seats = args.length > 2 ? Integer.parseInt(args[2]) : 16;
+        int boardCells = args.length > 3 ? Integer.parseInt(args[3]) : 60;
+        int gameDelay = args.length > 4 ? Integer.parseInt(args[4]) : 20;
+
+        GameSettings settings = new GameSettings(Color.BLACK, gameDelay, 0.3);
+        settings.setBoardSize(boardCells, boardCells);
+
+        try (GameServer server = new GameServer(new InetSocketAddress("127.0.0.1", 0), settings, seats))
+        {
+            server.start();
+            InetSocketAddress address = new InetSocketAddress("127.0.0.1", server.getPort());
+            long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+
+            HeadlessClient[] clients = new HeadlessClient[clientCount];
+            Thread[] threads = new Thread[clientCount];
+            for (int i = 0; i < clientCount; i++)
+            {
+                HeadlessClient client = new HeadlessClient(address, "loopback");
+                clients[i] = client;
+                threads[i] = new Thread(() -> client.play(deadline), "headless-client-" + i);
+                threads[i].start();
+            }
+            for (Thread thread : threads) { thread.join(); }
+
+            long frames = 0, bytes = 0, keyframes = 0, mismatches = 0, ticks = 0;
+            for (HeadlessClient client : clients)
+            {
+                frames += client.getFramesReceived();
+                bytes += client.getBytesReceived();
+                keyframes += client.getKeyframes();
+                mismatches += client.getMismatches();
+                ticks = Math.max(ticks, client.getTick());
+                client.close();
+            }
+
+            System.out.printf("%d clients, %d seats on %d x %d cells, %d ms ticks, %d s%n",
+                    clientCount, seats, boardCells, boardCells, gameDelay, seconds);
+            System.out.printf("%,d ticks played%n", ticks);
+            System.out.printf("%,d frames (%,d keyframes), %,d bytes, %.1f bytes per frame per client%n",
+                    frames, keyframes, bytes, (double) bytes / Math.max(1, frames));
+            System.out.printf("%,d state hash mismatches%n", mismatches);
+        }
+    }
+
+
+    // Helper Methods
+
+    /**
+     * Reads frames and answers every tick with a turn until the deadline.
+     */
+    private void play(long deadline)
+    {
+        try
+        {
+            while (System.nanoTime() < deadline)
+            {
+                if (readFrame() == ArenaProtocol.DELTA)
+                {
+                    Snake.Direction turn = chooseTurn();
+                    if (turn != null) { sendTurn(turn); }
+                }
+            }
+        }
+        catch (IOException e)
+        {
+            System.err.println("Client on seat " + seat + " disconnected: " + e.getMessage());
+        }
+    }
+
+
+    private void readWelcome(ByteBuffer in) throws IOException
+    {
+        seat = Varint.readInt(in) - 1;
+        columns = Varint.readInt(in);
+        rows = Varint.readInt(in);
+        int seatCount = Varint.readInt(in);
+        int foodCount = Varint.readInt(in);
+
+        bodies = new ArrayList<>(Collections.nCopies(seatCount, null));
+        scores = new int[seatCount];
+        foods = new int[foodCount];
+        occupied = new byte[columns * rows];
+        hashHeads = new int[seatCount];
+        hashLengths = new int[seatCount];
+    }
+
+
+    private void readKeyframe(ByteBuffer in) throws IOException
+    {
+        tick = Varint.read(in);
+        Arrays.fill(occupied, (byte) 0);
+        poison.clear();
+
+        for (int i = 0; i < bodies.size(); i++)
+        {
+            bodies.set(i, null);
+            if (in.get() == 0) { continue; }
+
+            int length = Varint.readInt(in);
+            ArrayDeque<Integer> body = new ArrayDeque<>(length);
+            bodies.set(i, body);
+            for (int segment = 0; segment < length; segment++)
+            {
+                int cell = Varint.readInt(in);
+                body.addLast(cell);
+                occupied[cell]++;
+            }
+        }
+        for (int i = 0; i < scores.length; i++) { scores[i] = Varint.readInt(in); }
+        for (int slot = 0; slot < foods.length; slot++) { foods[slot] = readFood(in); }
+
+        int poisonCount = Varint.readInt(in);
+        for (int i = 0; i < poisonCount; i++) { addPoison(Varint.readInt(in)); }
+
+        keyframes++;
+    }
+
+
+    private void readDelta(ByteBuffer in) throws IOException
+    {
+        tick = Varint.read(in);
+
+        for (int event = Varint.readInt(in); event != ArenaProtocol.END; event = Varint.readInt(in))
+        {
+            switch (event)
+            {
+                case ArenaProtocol.HEAD ->
+                {
+                    int snake = Varint.readInt(in);
+                    int cell = Varint.readInt(in);
+                    bodies.get(snake).addFirst(cell);
+                    occupied[cell]++;
+                }
+                case ArenaProtocol.TAIL -> occupied[bodies.get(Varint.readInt(in)).removeLast()]--;
+                case ArenaProtocol.DIED ->
+                {
+                    int snake = Varint.readInt(in);
+                    for (int cell : bodies.get(snake)) { occupied[cell]--; }
+                    bodies.set(snake, null);
+                }
+                case ArenaProtocol.FOOD -> foods[Varint.readInt(in)] = readFood(in);
+                case ArenaProtocol.POISON -> addPoison(Varint.readInt(in));
+                case ArenaProtocol.POISON_CLEARED ->
+                {
+                    for (int cell : poison) { occupied[cell]--; }
+                    poison.clear();
+                }
+                case ArenaProtocol.SCORE -> scores[Varint.readInt(in)] = Varint.readInt(in);
+                default -> throw new IOException("Unknown delta event " + event);
+            }
+        }
+
+        if (in.getLong() != stateHash()) { mismatches++; }
+    }
+
+
+    /**
+     * @return  Cell of an apple slot, or -1 if it is empty
+     */
+    private static int readFood(ByteBuffer in) throws IOException
+    {
+        int cell = Varint.readInt(in) - 1;
+        if (cell >= 0) { in.get(); }            // The type only matters for drawing
+        return cell;
+    }
+
+
+    private void addPoison(int cell)
+    {
+        poison.add(cell);
+        occupied[cell]++;
+    }
+
+
+    /**
+     * @return  Hash of the rebuilt arena, computed like ArenaProtocol.DeltaEncoder.stateHash()
+     */
+    private long stateHash()
+    {
+        for (int i = 0; i < bodies.size(); i++)
+        {
+            ArrayDeque<Integer> body = bodies.get(i);
+            hashHeads[i] = body == null ? -1 : body.peekFirst();
+            hashLengths[i] = body == null ? 0 : body.size();
+        }
+        return ArenaProtocol.stateHash(tick, hashHeads, hashLengths, scores, foods, poison.size());
+    }
+
+
+    /**
+     * Reads from the socket until the buffer holds at least the given number of bytes.
+     */
+    private void fill(int bytes) throws IOException
+    {
+        if (inbound.capacity() < bytes)
+        {
+            // Grow for a large keyframe, keeping what was already read
+            ByteBuffer larger = ByteBuffer.allocate(bytes * 2);
+            larger.put(inbound).flip();
+            inbound = larger;
+        }
+
+        while (inbound.remaining() < bytes)
+        {
+            inbound.compact();
+            if (channel.read(inbound) < 0) { throw new EOFException("Server closed the connection"); }
+            inbound.flip();
+        }
+    }
+
+
+    private void flush() throws IOException
+    {
+        outbound.flip();
+        while (outbound.hasRemaining()) { channel.write(outbound); }
+        outbound.clear();
+    }
+}
@@ -0,0 +1,209 @@
+// HighScoreStore.java
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The HighScoreStore class keeps the leaderboard file up to date without blocking the game.
+ * The file is opened and read on the DiskWriter thread, and finished games are written behind:
+ * any number of games recorded before the writer gets to them are inserted together and
+ * reach the disk with a single force.
+ *
+ * A high score left in the old single-number text file is imported once, when the
+ * leaderboard file is first created, into the table of the default settings.
+ *
+ * @author Michael Nguyen
+ * @version Last Modified Oct 17th, 2026
+ */
+public class HighScoreStore
+{
+    private final Path file;
+    private final Path legacyFile;          // Old single-number high score file, or null
+    private final ConcurrentLinkedQueue<Session> pendingSessions = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean writeQueued = new AtomicBoolean();
+    private CompletableFuture<LeaderboardStore> opened;
+    private LeaderboardStore leaderboard;   // Only touched on the DiskWriter thread
+
+
+    /**
+     * Constructor
+     *
+     * @param   file    The leaderboard file
+     */
+    public HighScoreStore(Path file)
+    {
+        this(file, null);
+    }
+
+
+    /**
+     * Constructor
+     *
+     * @param   file        The leaderboard file
+     * @param   legacyFile  Old high score text file to import when the leaderboard is created
+     */
+    public HighScoreStore(Path file, Path legacyFile)
+    {
+        this.file = file;
+        this.legacyFile = legacyFile;
+    }
+
+
+    /**
+     * Starts opening the leaderboard in the background. Later calls return the same result.
+     *
+     * @return  The open leaderboard, or null if it could not be opened
+     */
+    public synchronized CompletableFuture<LeaderboardStore> open()
+    {
+        if (opened == null)
+        {
+            opened = CompletableFuture.supplyAsync(this::openLeaderboard, DiskWriter.executor());
+        }
+        return opened;
+    }
+
+
+    /**
+     * Reads the best score recorded with the given settings in the background.
+     *
+     * @param   settings    The game settings
+     * @return              The best score, or 0 if there is none
+     */
+    public CompletableFuture<Integer> loadHighScore(GameSettings settings)
+    {
+        long profileId = settings.getProfileId();
+        int difficulty = settings.getDifficulty().ordinal();
+
+        return open().thenApply(store ->
+                store == null ? 0 : store.getBestScore(profileId, difficulty));
+    }
+
+
+    /**
+     * Queues a finished game to be recorded. Returns immediately.
+     *
+     * @param   settings    The settings the game was played with
+     * @param   score       Final score
+     * @param   length      Final snake length
+     */
+    public void record(GameSettings settings, int score, int length)
+    {
+        pendingSessions.add(new Session(settings.getProfileId(), settings.getDifficulty().ordinal(),
+                System.currentTimeMillis(), score, length));
+
+        if (writeQueued.compareAndSet(false, true))
+        {
+            DiskWriter.execute(this::writePendingSessions);
+        }
+    }
+
+
+    // Helper Methods
+
+    /**
+     * Opens the leaderboard file, importing the legacy high score into a new one.
+     * Runs on the DiskWriter thread.
+     */
+    private LeaderboardStore openLeaderboard()
+    {
+        if (leaderboard != null) { return leaderboard; }
+
+        try
+        {
+            boolean created = !Files.exists(file);
+            leaderboard = LeaderboardStore.open(file);
+
+            if (created && legacyFile != null) { importLegacyScore(); }
+        }
+        catch (IOException e)
+        {
+            e.printStackTrace();
+        }
+        return leaderboard;
+    }
+
+
+    /**
+     * Inserts the score of the old text file into the table of the default settings.
+     */
+    private void importLegacyScore()
+    {
+        try
+        {
+            String text = new String(Files.readAllBytes(legacyFile), StandardCharsets.UTF_8).trim();
+            int score = text.isEmpty() ? 0 : Integer.parseInt(text);
+
+            if (score > 0)
+            {
+                GameSettings defaults = new GameSettings();
+                defaults.setDifficulty(GameSettings.Difficulty.EASY);
+
+                // The old file kept no length or date
+                leaderboard.insert(defaults.getProfileId(), defaults.getDifficulty().ordinal(),
+                        Files.getLastModifiedTime(legacyFile).toMillis(), score, 0);
+                leaderboard.force();
+            }
+        }
+        catch (NoSuchFileException e)
+        {
+            // Nothing to import
+        }
+        catch (IOException | NumberFormatException e)
+        {
+            e.printStackTrace();
+        }
+    }
+
+
+    /**
+     * Inserts every pending game and forces the file once. Runs on the DiskWriter thread.
+     */
+    private void writePendingSessions()
+    {
+        writeQueued.set(false);
+
+        LeaderboardStore store = openLeaderboard();
+        if (store == null)
+        {
+            pendingSessions.clear();
+            return;
+        }
+
+        Session session;
+        int inserted = 0;
+        while ((session = pendingSessions.poll()) != null)
+        {
+            store.insert(session.profileId, session.difficulty, session.timestamp, session.score, session.length);
+            inserted++;
+        }
+
+        if (inserted > 0) { store.force(); }
+    }
+
+
+    /**
+     * A finished game waiting to be recorded.
+     */
+    private static final class Session
+    {
+        final long profileId;
+        final int difficulty;
+        final long timestamp;
+        final int score;
+        final int length;
+
+        Session(long profileId, int difficulty, long timestamp, int score, int length)
+        {
+            this.profileId = profileId;
+            this.difficulty = difficulty;
+            this.timestamp = timestamp;
+            this.score = score;
+            this.length = length;
+        }
+    }
+}
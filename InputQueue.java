@@ -0,0 +1,101 @@
+// InputQueue.java
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The InputQueue class carries direction key presses from the event dispatch thread to the
+ * game loop. It is a bounded single-producer, single-consumer ring buffer: the event thread
+ * only ever writes the tail and the loop thread only ever writes the head, so neither side
+ * takes a lock or allocates.
+ *
+ * Each tick takes at most one turn. Presses that would not change the snake's direction, or
+ * would reverse it into its own neck, are dropped; any presses after the accepted one stay
+ * queued for the following ticks, so two quick turns are both played instead of the first
+ * being lost. Every press is timestamped, and the wait from press to tick is profiled.
+ *
+ * @author Michael Nguyen
+ * @version Last Modified Oct 17th, 2026
+ */
+public class InputQueue
+{
+    private static final int CAPACITY = 16;     // Must be a power of two
+    private static final Snake.Direction[] DIRECTIONS = Snake.Direction.values();
+
+    private final byte[] directions = new byte[CAPACITY];
+    private final long[] timestamps = new long[CAPACITY];
+    private final AtomicLong head = new AtomicLong();   // Next slot to read, written by the consumer
+    private final AtomicLong tail = new AtomicLong();   // Next slot to write, written by the producer
+    private volatile long discardBefore = Long.MIN_VALUE;
+
+
+    /**
+     * Queues a key press. Called only on the producer thread.
+     *
+     * @param   direction   The direction pressed
+     * @return              False if the queue was full and the press was dropped
+     */
+    public boolean offer(Snake.Direction direction)
+    {
+        long slot = tail.get();
+        if (slot - head.get() == CAPACITY) { return false; }
+
+        int index = (int) slot & (CAPACITY - 1);
+        directions[index] = (byte) direction.ordinal();
+        timestamps[index] = System.nanoTime();
+
+        // Publish the entry only once it is fully written
+        tail.lazySet(slot + 1);
+        return true;
+    }
+
+
+    /**
+     * Drops every press queued so far, for example when a game restarts.
+     * Called only on the producer thread; the consumer skips the entries.
+     */
+    public void discardPending()
+    {
+        discardBefore = System.nanoTime();
+    }
+
+
+    /**
+     * Takes the next valid turn for a snake. Called only on the consumer thread, once per tick.
+     *
+     * @param   snake   The snake about to move
+     * @return          The turn to apply this tick, or null to keep going straight
+     */
+    public Snake.Direction poll(Snake snake)
+    {
+        long slot = head.get();
+        long end = tail.get();
+        Snake.Direction turn = null;
+
+        while (slot < end && turn == null)
+        {
+            int index = (int) slot & (CAPACITY - 1);
+            Snake.Direction direction = DIRECTIONS[directions[index]];
+            long timestamp = timestamps[index];
+            slot++;
+
+            if (timestamp > discardBefore && snake.canTurn(direction))
+            {
+                turn = direction;
+                TickProfiler.record(TickProfiler.Phase.INPUT, timestamp);
+            }
+        }
+
+        // Free the read slots for the producer
+        head.lazySet(slot);
+        return turn;
+    }
+
+
+    /**
+     * Drops every press queued so far. Called only on the consumer thread.
+     */
+    public void clear()
+    {
+        head.lazySet(tail.get());
+    }
+}
@@ -0,0 +1,133 @@
+// LatencyHistogram.java
+
+import java.util.Arrays;
+
+/**
+ * The LatencyHistogram class records durations in nanoseconds with log-linear buckets,
+ * in the style of HdrHistogram. Each power of two is split into 32 buckets, so any value from
+ * a nanosecond to several minutes is kept within about 3% using a few kilobytes, and
+ * recording is a couple of shifts and an array increment.
+ *
+ * Not thread-safe. Each histogram should have one writer; readers on other threads see
+ * approximate values.
+ *
+ * @author Michael Nguyen
+ * @version Last Modified Oct 17th, 2026
+ */
+public class LatencyHistogram
+{
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_MAGNITUDE = 40;        // Values up to 2^40 ns, about 18 minutes
+
+    private final long[] counts = new long[(MAX_MAGNITUDE - SUB_BUCKET_BITS + 2) * SUB_BUCKETS];
+    private long total;
+    private long sum;
+    private long max;
+
+
+    /**
+     * Adds a sample. Negative values count as zero.
+     *
+     * @param   nanos   Duration in nanoseconds
+     */
+    public void record(long nanos)
+    {
+        long value = Math.max(0, nanos);
+
+        counts[Math.min(bucketOf(value), counts.length - 1)]++;
+        total++;
+        sum += value;
+        max = Math.max(max, value);
+    }
+
+
+    /**
+     * Adds every sample of another histogram.
+     */
+    public void merge(LatencyHistogram other)
+    {
+        for (int i = 0; i < counts.length; i++) { counts[i] += other.counts[i]; }
+
+        total += other.total;
+        sum += other.sum;
+        max = Math.max(max, other.max);
+    }
+
+
+    /**
+     * Removes every sample.
+     */
+    public void reset()
+    {
+        Arrays.fill(counts, 0);
+        total = 0;
+        sum = 0;
+        max = 0;
+    }
+
+
+    /**
+     * @return  Number of samples
+     */
+    public long getCount() { return this.total; }
+
+    /**
+     * @return  Mean of the samples in nanoseconds
+     */
+    public double getMean() { return total == 0 ? 0.0 : (double) sum / total; }
+
+    /**
+     * @return  Largest sample in nanoseconds
+     */
+    public long getMax() { return this.max; }
+
+
+    /**
+     * @param   fraction    Fraction of samples at or below the result, from 0.0 to 1.0
+     * @return              Upper bound in nanoseconds of the bucket holding that percentile
+     */
+    public long getPercentile(double fraction)
+    {
+        long target = (long) Math.ceil(fraction * total);
+        long seen = 0;
+
+        for (int i = 0; i < counts.length; i++)
+        {
+            seen += counts[i];
+            if (seen >= target && seen > 0)
+            {
+                return Math.min(upperBoundOf(i), max);
+            }
+        }
+        return max;
+    }
+
+
+    // Helper Methods
+
+    /**
+     * Values below 32 get a bucket each. Above that, the top bit picks a group of 32 buckets
+     * and the next five bits pick the bucket inside it.
+     */
+    private static int bucketOf(long value)
+    {
+        if (value < SUB_BUCKETS) { return (int) value; }
+
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * @return  Largest value that falls in a bucket
+     */
+    private static long upperBoundOf(int bucket)
+    {
+        if (bucket < SUB_BUCKETS) { return bucket; }
+
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lowerBound = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return lowerBound + (1L << shift) - 1;
+    }
+}
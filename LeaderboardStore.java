@@ -0,0 +1,345 @@
+// LeaderboardStore.java
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * The LeaderboardStore class keeps sorted top-N score tables in a fixed-layout binary file
+ * that is memory-mapped, so reads come straight from the page cache and nothing but a small
+ * table directory is ever loaded onto the heap. There is one table per difficulty and
+ * settings profile (see GameSettings.getProfileId()).
+ *
+ * File layout, big-endian:
+ *   header (64 bytes):    magic "SNKL", version, records per table, max tables, table count, sessions seen
+ *   directory:            max tables x (8-byte profile id, 4-byte difficulty, 4-byte record count)
+ *   tables:               max tables x records per table x (8-byte timestamp, 4-byte score, 4-byte length)
+ *
+ * Records in a table are sorted by score, highest first; equal scores keep their arrival order.
+ * An insert finds its rank with a binary search and shifts at most one table of fixed size.
+ * A score too low for a full table is rejected after one comparison, so batch runs with
+ * hundreds of thousands of sessions cost almost nothing per session.
+ *
+ * All methods are synchronized. Changes reach the disk on force().
+ *
+ * @author Michael Nguyen
+ * @version Last Modified Oct 17th, 2026
+ */
+public class LeaderboardStore implements Closeable
+{
+    public static final int DEFAULT_RECORDS_PER_TABLE = 100;
+    public static final int DEFAULT_MAX_TABLES = 256;
+
+    private static final int MAGIC = 0x534E4B4C;        // "SNKL"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int DIRECTORY_ENTRY_SIZE = 16;
+    private static final int RECORD_SIZE = 16;
+
+    // Header offsets
+    private static final int RECORDS_PER_TABLE_OFFSET = 8;
+    private static final int MAX_TABLES_OFFSET = 12;
+    private static final int TABLE_COUNT_OFFSET = 16;
+    private static final int SESSIONS_OFFSET = 24;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int recordsPerTable;
+    private final int maxTables;
+    private final Map<TableKey, Integer> tableIndex = new HashMap<>();   // (profile, difficulty) -> table number
+
+
+    /**
+     * Opens a leaderboard file, creating it with the default layout if it does not exist.
+     *
+     * @param   file    The leaderboard file
+     * @return          The opened store
+     */
+    public static LeaderboardStore open(Path file) throws IOException
+    {
+        return new LeaderboardStore(file, DEFAULT_RECORDS_PER_TABLE, DEFAULT_MAX_TABLES);
+    }
+
+
+    /**
+     * Constructor opens or creates a leaderboard file. An existing file keeps its own layout.
+     *
+     * @param   file                The leaderboard file
+     * @param   recordsPerTable     Records kept per table when creating the file
+     * @param   maxTables           Number of tables when creating the file
+     * @throws  IOException         If the file is not a leaderboard, or its header or directory is damaged
+     */
+    public LeaderboardStore(Path file, int recordsPerTable, int maxTables) throws IOException
+    {
+        this.channel = FileChannel.open(file, CREATE, READ, WRITE);
+
+        try
+        {
+            boolean created = channel.size() == 0;
+
+            if (!created)
+            {
+                // Read the layout of the existing file from its header
+                MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+                if (header.getInt(0) != MAGIC) { throw new IOException("Not a leaderboard file: " + file); }
+                if (header.getInt(4) != VERSION) { throw new IOException("Unsupported leaderboard version"); }
+
+                recordsPerTable = header.getInt(RECORDS_PER_TABLE_OFFSET);
+                maxTables = header.getInt(MAX_TABLES_OFFSET);
+            }
+
+            this.recordsPerTable = recordsPerTable;
+            this.maxTables = maxTables;
+
+            // Offsets are ints, so the whole file must fit in one mapping
+            long size = HEADER_SIZE + (long) maxTables * DIRECTORY_ENTRY_SIZE
+                    + (long) maxTables * recordsPerTable * RECORD_SIZE;
+            if (recordsPerTable <= 0 || maxTables <= 0 || size > Integer.MAX_VALUE)
+            {
+                throw new IOException("Bad leaderboard layout: " + maxTables + " tables of " + recordsPerTable);
+            }
+            if (!created && channel.size() != size) { throw new IOException("Leaderboard file has the wrong size"); }
+
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+
+            if (created)
+            {
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(4, VERSION);
+                buffer.putInt(RECORDS_PER_TABLE_OFFSET, recordsPerTable);
+                buffer.putInt(MAX_TABLES_OFFSET, maxTables);
+                buffer.force();
+            }
+
+            // Only the directory is read onto the heap, after checking it against the layout
+            int tableCount = getTableCount();
+            if (tableCount < 0 || tableCount > maxTables) { throw new IOException("Bad leaderboard table count: " + tableCount); }
+
+            for (int table = 0; table < tableCount; table++)
+            {
+                int entry = directoryOffset(table);
+                int records = getRecordCount(table);
+                if (records < 0 || records > recordsPerTable) { throw new IOException("Bad leaderboard record count: " + records); }
+
+                TableKey key = new TableKey(buffer.getLong(entry), buffer.getInt(entry + 8));
+                if (tableIndex.put(key, table) != null) { throw new IOException("Leaderboard table listed twice: " + key); }
+            }
+        }
+        catch (IOException | RuntimeException e)
+        {
+            channel.close();
+            throw e;
+        }
+    }
+
+
+    /**
+     * Records a finished session.
+     *
+     * @param   profileId   Settings profile of the game
+     * @param   difficulty  Difficulty of the game
+     * @param   timestamp   When the game ended, in milliseconds since the epoch
+     * @param   score       Final score
+     * @param   length      Final snake length
+     * @return              The rank the session got in its table, or -1 if it did not make the table
+     */
+    public synchronized int insert(long profileId, int difficulty, long timestamp, int score, int length)
+    {
+        buffer.putLong(SESSIONS_OFFSET, buffer.getLong(SESSIONS_OFFSET) + 1);
+
+        int table = findOrCreateTable(profileId, difficulty);
+        if (table < 0) { return -1; }
+
+        int count = getRecordCount(table);
+        if (count == recordsPerTable && score <= getScore(table, count - 1)) { return -1; }
+
+        int rank = findRank(table, count, score);
+
+        // Shift the lower records down one place, dropping the last one if the table is full
+        int last = Math.min(count, recordsPerTable - 1);
+        for (int i = last; i > rank; i--)
+        {
+            int from = recordOffset(table, i - 1);
+            int to = recordOffset(table, i);
+            buffer.putLong(to, buffer.getLong(from));
+            buffer.putLong(to + 8, buffer.getLong(from + 8));
+        }
+
+        int offset = recordOffset(table, rank);
+        buffer.putLong(offset, timestamp);
+        buffer.putInt(offset + 8, score);
+        buffer.putInt(offset + 12, length);
+
+        if (count < recordsPerTable) { buffer.putInt(directoryOffset(table) + 12, count + 1); }
+        return rank;
+    }
+
+
+    /**
+     * @return  The best score of a table, or 0 if it has no records
+     */
+    public synchronized int getBestScore(long profileId, int difficulty)
+    {
+        Integer table = tableIndex.get(new TableKey(profileId, difficulty));
+        return table == null || getRecordCount(table) == 0 ? 0 : getScore(table, 0);
+    }
+
+
+    /**
+     * @return  Number of records in a table
+     */
+    public synchronized int getRecordCount(long profileId, int difficulty)
+    {
+        Integer table = tableIndex.get(new TableKey(profileId, difficulty));
+        return table == null ? 0 : getRecordCount(table);
+    }
+
+
+    /**
+     * @return  Score of the record at a rank, 0 being the best
+     */
+    public synchronized int getScore(long profileId, int difficulty, int rank)
+    {
+        return getScore(requireTable(profileId, difficulty, rank), rank);
+    }
+
+
+    /**
+     * @return  Snake length of the record at a rank, 0 being the best
+     */
+    public synchronized int getLength(long profileId, int difficulty, int rank)
+    {
+        return buffer.getInt(recordOffset(requireTable(profileId, difficulty, rank), rank) + 12);
+    }
+
+
+    /**
+     * @return  Timestamp of the record at a rank, 0 being the best
+     */
+    public synchronized long getTimestamp(long profileId, int difficulty, int rank)
+    {
+        return buffer.getLong(recordOffset(requireTable(profileId, difficulty, rank), rank));
+    }
+
+
+    /**
+     * @return  Number of sessions ever inserted, including those that did not make a table
+     */
+    public synchronized long getSessionCount() { return buffer.getLong(SESSIONS_OFFSET); }
+
+
+    /**
+     * Writes every change to the disk.
+     */
+    public synchronized void force() { buffer.force(); }
+
+
+    /**
+     * Writes every change to the disk and closes the file.
+     */
+    public synchronized void close() throws IOException
+    {
+        buffer.force();
+        channel.close();
+    }
+
+
+    // Helper Methods
+
+    /**
+     * @return  Number of tables in use
+     */
+    private int getTableCount() { return buffer.getInt(TABLE_COUNT_OFFSET); }
+
+    /**
+     * @return  Number of records in a table
+     */
+    private int getRecordCount(int table) { return buffer.getInt(directoryOffset(table) + 12); }
+
+    /**
+     * @return  Score of a record
+     */
+    private int getScore(int table, int rank) { return buffer.getInt(recordOffset(table, rank) + 8); }
+
+    /**
+     * @return  Offset of a table's directory entry
+     */
+    private int directoryOffset(int table) { return HEADER_SIZE + table * DIRECTORY_ENTRY_SIZE; }
+
+    /**
+     * @return  Offset of a record
+     */
+    private int recordOffset(int table, int rank)
+    {
+        return HEADER_SIZE + maxTables * DIRECTORY_ENTRY_SIZE + (table * recordsPerTable + rank) * RECORD_SIZE;
+    }
+
+
+    /**
+     * Finds the table of a profile and difficulty, adding it to the directory if needed.
+     *
+     * @return  The table number, or -1 if every table is taken
+     */
+    private int findOrCreateTable(long profileId, int difficulty)
+    {
+        Integer existing = tableIndex.get(new TableKey(profileId, difficulty));
+        if (existing != null) { return existing; }
+
+        int table = getTableCount();
+        if (table == maxTables) { return -1; }
+
+        int entry = directoryOffset(table);
+        buffer.putLong(entry, profileId);
+        buffer.putInt(entry + 8, difficulty);
+        buffer.putInt(entry + 12, 0);
+        buffer.putInt(TABLE_COUNT_OFFSET, table + 1);
+
+        tableIndex.put(new TableKey(profileId, difficulty), table);
+        return table;
+    }
+
+
+    /**
+     * Binary search for the rank of a new score: after every record with a score at least as high.
+     */
+    private int findRank(int table, int count, int score)
+    {
+        int low = 0;
+        int high = count;
+
+        while (low < high)
+        {
+            int middle = (low + high) >>> 1;
+            if (getScore(table, middle) >= score) { low = middle + 1; }
+            else { high = middle; }
+        }
+        return low;
+    }
+
+
+    /**
+     * Key of a table in the directory map.
+     */
+    private record TableKey(long profileId, int difficulty) { }
+
+
+    /**
+     * @return  The table holding a rank
+     * @throws  IndexOutOfBoundsException   If the table has no record at that rank
+     */
+    private int requireTable(long profileId, int difficulty, int rank)
+    {
+        Integer table = tableIndex.get(new TableKey(profileId, difficulty));
+        if (table == null || rank < 0 || rank >= getRecordCount(table))
+        {
+            throw new IndexOutOfBoundsException("No record at rank " + rank);
+        }
+        return table;
+    }
+}
@@ -0,0 +1,345 @@
+// PerformanceHud.java
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+
+/**
+ * The PerformanceHud class is an overlay showing how the game is running: ticks per second
+ * against the target set by the current delay, frames per second, the last and the p99 tick
+ * time, the snake's length, the number of poison apples, and how fast the game loop and
+ * painting threads allocate. While the autopilot drives, two more lines show its mean and
+ * p99 planning time and the cells it expands per decision.
+ *
+ * Tick figures are gathered on the game loop thread and frame figures on the painting
+ * thread, over one-second windows. Drawing reuses one char buffer and writes numbers into it
+ * digit by digit, and the translucent background is drawn once into an image (filling it
+ * directly allocates in the software pipeline), so showing the overlay does not allocate
+ * per frame.
+ *
+ * @author Michael Nguyen
+ * @version Last Modified Oct 17th, 2026
+ */
+public class PerformanceHud
+{
+    private static final long WINDOW_NANOS = 1_000_000_000L;
+    private static final int LINE_HEIGHT = 14;
+    private static final int LINES = 5;
+    private static final int AUTOPILOT_LINES = 2;
+    private static final Color BACKGROUND = new Color(0, 0, 0, 160);
+    private static final Font FONT = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+
+    private static final char[] TPS = "TPS ".toCharArray();
+    private static final char[] TARGET = " / ".toCharArray();
+    private static final char[] FPS = "FPS ".toCharArray();
+    private static final char[] TICK = "Tick ".toCharArray();
+    private static final char[] P99 = " us  p99 ".toCharArray();
+    private static final char[] MICROS = " us".toCharArray();
+    private static final char[] LENGTH = "Length ".toCharArray();
+    private static final char[] POISON = "  Poison ".toCharArray();
+    private static final char[] ALLOC = "Alloc ".toCharArray();
+    private static final char[] KB_PER_SECOND = " KB/s".toCharArray();
+    private static final char[] UNAVAILABLE = "n/a".toCharArray();
+    private static final char[] AUTOPILOT = "Auto ".toCharArray();
+    private static final char[] NODES = "Nodes ".toCharArray();
+    private static final char[] PER_DECISION = " per move".toCharArray();
+
+    private final com.sun.management.ThreadMXBean threads;
+    private final Rectangle bounds = new Rectangle(4, 4, 190, LINES * LINE_HEIGHT + 6);
+    private final char[] line = new char[64];
+    private final BufferedImage background;           // Tall enough for the autopilot lines
+    private volatile boolean visible;
+    private volatile long shownAt;                      // When the overlay was last shown; windows start there
+    private AutopilotPlayer autopilot;                  // Shown while set, guarded by the engine lock
+
+    // Tick window, written on the game loop thread
+    private final LatencyHistogram tickTimes = new LatencyHistogram();
+    private long tickWindowStart;
+    private long tickStart;
+    private int ticksInWindow;
+    private volatile long loopThreadId = -1;
+    private volatile int ticksPerSecondTimesTen;
+    private volatile long lastTickNanos;
+    private volatile long p99TickNanos;
+
+    // Frame window, written on the painting thread
+    private long frameWindowStart;
+    private int framesInWindow;
+    private int framesPerSecond;
+    private long allocatedBytes = -1;
+    private long allocationRate = -1;       // Bytes per second, -1 if unknown
+
+
+    /**
+     * Constructor. Allocation is measured only if the JVM supports it.
+     */
+    public PerformanceHud()
+    {
+        com.sun.management.ThreadMXBean threads = null;
+
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported())
+        {
+            threads = bean;
+            threads.setThreadAllocatedMemoryEnabled(true);
+        }
+        this.threads = threads;
+
+        int maxHeight = (LINES + AUTOPILOT_LINES) * LINE_HEIGHT + 6;
+        this.background = new BufferedImage(bounds.width, maxHeight, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = background.createGraphics();
+        g.setColor(BACKGROUND);
+        g.fillRect(0, 0, bounds.width, maxHeight);
+        g.dispose();
+    }
+
+
+    /**
+     * @return  True if the overlay is shown
+     */
+    public boolean isVisible() { return this.visible; }
+
+    /**
+     * Shows or hides the overlay. Showing it starts new tick and frame windows, so the first
+     * figures cover only the time it has been shown.
+     */
+    public void toggle()
+    {
+        if (!visible) { shownAt = System.nanoTime(); }
+        visible = !visible;
+    }
+
+    /**
+     * @return  The area the overlay covers. Do not modify.
+     */
+    public Rectangle getBounds() { return this.bounds; }
+
+
+    /**
+     * Shows the planning metrics of an autopilot, or stops showing them. The overlay grows
+     * or shrinks to fit, so redraw what was under it. Call while holding the engine lock.
+     *
+     * @param   autopilot   The autopilot driving the snake, or null
+     */
+    public void setAutopilot(AutopilotPlayer autopilot)
+    {
+        this.autopilot = autopilot;
+        bounds.height = (LINES + (autopilot != null ? AUTOPILOT_LINES : 0)) * LINE_HEIGHT + 6;
+    }
+
+
+    /**
+     * Marks the start of a tick. Runs on the game loop thread. The time is taken even while
+     * the overlay is hidden, so a tick during which it is shown is still timed whole.
+     */
+    public void tickStarting()
+    {
+        tickStart = System.nanoTime();
+    }
+
+
+    /**
+     * Marks the end of a tick and rolls the tick window over every second.
+     * Runs on the game loop thread.
+     */
+    public void tickFinished()
+    {
+        if (!visible) { return; }
+
+        long now = System.nanoTime();
+        startTickWindow();
+        loopThreadId = Thread.currentThread().getId();
+        lastTickNanos = now - tickStart;
+        tickTimes.record(lastTickNanos);
+        ticksInWindow++;
+
+        if (now - tickWindowStart >= WINDOW_NANOS)
+        {
+            ticksPerSecondTimesTen = (int) (ticksInWindow * 10 * WINDOW_NANOS / (now - tickWindowStart));
+            p99TickNanos = tickTimes.getPercentile(0.99);
+
+            tickTimes.reset();
+            ticksInWindow = 0;
+            tickWindowStart = now;
+        }
+    }
+
+
+    /**
+     * Draws the overlay in the top-left corner. Call while holding the engine lock,
+     * on the thread that paints.
+     *
+     * @param   g       Graphics object for drawing, untranslated
+     * @param   engine  The game being shown
+     */
+    public void draw(Graphics g, GameEngine engine)
+    {
+        if (!visible) { return; }
+
+        countFrame();
+
+        g.drawImage(background, bounds.x, bounds.y, bounds.x + bounds.width, bounds.y + bounds.height,
+                0, 0, bounds.width, bounds.height, null);
+        g.setColor(Color.WHITE);
+        g.setFont(FONT);
+
+        int x = bounds.x + 6;
+        int y = bounds.y + LINE_HEIGHT;
+
+        // Effective against target ticks per second
+        int length = append(line, 0, TPS);
+        length = appendTenths(line, length, ticksPerSecondTimesTen);
+        length = append(line, length, TARGET);
+        length = appendTenths(line, length, 10_000 / engine.getCurrentDelay());
+        g.drawChars(line, 0, length, x, y);
+
+        length = append(line, 0, FPS);
+        length = appendNumber(line, length, framesPerSecond);
+        g.drawChars(line, 0, length, x, y += LINE_HEIGHT);
+
+        length = append(line, 0, TICK);
+        length = appendNumber(line, length, lastTickNanos / 1000);
+        length = append(line, length, P99);
+        length = appendNumber(line, length, p99TickNanos / 1000);
+        length = append(line, length, MICROS);
+        g.drawChars(line, 0, length, x, y += LINE_HEIGHT);
+
+        length = append(line, 0, LENGTH);
+        length = appendNumber(line, length, engine.getSnake().getLength());
+        length = append(line, length, POISON);
+        length = appendNumber(line, length, engine.getPoisonCount());
+        g.drawChars(line, 0, length, x, y += LINE_HEIGHT);
+
+        length = append(line, 0, ALLOC);
+        if (allocationRate < 0) { length = append(line, length, UNAVAILABLE); }
+        else
+        {
+            length = appendNumber(line, length, allocationRate / 1024);
+            length = append(line, length, KB_PER_SECOND);
+        }
+        g.drawChars(line, 0, length, x, y += LINE_HEIGHT);
+
+        if (autopilot == null) { return; }
+
+        length = append(line, 0, AUTOPILOT);
+        length = appendNumber(line, length, Math.round(autopilot.getMeanPlanningMicros()));
+        length = append(line, length, P99);
+        length = appendNumber(line, length, autopilot.getPlanningMicrosPercentile(0.99));
+        length = append(line, length, MICROS);
+        g.drawChars(line, 0, length, x, y += LINE_HEIGHT);
+
+        length = append(line, 0, NODES);
+        length = appendNumber(line, length, autopilot.getNodesExpanded() / Math.max(1, autopilot.getDecisionCount()));
+        length = append(line, length, PER_DECISION);
+        g.drawChars(line, 0, length, x, y += LINE_HEIGHT);
+    }
+
+
+    // Helper Methods
+
+    /**
+     * Counts a frame, and once a second works out the frame rate and the allocation rate.
+     */
+    private void countFrame()
+    {
+        long now = System.nanoTime();
+
+        // Start counting from when the overlay was shown, not from the last time it was
+        long shown = shownAt;
+        if (frameWindowStart < shown)
+        {
+            frameWindowStart = shown;
+            framesInWindow = 0;
+            allocatedBytes = -1;            // The loop thread may not be known yet, so the rate starts next window
+        }
+        framesInWindow++;
+
+        if (now - frameWindowStart < WINDOW_NANOS) { return; }
+
+        framesPerSecond = (int) (framesInWindow * WINDOW_NANOS / (now - frameWindowStart));
+
+        long allocated = sampleAllocatedBytes();
+        allocationRate = allocatedBytes < 0 || allocated < 0
+                ? -1 : (allocated - allocatedBytes) * WINDOW_NANOS / (now - frameWindowStart);
+        allocatedBytes = allocated;
+
+        framesInWindow = 0;
+        frameWindowStart = now;
+    }
+
+
+    /**
+     * Starts a new tick window if the overlay was shown since the current one started.
+     * Runs on the game loop thread.
+     */
+    private void startTickWindow()
+    {
+        long shown = shownAt;
+        if (tickWindowStart >= shown) { return; }
+
+        tickWindowStart = shown;
+        ticksInWindow = 0;
+        tickTimes.reset();
+    }
+
+
+    /**
+     * @return  Bytes allocated so far by the game loop and painting threads, or -1 if unknown
+     */
+    private long sampleAllocatedBytes()
+    {
+        if (threads == null) { return -1; }
+
+        long paintThreadId = Thread.currentThread().getId();
+        long loopThread = loopThreadId;
+        long bytes = threads.getThreadAllocatedBytes(paintThreadId);
+
+        if (loopThread >= 0 && loopThread != paintThreadId) { bytes += threads.getThreadAllocatedBytes(loopThread); }
+        return bytes;
+    }
+
+
+    /**
+     * Copies characters into the line buffer.
+     *
+     * @return  Length of the line so far
+     */
+    private static int append(char[] buffer, int length, char[] text)
+    {
+        System.arraycopy(text, 0, buffer, length, text.length);
+        return length + text.length;
+    }
+
+
+    /**
+     * Writes a non-negative number into the line buffer.
+     *
+     * @return  Length of the line so far
+     */
+    private static int appendNumber(char[] buffer, int length, long value)
+    {
+        int digits = 1;
+        for (long rest = value / 10; rest > 0; rest /= 10) { digits++; }
+
+        for (int i = length + digits - 1; i >= length; i--)
+        {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return length + digits;
+    }
+
+
+    /**
+     * Writes a number given in tenths with one decimal place.
+     *
+     * @return  Length of the line so far
+     */
+    private static int appendTenths(char[] buffer, int length, int tenths)
+    {
+        length = appendNumber(buffer, length, tenths / 10);
+        buffer[length++] = '.';
+        buffer[length++] = (char) ('0' + tenths % 10);
+        return length;
+    }
+}
@@ -0,0 +1,173 @@
+// ReplayPlayer.java
+
+import java.awt.Color;
+import java.io.*;
+import java.nio.file.*;
+
+/**
+ * The ReplayPlayer class re-simulates a game recorded by ReplayRecorder as fast as
+ * the engine can tick, and checks that the outcome is identical to the original.
+ *
+ * Usage: java ReplayPlayer file.replay [more files...]
+ *
+ * @author Michael Nguyen
+ * @version Last Modified Oct 17th, 2026
+ */
+public class ReplayPlayer
+{
+    public static void main(String[] args) throws IOException
+    {
+        for (String file : args)
+        {
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(Paths.get(file))))
+            {
+                Result result = replay(in);
+
+                System.out.printf("%s: %,d ticks, score %d, length %d, %s in %.2f ms%n", file,
+                        result.getTicks(), result.getScore(), result.getLength(),
+                        result.matches() ? "identical" : "MISMATCH", result.getNanos() / 1e6);
+            }
+        }
+    }
+
+
+    /**
+     * Replays a recording.
+     *
+     * @param   in  Stream positioned at the start of a recording
+     * @return      Outcome of the replay
+     */
+    public static Result replay(InputStream in) throws IOException
+    {
+        return replay(in, null);
+    }
+
+
+    /**
+     * Replays a recording, handing the engine to an observer after every tick.
+     *
+     * @param   in          Stream positioned at the start of a recording
+     * @param   observer    Called after every tick, or null
+     * @return              Outcome of the replay
+     */
+    public static Result replay(InputStream in, TickObserver observer) throws IOException
+    {
+        DataInputStream data = new DataInputStream(in);
+
+        if (data.readInt() != ReplayRecorder.MAGIC) { throw new IOException("Not a replay file"); }
+        int version = data.readUnsignedByte();
+        if (version != ReplayRecorder.VERSION) { throw new IOException("Unsupported replay version " + version); }
+
+        int width = Varint.readInt(data);
+        int height = Varint.readInt(data);
+        int gameDelay = Varint.readInt(data);
+        double poisonProbability = data.readDouble();
+        double regularProbability = data.readDouble();
+        double rareProbability = data.readDouble();
+        int poisonPerApple = Varint.readInt(data);
+        long seed = data.readLong();
+
+        GameSettings settings = new GameSettings(Color.BLACK, gameDelay, poisonProbability, width, height);
+        settings.setAppleProbabilities(regularProbability, rareProbability);
+        settings.setPoisonPerApple(poisonPerApple);
+
+        Snake.Direction[] directions = Snake.Direction.values();
+        GameEngine engine = new GameEngine(settings, seed);
+        if (observer != null) { observer.tickCompleted(engine, null); }
+
+        long start = System.nanoTime();
+        long ticks = 0;
+
+        while (true)
+        {
+            long plainTicks = Varint.read(data);
+            int event = data.readUnsignedByte();
+
+            for (long i = 0; i < plainTicks; i++)
+            {
+                TickResult result = engine.tick(null);
+                if (observer != null) { observer.tickCompleted(engine, result); }
+            }
+            ticks += plainTicks;
+
+            if (event == ReplayRecorder.END_OF_INPUT) { break; }
+            if (event >= directions.length) { throw new IOException("Bad direction " + event); }
+
+            TickResult result = engine.tick(directions[event]);
+            if (observer != null) { observer.tickCompleted(engine, result); }
+            ticks++;
+        }
+
+        long nanos = System.nanoTime() - start;
+
+        int score = Varint.readInt(data);
+        int length = Varint.readInt(data);
+        long stateHash = data.readLong();
+
+        boolean matches = score == engine.getScore()
+                && length == engine.getSnake().getLength()
+                && stateHash == engine.getStateHash();
+
+        return new Result(ticks, engine.getScore(), engine.getSnake().getLength(), matches, nanos);
+    }
+
+
+    /**
+     * Receives the engine after every replayed tick, for example to render frames.
+     */
+    public interface TickObserver
+    {
+        /**
+         * @param   engine  The engine after the tick
+         * @param   result  What happened during the tick, or null for the initial state
+         */
+        void tickCompleted(GameEngine engine, TickResult result);
+    }
+
+
+    /**
+     * Outcome of a replay.
+     */
+    public static class Result
+    {
+        private final long ticks;
+        private final int score;
+        private final int length;
+        private final boolean matches;
+        private final long nanos;
+
+        Result(long ticks, int score, int length, boolean matches, long nanos)
+        {
+            this.ticks = ticks;
+            this.score = score;
+            this.length = length;
+            this.matches = matches;
+            this.nanos = nanos;
+        }
+
+        /**
+         * @return  Number of ticks replayed
+         */
+        public long getTicks() { return this.ticks; }
+
+        /**
+         * @return  Final score of the replay
+         */
+        public int getScore() { return this.score; }
+
+        /**
+         * @return  Final snake length of the replay
+         */
+        public int getLength() { return this.length; }
+
+        /**
+         * @return  True if the replay ended in exactly the recorded state
+         */
+        public boolean matches() { return this.matches; }
+
+        /**
+         * @return  Time spent ticking, in nanoseconds
+         */
+        public long getNanos() { return this.nanos; }
+    }
+}
@@ -0,0 +1,157 @@
+// ReplayRecorder.java
+
+import java.io.*;
+import java.nio.file.*;
+
+/**
+ * The ReplayRecorder class records a game as its settings, its seed and the stream of
+ * directions given to each tick. Because every random decision comes from the seeded
+ * GameRandom, ReplayPlayer can re-simulate the game exactly from this record.
+ *
+ * File layout (all counts are varints, see Varint):
+ *   "SNKR", version byte
+ *   width, height, game delay, then poison, regular and rare probabilities as 8-byte doubles
+ *   poison apples per apple
+ *   8-byte seed
+ *   events: ticks without a new direction since the previous event, then a direction byte
+ *           (ordinal, or 0xFF for the end). The event itself is one more tick, except the end.
+ *   final score, final snake length, 8-byte state hash
+ *
+ * Only ticks that change the direction produce an event, so a whole game is usually a few hundred bytes.
+ *
+ * @author Michael Nguyen
+ * @version Last Modified Oct 17th, 2026
+ */
+public class ReplayRecorder
+{
+    static final int MAGIC = 0x534E4B52;        // "SNKR"
+    static final int VERSION = 2;     // 2 added poison per apple, and golden apples reclaim poison cells lazily
+    static final int END_OF_INPUT = 0xFF;
+
+    private final ByteArrayOutputStream bytes;
+    private final DataOutputStream out;
+    private Snake.Direction lastDirection;      // Last direction written as an event
+    private long ticksSinceEvent;
+    private boolean finished;
+
+
+    /**
+     * Starts a recording. Call right after the engine starts a new game.
+     *
+     * @param   engine  The engine about to be ticked
+     */
+    public ReplayRecorder(GameEngine engine)
+    {
+        this.bytes = new ByteArrayOutputStream(256);
+        this.out = new DataOutputStream(bytes);
+
+        try
+        {
+            GameSettings settings = engine.getSettings();
+
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            Varint.write(out, settings.getWidth());
+            Varint.write(out, settings.getHeight());
+            Varint.write(out, settings.getGameDelay());
+            out.writeDouble(settings.getPoisonProbability());
+            out.writeDouble(settings.getRegularProbability());
+            out.writeDouble(settings.getRareProbability());
+            Varint.write(out, settings.getPoisonPerApple());
+            out.writeLong(engine.getSeed());
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);      // Cannot happen with an in-memory stream
+        }
+    }
+
+
+    /**
+     * Records the direction passed to the next tick. Call exactly once per tick.
+     *
+     * @param   direction   Direction given to GameEngine.tick(), or null
+     */
+    public void record(Snake.Direction direction)
+    {
+        if (finished) { return; }
+
+        // Repeating the last direction changes nothing, so only changes are written
+        if (direction != null && direction != lastDirection)
+        {
+            writeEvent(direction.ordinal());
+            lastDirection = direction;
+            ticksSinceEvent = 0;
+        }
+        else
+        {
+            ticksSinceEvent++;
+        }
+    }
+
+
+    /**
+     * Ends the recording and stores the outcome used to verify replays.
+     *
+     * @param   engine  The engine after its last tick
+     */
+    public void finish(GameEngine engine)
+    {
+        if (finished) { return; }
+        finished = true;
+
+        try
+        {
+            writeEvent(END_OF_INPUT);
+            Varint.write(out, engine.getScore());
+            Varint.write(out, engine.getSnake().getLength());
+            out.writeLong(engine.getStateHash());
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+
+    /**
+     * @return  True once finish() was called
+     */
+    public boolean isFinished() { return this.finished; }
+
+
+    /**
+     * @return  The encoded recording
+     */
+    public byte[] toByteArray() { return bytes.toByteArray(); }
+
+
+    /**
+     * Writes the recording to a file, replacing it.
+     *
+     * @param   file    Destination file
+     */
+    public void writeTo(Path file) throws IOException
+    {
+        Files.write(file, bytes.toByteArray());
+    }
+
+
+    // Helper Methods
+
+    /**
+     * Writes the ticks since the last event followed by an event byte.
+     */
+    private void writeEvent(int event)
+    {
+        try
+        {
+            Varint.write(out, ticksSinceEvent);
+            out.writeByte(event);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
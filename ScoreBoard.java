@@ -2,30 +2,32 @@
 
 import javax.swing.*;
 import java.awt.*;
-import java.io.*;
-import java.util.*;
 
 /**
  * The ScoreBoard class is responsible for displaying and managing the current score
- * and the high score within the game. It reads and updates the high score from a file.
+ * and the high score within the game. The high score is the best on the leaderboard for
+ * the current difficulty and settings, read and recorded through a HighScoreStore,
+ * which does the file I/O in the background.
  *
  * @author Michael Nguyen
- * @version Last Modified Dec 10th, 2023
+ * @version Last Modified Oct 17th, 2026
  */
 public class ScoreBoard extends JPanel
 {
     private GameSettings settings;
+    private HighScoreStore highScoreStore;
     private JLabel currentScoreLabel;
     private JLabel highScoreLabel;
     private int highScore;
     private int score;
 
 
-    public ScoreBoard(GameSettings settings)
+    public ScoreBoard(GameSettings settings, HighScoreStore highScoreStore)
     {
         this.settings = settings;
+        this.highScoreStore = highScoreStore;
         this.score = 0;
-        this.highScore = readHighScore(); // Read the initial high score from file
+        this.highScore = 0;
         this.setBackground(Color.LIGHT_GRAY);
 
         // Current score label on the left (west)
@@ -36,7 +38,10 @@ public class ScoreBoard extends JPanel
         highScoreLabel = new JLabel("High Score: " + highScore);
         add(highScoreLabel, BorderLayout.EAST);
 
-        this.setPreferredSize(new Dimension(settings.getWidth(), 30));
+        this.setPreferredSize(new Dimension(settings.getViewWidth(), 30));
+
+        // Show the stored high score once it has been read
+        highScoreStore.loadHighScore(settings).thenAccept(stored -> SwingUtilities.invokeLater(() -> showHighScore(stored)));
     }
 
 
@@ -58,66 +63,34 @@ public class ScoreBoard extends JPanel
 
 
     /**
-     * Reads the high score from a file
-     *
-     * @return The high score read from the file or 0 if not found.
-     */
-    private int readHighScore()
-    {
-        try {
-
-            File file = new File("highscore.txt");
-
-            Scanner scanner = new Scanner(file);
-
-            int highScore = scanner.hasNextInt() ? scanner.nextInt() : 0;
-            scanner.close();
-
-            return highScore;
-
-        }
-        catch (FileNotFoundException e)
-        {
-            e.printStackTrace();
-            return 0;
-        }
-    }
-
-
-    /**
-     * Writes the high score to a file.
+     * Records a finished game on the leaderboard. If the provided score is higher than the
+     * current high score, updates the high score label.
      *
-     * @param highScore The high score to write.
+     * @param score  The final score of the game.
+     * @param length The final length of the snake.
      */
-    private void writeHighScore(int highScore)
+    public void recordGame(int score, int length)
     {
-        try
-        {
-            PrintWriter writer = new PrintWriter("highscore.txt");
-
-            writer.println(highScore);
-            writer.close();
-        }
-        catch (IOException e)
+        if (score > highScore)
         {
-            e.printStackTrace();
+            highScore = score;
+            highScoreLabel.setText("High Score: " + highScore);
         }
+        highScoreStore.record(settings, score, length);    // Update the leaderboard in the background
     }
 
 
     /**
-     * Checks and updates the high score. If the provided score is higher than the current high score,
-     * updates the high score label and writes the new high score to the file.
+     * Shows the high score loaded from the file, unless a better one was already set.
      *
-     * @param score The current score to check against the high score.
+     * @param stored The high score read from the file.
      */
-    public void checkAndUpdateHighScore(int score)
+    private void showHighScore(int stored)
     {
-        if (score > highScore)
+        if (stored > highScore)
         {
-            highScore = score;
+            highScore = stored;
             highScoreLabel.setText("High Score: " + highScore);
-            writeHighScore(highScore); // Update high score file
         }
     }
 }
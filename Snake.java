@@ -1,8 +1,5 @@
 // Snake.java
 
-import java.awt.*;
-import java.util.*;
-
 /**
  * The Snake class is responsible for managing the state of the snake.
  * The class provides functionality to move and grow.
@@ -13,44 +10,212 @@ import java.util.*;
 public class Snake
 {
     public enum Direction { UP, DOWN, LEFT, RIGHT };
+    private static final int INITIAL_CAPACITY = 64;     // Must be a power of two
     private GameSettings settings;
+    private BoardGrid grid;     // Occupancy index kept up to date as the snake moves
     private Direction direction;
-    private final Point head;
-    private final ArrayList<Point> body;
-    private Point newTail;  // Stores the position of where the last segment of the snake's body was
+    private int headX;          // Current position of the snake's head
+    private int headY;
+    private int[] bodyX;        // Ring buffer of segment x coordinates
+    private int[] bodyY;        // Ring buffer of segment y coordinates
+    private int headIndex;      // Slot of the head inside the ring buffer
+    private int length;         // Number of segments, including the head
+    private boolean tailVacated;    // True if the last move left the old tail cell empty
+
+
+    public Snake(GameSettings settings, BoardGrid grid)
+    {
+        // The head starts near the middle of the game window, with one extra segment up and left of it
+        this(settings, grid, settings.getWidth() / 2, settings.getHeight() / 2,
+                settings.getWidth() / 2 - settings.getSegmentSize(),
+                settings.getHeight() / 2 - settings.getSegmentSize(), Direction.RIGHT);
+    }
+
+
+    /**
+     * Creates a two-segment snake at a given position, with its tail right behind the head.
+     *
+     * @param settings  The game settings
+     * @param grid      Occupancy index of the board
+     * @param headX     x coordinate of the head
+     * @param headY     y coordinate of the head
+     * @param direction The direction the snake starts moving in
+     */
+    public Snake(GameSettings settings, BoardGrid grid, int headX, int headY, Direction direction)
+    {
+        this(settings, grid, headX, headY,
+                headX - stepX(direction) * settings.getSegmentSize(),
+                headY - stepY(direction) * settings.getSegmentSize(), direction);
+    }
 
 
-    public Snake(GameSettings settings)
+    private Snake(GameSettings settings, BoardGrid grid, int headX, int headY, int tailX, int tailY,
+            Direction direction)
     {
         this.settings = settings;
-        this.direction = Direction.RIGHT;
-        this.head = createHead();
+        this.grid = grid;
+        this.direction = direction;
+        this.headX = headX;
+        this.headY = headY;
 
-        this.body = new ArrayList<>();
+        this.bodyX = new int[INITIAL_CAPACITY];
+        this.bodyY = new int[INITIAL_CAPACITY];
 
         // Start the snake off with its head and one extra segment.
-        this.body.add(new Point(this.head.x, this.head.y));
-        this.body.add(new Point(this.head.x - settings.getSegmentSize(),
-                this.head.y - settings.getSegmentSize()));
+        this.bodyX[0] = tailX;
+        this.bodyY[0] = tailY;
+        this.bodyX[1] = this.headX;
+        this.bodyY[1] = this.headY;
+        this.headIndex = 1;
+        this.length = 2;
+
+        grid.addSnake(bodyX[0], bodyY[0]);
+        grid.addSnake(bodyX[1], bodyY[1]);
+    }
+
+
+    /**
+     * Recreates a saved snake, for example from a snapshot.
+     *
+     * @param settings      The game settings
+     * @param grid          Occupancy index of the board
+     * @param segmentX      x coordinates of the segments, head first, followed by the vacated tail if there is one
+     * @param segmentY      y coordinates, in the same order
+     * @param length        Number of segments, including the head
+     * @param tailVacated   True if the last move dropped the tail
+     * @param direction     The direction the snake is moving in
+     */
+    public Snake(GameSettings settings, BoardGrid grid, int[] segmentX, int[] segmentY, int length,
+            boolean tailVacated, Direction direction)
+    {
+        this.settings = settings;
+        this.grid = grid;
+        this.direction = direction;
+        this.headX = segmentX[0];
+        this.headY = segmentY[0];
+
+        // Keep one spare slot for the next move
+        int capacity = INITIAL_CAPACITY;
+        while (capacity <= length) { capacity *= 2; }
+        this.bodyX = new int[capacity];
+        this.bodyY = new int[capacity];
+
+        // The head goes in slot length and the tail in slot 1, leaving slot 0 for the vacated tail
+        this.headIndex = length;
+        this.length = length;
+        this.tailVacated = tailVacated;
+
+        int saved = tailVacated ? length + 1 : length;
+        for (int i = 0; i < saved; i++)
+        {
+            this.bodyX[length - i] = segmentX[i];
+            this.bodyY[length - i] = segmentY[i];
+        }
+        for (int i = 0; i < length; i++) { grid.addSnake(segmentX[i], segmentY[i]); }
     }
 
     // Getter Methods
 
     /**
-     * @return The current position of the snake's head.
+     * @return The current x coordinate of the snake's head.
      */
-    public Point getHead()
+    public int getHeadX()
     {
-        return this.head;
+        return this.headX;
     }
 
 
     /**
-     * @return The snake's body as an ArrayList of Point objects.
+     * @return The current y coordinate of the snake's head.
      */
-    public ArrayList<Point> getBody()
+    public int getHeadY()
     {
-        return this.body;
+        return this.headY;
+    }
+
+
+    /**
+     * @return The direction the snake is moving in.
+     */
+    public Direction getDirection()
+    {
+        return this.direction;
+    }
+
+
+    /**
+     * @return The number of segments in the snake, including the head.
+     */
+    public int getLength()
+    {
+        return this.length;
+    }
+
+
+    /**
+     * Gets the x coordinate of a body segment without copying the body.
+     *
+     * @param index Segment index, where 0 is the head and getLength() - 1 is the tail.
+     * @return      The x coordinate of the segment.
+     */
+    public int getSegmentX(int index)
+    {
+        return this.bodyX[slotOf(index)];
+    }
+
+
+    /**
+     * Gets the y coordinate of a body segment without copying the body.
+     *
+     * @param index Segment index, where 0 is the head and getLength() - 1 is the tail.
+     * @return      The y coordinate of the segment.
+     */
+    public int getSegmentY(int index)
+    {
+        return this.bodyY[slotOf(index)];
+    }
+
+
+    /**
+     * @return True if the last move dropped the tail instead of growing.
+     */
+    public boolean hasVacatedTail()
+    {
+        return this.tailVacated;
+    }
+
+
+    /**
+     * Only meaningful when hasVacatedTail() is true.
+     * @return The x coordinate of the cell the tail left on the last move.
+     */
+    public int getVacatedTailX()
+    {
+        return this.bodyX[slotOf(length)];
+    }
+
+
+    /**
+     * Only meaningful when hasVacatedTail() is true.
+     * @return The y coordinate of the cell the tail left on the last move.
+     */
+    public int getVacatedTailY()
+    {
+        return this.bodyY[slotOf(length)];
+    }
+
+
+    /**
+     * Checks whether a new direction is a real turn: not the current direction,
+     * and not its reverse, which would run the head into the neck.
+     *
+     * @param direction The direction to turn to.
+     * @return          True if the snake can turn that way.
+     */
+    public boolean canTurn(Direction direction)
+    {
+        return direction != this.direction
+                && (stepX(direction) != -stepX(this.direction) || stepY(direction) != -stepY(this.direction));
     }
 
 
@@ -68,59 +233,108 @@ public class Snake
 
 
     /**
-     * Moves the snake in its current direction. Updates the position of the head and body segments.
+     * Moves the snake in its current direction. The head advances one slot in the ring buffer
+     * and the tail is dropped, so a move is O(1) and allocates nothing.
      */
     public void move()
     {
-        // Store position of the second last segment
-        this.newTail = new Point(body.get(body.size() - 2));
-
         // Move the head
         switch (direction)
         {
-            case UP     -> head.y -= settings.getSegmentSize();
-            case DOWN   -> head.y += settings.getSegmentSize();
-            case LEFT   -> head.x -= settings.getSegmentSize();
-            case RIGHT  -> head.x += settings.getSegmentSize();
+            case UP     -> headY -= settings.getSegmentSize();
+            case DOWN   -> headY += settings.getSegmentSize();
+            case LEFT   -> headX -= settings.getSegmentSize();
+            case RIGHT  -> headX += settings.getSegmentSize();
         }
 
-        for (int i = body.size() - 1; i > 0; i--)
-        {
-            body.set(i, new Point(body.get(i - 1)));
-        }
+        // The buffer always has a spare slot, so the new head never overwrites the old tail
+        this.headIndex = (headIndex + 1) & (bodyX.length - 1);
+        this.bodyX[headIndex] = headX;
+        this.bodyY[headIndex] = headY;
 
-        this.body.set(0, new Point(head));
+        // The old tail is now one past the end of the body
+        grid.removeSnake(getSegmentX(length), getSegmentY(length));
+        grid.addSnake(headX, headY);
+        this.tailVacated = true;
     }
 
 
     /**
-     * Grows the snake by adding a new segment at the tail position.
-     * The growth direction depends on the current movement direction.
+     * Grows the snake by one segment. This keeps the tail that the last move dropped,
+     * which is still stored in the ring buffer.
      */
     public void grow()
     {
-        switch (direction)
+        grid.addSnake(getSegmentX(length), getSegmentY(length));
+        this.length++;
+        this.tailVacated = false;
+
+        // Keep one spare slot for the next move
+        if (length == bodyX.length) { expandBuffer(); }
+    }
+
+
+    /**
+     * Takes every segment off the board grid, for a snake that is leaving the game.
+     */
+    public void removeFromGrid()
+    {
+        for (int i = 0; i < length; i++)
         {
-            case UP     ->  { this.newTail.y += settings.getSegmentSize(); }
-            case DOWN   ->  { this.newTail.y -= settings.getSegmentSize(); }
-            case LEFT   ->  { this.newTail.x += settings.getSegmentSize(); }
-            case RIGHT  ->  { this.newTail.x -= settings.getSegmentSize(); }
+            grid.removeSnake(getSegmentX(i), getSegmentY(i));
         }
-        // Add the new segment at the stored tail position
-        body.add(newTail);
     }
 
 
     /**
-     * This helper method returns a Point object near the middle of the game window.
+     * Converts a segment index into a slot of the ring buffer.
      *
-     * @return      Point Object representing the coordinates of the snake head.
+     * @param index Segment index, where 0 is the head.
+     * @return      Slot inside bodyX and bodyY.
+     */
+    private int slotOf(int index)
+    {
+        return (headIndex - index) & (bodyX.length - 1);
+    }
+
+
+    /**
+     * @return Column step of a direction.
      */
-    private Point createHead()
+    private static int stepX(Direction direction)
     {
-        int x = (settings.getWidth() / 2);
-        int y = (settings.getHeight() / 2);
+        return direction == Direction.LEFT ? -1 : direction == Direction.RIGHT ? 1 : 0;
+    }
+
+
+    /**
+     * @return Row step of a direction.
+     */
+    private static int stepY(Direction direction)
+    {
+        return direction == Direction.UP ? -1 : direction == Direction.DOWN ? 1 : 0;
+    }
+
+
+    /**
+     * Doubles the ring buffer once every slot holds a segment.
+     */
+    private void expandBuffer()
+    {
+        int capacity = bodyX.length;
+        int[] newX = new int[capacity * 2];
+        int[] newY = new int[capacity * 2];
+
+        // Copy from the tail up to the head so the order is preserved
+        for (int i = 0; i < capacity; i++)
+        {
+            int slot = (headIndex - capacity + 1 + i) & (capacity - 1);
+            newX[i] = bodyX[slot];
+            newY[i] = bodyY[slot];
+        }
 
-        return new Point(x, y);
+        this.bodyX = newX;
+        this.bodyY = newY;
+        this.headIndex = capacity - 1;
     }
 }
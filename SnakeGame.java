@@ -2,12 +2,15 @@
 
 import javax.swing.*;
 import java.awt.*;
+import java.nio.file.Paths;
 
 
 /**
  * The SnakeGame class acts as the main controller of the game.
  * It sets up the game's main frame and manages the transition
  * between the SettingsWindow and the GameWindow.
+ * While the settings are shown, an AssetPreloader gets the game ready in the background,
+ * and a StartupTimer reports how long each step of starting took.
  *
  * @author Michael Nguyen
  * @version Last Modified Dec 18th, 2023
@@ -16,6 +19,7 @@ public class SnakeGame
 {
     private final JFrame frame;                     // Main frame for the game
     private final SettingsWindow settingsWindow;    // Window for SettingsWindow
+    private final HighScoreStore highScoreStore;    // Background access to the leaderboard
 
 
     /**
@@ -24,8 +28,15 @@ public class SnakeGame
      */
     public SnakeGame()
     {
+        // Decode the apple images and warm the game up while the settings are shown
+        AssetPreloader.start(SettingsWindow.getDifficultySegmentSizes());
+
         frame = new JFrame("Snake");
 
+        // Start opening the leaderboard while the settings are shown
+        highScoreStore = new HighScoreStore(Paths.get("leaderboard.dat"), Paths.get("highscore.txt"));
+        highScoreStore.open();
+
         settingsWindow = new SettingsWindow(this);
         frame.add(settingsWindow);
 
@@ -35,6 +46,7 @@ public class SnakeGame
         frame.setLocationRelativeTo(null);
         frame.setResizable(false);
         frame.setVisible (true);
+        StartupTimer.mark(StartupTimer.Stage.SETTINGS_WINDOW);
     }
 
 
@@ -45,17 +57,18 @@ public class SnakeGame
      * @param settings Game settings selected by the user.
      */
     public void startGame(GameSettings settings) {
+        StartupTimer.mark(StartupTimer.Stage.PLAY_PRESSED);
         settingsWindow.setVisible(false);
 
         // Initialize and add the game window and scoreboard with the settings
-        ScoreBoard scoreBoard = new ScoreBoard(settings);
+        ScoreBoard scoreBoard = new ScoreBoard(settings, highScoreStore);
         GameWindow gameWindow = new GameWindow(settings, scoreBoard);
 
         frame.getContentPane().removeAll();                     // Clear previous components
         frame.add(scoreBoard, BorderLayout.NORTH);
         frame.add(gameWindow, BorderLayout.CENTER);
 
-        frame.setSize(settings.getWidth(), settings.getHeight()
+        frame.setSize(settings.getViewWidth(), settings.getViewHeight()
                 + scoreBoard.getPreferredSize().height);
         frame.setLocationRelativeTo(null);                      // Re-center the window
         gameWindow.requestFocusInWindow();                      // Focus so keyboard inputs are read
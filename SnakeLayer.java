@@ -0,0 +1,149 @@
+// SnakeLayer.java
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * The SnakeLayer class keeps the snake's body, from the neck to the tail, in an opaque image
+ * of the board over the panel's background, so GameWindow draws the whole body with one drawImage however
+ * long the snake is. The head is left out, since the window slides it between cells.
+ *
+ * A tick only changes the cells around the ends of the snake, so only those are repainted:
+ * the new head, the old head that became the neck, and the vacated tail. Each is filled or
+ * cleared from the board grid, by the same rule the window uses when it draws cell by cell.
+ * The image is rebuilt from the grid on restart, and whenever the panel's size or screen
+ * changes.
+ *
+ * Only used on boards that fit the view; on scrolling boards the window draws the cells in
+ * view instead.
+ *
+ * @author Michael Nguyen
+ * @version Last Modified Oct 17th, 2026
+ */
+public class SnakeLayer
+{
+    private final JComponent view;
+    private final GameEngine engine;
+    private final GameSettings settings;
+
+    // Guarded by the engine lock
+    private BufferedImage layer;
+    private GraphicsConfiguration layerConfiguration;  // Screen the image was made for
+    private Color background;                           // Panel background at the last rebuild
+    private boolean rebuild = true;
+
+
+    /**
+     * Constructor
+     *
+     * @param   view        The panel the layer is drawn on
+     * @param   engine      The engine holding the game state
+     * @param   settings    The game settings
+     */
+    public SnakeLayer(JComponent view, GameEngine engine, GameSettings settings)
+    {
+        this.view = view;
+        this.engine = engine;
+        this.settings = settings;
+    }
+
+
+    /**
+     * Rebuilds the image on the next draw. Call while holding the engine lock.
+     */
+    public void reset()
+    {
+        this.rebuild = true;
+    }
+
+
+    /**
+     * Repaints the cells a tick changed. Runs on the loop thread while holding the engine lock.
+     */
+    public void recordTick()
+    {
+        if (layer == null || rebuild) { return; }
+
+        Snake snake = engine.getSnake();
+        Graphics2D g = layer.createGraphics();
+        updateCell(g, snake.getHeadX(), snake.getHeadY());
+        if (snake.getLength() > 1) { updateCell(g, snake.getSegmentX(1), snake.getSegmentY(1)); }
+        if (snake.hasVacatedTail()) { updateCell(g, snake.getVacatedTailX(), snake.getVacatedTailY()); }
+        g.dispose();
+    }
+
+
+    /**
+     * Draws the body, rebuilding the image first if needed. Call on the event dispatch
+     * thread while holding the engine lock.
+     *
+     * @param   g   Graphics of the panel
+     */
+    public void draw(Graphics g)
+    {
+        int width = view.getWidth();
+        int height = view.getHeight();
+        if (width <= 0 || height <= 0) { return; }
+
+        GraphicsConfiguration configuration = view.getGraphicsConfiguration();
+        if (layer == null || layer.getWidth() != width || layer.getHeight() != height
+                || configuration != layerConfiguration)
+        {
+            // Opaque, so drawing it is a plain copy with no blending
+            layer = configuration != null
+                    ? configuration.createCompatibleImage(width, height, Transparency.OPAQUE)
+                    : new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            layerConfiguration = configuration;
+            rebuild = true;
+        }
+
+        if (rebuild || !view.getBackground().equals(background))
+        {
+            rebuildLayer();
+            rebuild = false;
+        }
+
+        g.drawImage(layer, 0, 0, null);
+    }
+
+
+    // Helper Methods
+
+    /**
+     * Fills the image with the background and every body cell from the grid.
+     */
+    private void rebuildLayer()
+    {
+        background = view.getBackground();
+        Graphics2D g = layer.createGraphics();
+        g.setColor(background);
+        g.fillRect(0, 0, layer.getWidth(), layer.getHeight());
+
+        BoardGrid grid = engine.getGrid();
+        int size = settings.getSegmentSize();
+        for (int row = 0; row < grid.getRows(); row++)
+        {
+            for (int column = 0; column < grid.getColumns(); column++)
+            {
+                updateCell(g, column * size, row * size);
+            }
+        }
+        g.dispose();
+    }
+
+
+    /**
+     * Fills a cell if the body is on it, or clears it to the background. The head's cell stays clear
+     * unless the body is on it too.
+     */
+    private void updateCell(Graphics2D g, int x, int y)
+    {
+        Snake snake = engine.getSnake();
+        int count = engine.getGrid().getSnakeCount(x, y);
+        boolean body = count > 1 || (count == 1 && (x != snake.getHeadX() || y != snake.getHeadY()));
+
+        g.setColor(body ? settings.getSnakeColor() : background);
+        g.fillRect(x, y, settings.getSegmentSize(), settings.getSegmentSize());
+    }
+}
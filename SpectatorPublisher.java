@@ -0,0 +1,259 @@
+// SpectatorPublisher.java
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The SpectatorPublisher class streams a live game to read-only viewers. After every tick it
+ * encodes what changed into a small DELTA frame, and every few ticks it follows the delta with
+ * a KEYFRAME of the whole state, so viewers that join late, or drop frames, can sync up at the
+ * next one, and viewers in sync can check their copy against it.
+ *
+ * Every frame is encoded once. Subscribers each get a read-only view of the same buffer, so
+ * the bytes are never copied per viewer, and nothing is encoded while nobody is watching.
+ *
+ * Frames are a 4-byte length, a type byte, then the payload, with numbers as varints and
+ * positions as cell indices, column + row * columns:
+ *   KEYFRAME   tick, score, length, cells head first, food cell and type,
+ *              poison count and cells
+ *   DELTA      tick, flags, then the parts the flags call for, in this order:
+ *              head cell (unless the game ended), new food cell and type, new score,
+ *              count and cells of poison added (after any clear)
+ * A delta is usually under a dozen bytes, however long the snake is.
+ *
+ * @author Michael Nguyen
+ * @version Last Modified Oct 17th, 2026
+ */
+public class SpectatorPublisher
+{
+    public static final byte KEYFRAME = 1;
+    public static final byte DELTA = 2;
+
+    // Delta flags
+    public static final int TAIL_DROPPED = 0x01;
+    public static final int GAME_OVER = 0x02;
+    public static final int FOOD_CHANGED = 0x04;
+    public static final int SCORE_CHANGED = 0x08;
+    public static final int POISON_CLEARED = 0x10;
+    public static final int POISON_ADDED = 0x20;
+
+    private final GameEngine engine;
+    private final int keyframeInterval;
+    private final CopyOnWriteArrayList<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private ByteBuffer scratch = ByteBuffer.allocate(4096);
+
+    // What viewers were last told, guarded by the engine lock
+    private long tick;
+    private long nextKeyframe;
+    private ConsumableFood lastFood;
+    private int lastScore;
+    private int lastPoisonCount;
+    private int lastPoisonClears;
+
+
+    /**
+     * Receives encoded frames. Called on the game loop thread while it holds the engine lock,
+     * so it should only queue the frame.
+     */
+    public interface Subscriber
+    {
+        /**
+         * @param   frame   Read-only view of one frame, positioned at its length
+         */
+        void onFrame(ByteBuffer frame);
+    }
+
+
+    /**
+     * Constructor.
+     *
+     * @param   engine              The game to stream
+     * @param   keyframeInterval    Ticks between keyframes
+     */
+    public SpectatorPublisher(GameEngine engine, int keyframeInterval)
+    {
+        this.engine = engine;
+        this.keyframeInterval = keyframeInterval;
+        this.reset();
+    }
+
+
+    /**
+     * Adds a viewer. It is synced by the next keyframe.
+     */
+    public void subscribe(Subscriber subscriber) { subscribers.add(subscriber); }
+
+    /**
+     * Removes a viewer.
+     */
+    public void unsubscribe(Subscriber subscriber) { subscribers.remove(subscriber); }
+
+    /**
+     * @return  Number of viewers
+     */
+    public int getSubscriberCount() { return subscribers.size(); }
+
+
+    /**
+     * Makes the next tick send a keyframe, for example after the game restarted.
+     * Call while holding the engine lock.
+     */
+    public void reset()
+    {
+        tick = 0;
+        nextKeyframe = 0;
+    }
+
+
+    /**
+     * Sends the tick that just finished to every viewer. Call on the game loop thread while
+     * holding the engine lock, once per tick.
+     */
+    public void publish()
+    {
+        tick++;
+        if (subscribers.isEmpty())
+        {
+            // Nobody has seen the last frames, so whoever joins next needs a keyframe
+            nextKeyframe = tick + 1;
+            return;
+        }
+
+        broadcast(encode(false));
+
+        // A keyframe follows the delta of the same tick, so viewers in sync can check against it
+        if (tick >= nextKeyframe && !engine.isGameOver())
+        {
+            nextKeyframe = tick + keyframeInterval;
+            broadcast(encode(true));
+        }
+    }
+
+
+    // Helper Methods
+
+    /**
+     * Hands every viewer its own read-only view of one shared frame.
+     */
+    private void broadcast(ByteBuffer frame)
+    {
+        for (Subscriber subscriber : subscribers)
+        {
+            subscriber.onFrame(frame.asReadOnlyBuffer());
+        }
+    }
+
+
+    /**
+     * Encodes a frame into the scratch buffer, growing it if needed, and copies it out
+     * at its exact size for sharing.
+     */
+    private ByteBuffer encode(boolean keyframe)
+    {
+        while (true)
+        {
+            scratch.clear();
+            try
+            {
+                if (keyframe) { writeKeyframe(scratch); }
+                else { writeDelta(scratch); }
+                break;
+            }
+            catch (BufferOverflowException e)
+            {
+                scratch = ByteBuffer.allocate(scratch.capacity() * 2);
+            }
+        }
+
+        // Remember what viewers now know only once the frame is complete
+        lastFood = engine.getFood();
+        lastScore = engine.getScore();
+        lastPoisonCount = engine.getPoisonCount();
+        lastPoisonClears = engine.getGrid().getPoisonClears();
+
+        scratch.flip();
+        ByteBuffer frame = ByteBuffer.allocate(scratch.remaining());
+        frame.put(scratch).flip();
+        return frame;
+    }
+
+
+    private void writeKeyframe(ByteBuffer out)
+    {
+        out.putInt(0);
+        out.put(KEYFRAME);
+        Varint.write(out, tick);
+        Varint.write(out, engine.getScore());
+
+        Snake snake = engine.getSnake();
+        Varint.write(out, snake.getLength());
+        for (int i = 0; i < snake.getLength(); i++)
+        {
+            Varint.write(out, cellOf(snake.getSegmentX(i), snake.getSegmentY(i)));
+        }
+
+        writeFood(out, engine.getFood());
+
+        BoardGrid grid = engine.getGrid();
+        Varint.write(out, grid.getPoisonCount());
+        for (int i = 0; i < grid.getPoisonCount(); i++) { Varint.write(out, grid.getPoisonCell(i)); }
+
+        out.putInt(0, out.position() - 4);
+    }
+
+
+    private void writeDelta(ByteBuffer out)
+    {
+        Snake snake = engine.getSnake();
+        BoardGrid grid = engine.getGrid();
+        ConsumableFood food = engine.getFood();
+        int poisonCount = grid.getPoisonCount();
+
+        // Poison apples are only ever added at the end or all cleared at once
+        boolean poisonCleared = grid.getPoisonClears() != lastPoisonClears;
+        int firstNewPoison = poisonCleared ? 0 : lastPoisonCount;
+
+        int flags = 0;
+        if (engine.isGameOver()) { flags |= GAME_OVER; }
+        else if (snake.hasVacatedTail()) { flags |= TAIL_DROPPED; }
+        if (food != lastFood) { flags |= FOOD_CHANGED; }
+        if (engine.getScore() != lastScore) { flags |= SCORE_CHANGED; }
+        if (poisonCleared) { flags |= POISON_CLEARED; }
+        if (poisonCount > firstNewPoison) { flags |= POISON_ADDED; }
+
+        out.putInt(0);
+        out.put(DELTA);
+        Varint.write(out, tick);
+        out.put((byte) flags);
+
+        // The head of a snake that died may be off the board, and viewers do not need it
+        if (!engine.isGameOver()) { Varint.write(out, cellOf(snake.getHeadX(), snake.getHeadY())); }
+        if (food != lastFood) { writeFood(out, food); }
+        if (engine.getScore() != lastScore) { Varint.write(out, engine.getScore()); }
+        if (poisonCount > firstNewPoison)
+        {
+            Varint.write(out, poisonCount - firstNewPoison);
+            for (int i = firstNewPoison; i < poisonCount; i++) { Varint.write(out, grid.getPoisonCell(i)); }
+        }
+
+        out.putInt(0, out.position() - 4);
+    }
+
+
+    private void writeFood(ByteBuffer out, ConsumableFood food)
+    {
+        Varint.write(out, cellOf(food.getX(), food.getY()));
+        out.put((byte) food.getAppleType().ordinal());
+    }
+
+
+    /**
+     * @return  Cell index of a position in pixels
+     */
+    private int cellOf(int x, int y)
+    {
+        int size = engine.getSettings().getSegmentSize();
+        return x / size + (y / size) * engine.getGrid().getColumns();
+    }
+}
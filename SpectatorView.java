@@ -0,0 +1,340 @@
+// SpectatorView.java
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The SpectatorView class is an in-process viewer of a SpectatorPublisher stream. Frames are
+ * queued on the publishing thread and decoded on the viewer's own thread, into a copy of the
+ * game rebuilt from keyframes and deltas.
+ *
+ * A viewer starts out of sync and ignores deltas until a keyframe arrives. It falls out of
+ * sync again if its queue overflows or a tick goes missing. Every keyframe that arrives
+ * while in sync is first compared with the rebuilt copy, which is how the stream is checked.
+ * The copy is built with boxed collections for clarity. Other threads can read it while
+ * frames are applied, which is how a SpectatorWindow paints it.
+ *
+ * Its main method streams headless games to many viewers, some joining late, and reports
+ * the frame sizes and whether every viewer stayed in step.
+ *
+ * Usage: java SpectatorView [viewers] [ticks] [keyframeInterval]
+ *
+ * @author Michael Nguyen
+ * @version Last Modified Oct 17th, 2026
+ */
+public class SpectatorView implements SpectatorPublisher.Subscriber, Runnable
+{
+    private static final int QUEUE_CAPACITY = 1024;
+
+    private final BlockingQueue<ByteBuffer> frames = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final AtomicBoolean overflowed = new AtomicBoolean();
+
+    // Game as rebuilt from the stream, viewer thread only
+    private final ArrayDeque<Integer> body = new ArrayDeque<>();    // Cells, head first
+    private final List<Integer> poison = new ArrayList<>();
+    private int foodCell;
+    private int foodType;
+    private int score;
+    private long tick;
+    private boolean gameOver;
+    private boolean synced;
+
+    // Statistics, viewer thread only
+    private long framesApplied;
+    private long bytesReceived;
+    private long keyframes;
+    private long keyframeBytes;
+    private long mismatches;
+
+
+    /**
+     * Queues a frame. Runs on the publishing thread.
+     */
+    @Override
+    public void onFrame(ByteBuffer frame)
+    {
+        if (!frames.offer(frame)) { overflowed.set(true); }
+    }
+
+
+    /**
+     * Applies frames as they arrive until the thread is interrupted.
+     */
+    @Override
+    public void run()
+    {
+        try
+        {
+            while (true) { apply(frames.take()); }
+        }
+        catch (InterruptedException e)
+        {
+            // Done watching
+        }
+    }
+
+
+    // Getter Methods
+
+    /**
+     * @return  True if the rebuilt game follows the stream
+     */
+    public synchronized boolean isSynced() { return this.synced; }
+
+    /**
+     * @return  True once every queued frame has been applied
+     */
+    public boolean isIdle() { return this.frames.isEmpty(); }
+
+    /**
+     * @return  Frames applied since subscribing, keyframes included
+     */
+    public long getFramesApplied() { return this.framesApplied; }
+
+    /**
+     * @return  Bytes received, frame headers included
+     */
+    public long getBytesReceived() { return this.bytesReceived; }
+
+    /**
+     * @return  Keyframes received
+     */
+    public long getKeyframes() { return this.keyframes; }
+
+    /**
+     * @return  Bytes of the keyframes received
+     */
+    public long getKeyframeBytes() { return this.keyframeBytes; }
+
+    /**
+     * @return  Keyframes that did not match the rebuilt game
+     */
+    public long getMismatches() { return this.mismatches; }
+
+    /**
+     * @return  True if the stream said the game ended
+     */
+    public synchronized boolean isGameOver() { return this.gameOver; }
+
+    /**
+     * @return  Length of the rebuilt snake
+     */
+    public synchronized int getLength() { return this.body.size(); }
+
+    /**
+     * @return  Tick of the last frame applied
+     */
+    public synchronized long getTick() { return this.tick; }
+
+    /**
+     * @return  Score of the rebuilt game
+     */
+    public synchronized int getScore() { return this.score; }
+
+    /**
+     * @return  Cell of the apple
+     */
+    public synchronized int getFoodCell() { return this.foodCell; }
+
+    /**
+     * @return  Type of the apple, as an AppleType ordinal
+     */
+    public synchronized int getFoodType() { return this.foodType; }
+
+    /**
+     * @return  Copy of the snake's cells, head first
+     */
+    public synchronized int[] getBodyCells()
+    {
+        return body.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * @return  Copy of the poison apples' cells
+     */
+    public synchronized int[] getPoisonCells()
+    {
+        return poison.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+
+    /**
+     * Decodes one frame into the rebuilt game.
+     *
+     * @param   frame   Frame positioned at its length
+     */
+    public synchronized void apply(ByteBuffer frame)
+    {
+        // Frames were lost, so wait for the next keyframe
+        if (overflowed.getAndSet(false)) { synced = false; }
+
+        try
+        {
+            int length = frame.getInt();
+            byte type = frame.get();
+            bytesReceived += 4 + length;
+            framesApplied++;
+
+            if (type == SpectatorPublisher.KEYFRAME) { applyKeyframe(frame, length); }
+            else if (type == SpectatorPublisher.DELTA && synced) { applyDelta(frame); }
+        }
+        catch (IOException | RuntimeException e)
+        {
+            synced = false;
+        }
+    }
+
+
+    public static void main(String[] args) throws InterruptedException
+    {
+        int viewerCount = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int ticks = args.length > 1 ? Integer.parseInt(args[1]) : 50_000;
+        int keyframeInterval = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+
+        GameEngine engine = new GameEngine(new GameSettings(), 2023_12_17L);
+        GreedyPlayer player = new GreedyPlayer();
+        SpectatorPublisher publisher = new SpectatorPublisher(engine, keyframeInterval);
+
+        SpectatorView[] viewers = new SpectatorView[viewerCount];
+        Thread[] threads = new Thread[viewerCount];
+        for (int i = 0; i < viewerCount; i++)
+        {
+            viewers[i] = new SpectatorView();
+            threads[i] = new Thread(viewers[i], "spectator-" + i);
+            threads[i].start();
+        }
+
+        long start = System.nanoTime();
+        long bodyBytes = 0;
+        int games = 1;
+
+        for (int tick = 0; tick < ticks; tick++)
+        {
+            // Half the viewers watch from the start, the rest join one at a time during the first quarter
+            int joined = Math.min(viewerCount, viewerCount / 2 + (int) (2L * tick * viewerCount / ticks));
+            while (publisher.getSubscriberCount() < joined) { publisher.subscribe(viewers[publisher.getSubscriberCount()]); }
+
+            engine.tick(player.decide(engine));
+            publisher.publish();
+            bodyBytes += 8L * engine.getSnake().getLength();
+
+            if (engine.isGameOver())
+            {
+                engine.reset();
+                publisher.reset();
+                games++;
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        for (SpectatorView viewer : viewers)
+        {
+            while (!viewer.isIdle()) { Thread.onSpinWait(); }
+        }
+        for (Thread thread : threads)
+        {
+            thread.interrupt();
+            thread.join();
+        }
+
+        long frames = 0, bytes = 0, keyframes = 0, keyframeBytes = 0, mismatches = 0;
+        int inSync = 0;
+        for (SpectatorView viewer : viewers)
+        {
+            frames += viewer.getFramesApplied();
+            bytes += viewer.getBytesReceived();
+            keyframes += viewer.getKeyframes();
+            keyframeBytes += viewer.getKeyframeBytes();
+            mismatches += viewer.getMismatches();
+            if (viewer.isSynced()) { inSync++; }
+        }
+
+        System.out.printf("%,d ticks over %d games to %d viewers in %.2f s (%,.0f ticks/s)%n",
+                ticks, games, viewerCount, seconds, ticks / seconds);
+        System.out.printf("Delta %.1f bytes, keyframe %.1f bytes, full body %.1f bytes per tick%n",
+                (double) (bytes - keyframeBytes) / Math.max(1, frames - keyframes),
+                (double) keyframeBytes / Math.max(1, keyframes), (double) bodyBytes / ticks);
+        System.out.printf("%d of %d viewers in sync, %,d keyframe mismatches%n", inSync, viewerCount, mismatches);
+    }
+
+
+    // Helper Methods
+
+    private void applyKeyframe(ByteBuffer in, int length) throws IOException
+    {
+        keyframes++;
+        keyframeBytes += 4 + length;
+
+        long keyTick = Varint.read(in);
+        int keyScore = Varint.readInt(in);
+        int keyLength = Varint.readInt(in);
+
+        ArrayDeque<Integer> keyBody = new ArrayDeque<>(keyLength);
+        for (int i = 0; i < keyLength; i++) { keyBody.addLast(Varint.readInt(in)); }
+
+        int keyFoodCell = Varint.readInt(in);
+        int keyFoodType = in.get();
+
+        int poisonCount = Varint.readInt(in);
+        List<Integer> keyPoison = new ArrayList<>(poisonCount);
+        for (int i = 0; i < poisonCount; i++) { keyPoison.add(Varint.readInt(in)); }
+
+        // The keyframe describes the tick whose delta came just before it, unless that delta was lost
+        if (synced && keyTick == tick && !(keyScore == score && keyFoodCell == foodCell && keyFoodType == foodType
+                && Arrays.equals(keyBody.toArray(), body.toArray()) && keyPoison.equals(poison)))
+        {
+            mismatches++;
+        }
+
+        body.clear();
+        body.addAll(keyBody);
+        poison.clear();
+        poison.addAll(keyPoison);
+        foodCell = keyFoodCell;
+        foodType = keyFoodType;
+        score = keyScore;
+        tick = keyTick;
+        gameOver = false;
+        synced = true;
+    }
+
+
+    private void applyDelta(ByteBuffer in) throws IOException
+    {
+        long deltaTick = Varint.read(in);
+        if (deltaTick != tick + 1)
+        {
+            synced = false;
+            return;
+        }
+        tick = deltaTick;
+
+        int flags = in.get();
+        if ((flags & SpectatorPublisher.GAME_OVER) != 0) { gameOver = true; }
+        else
+        {
+            body.addFirst(Varint.readInt(in));
+            if ((flags & SpectatorPublisher.TAIL_DROPPED) != 0) { body.removeLast(); }
+        }
+
+        if ((flags & SpectatorPublisher.FOOD_CHANGED) != 0)
+        {
+            foodCell = Varint.readInt(in);
+            foodType = in.get();
+        }
+        if ((flags & SpectatorPublisher.SCORE_CHANGED) != 0) { score = Varint.readInt(in); }
+        if ((flags & SpectatorPublisher.POISON_CLEARED) != 0) { poison.clear(); }
+        if ((flags & SpectatorPublisher.POISON_ADDED) != 0)
+        {
+            int count = Varint.readInt(in);
+            for (int i = 0; i < count; i++) { poison.add(Varint.readInt(in)); }
+        }
+    }
+}
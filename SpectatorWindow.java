@@ -0,0 +1,133 @@
+// SpectatorWindow.java
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+
+/**
+ * The SpectatorWindow class watches a live game the way a remote viewer would: it subscribes
+ * a SpectatorView to the game's SpectatorPublisher and draws the game rebuilt from the stream,
+ * never the engine itself. The whole board is scaled to fit the window, and the title shows
+ * the tick, the score and whether the viewer is in sync.
+ *
+ * Frames are applied on the view's own thread and the window repaints on a timer, so a slow
+ * window never holds up the game loop. Closing the window unsubscribes the viewer.
+ *
+ * @author Michael Nguyen
+ * @version Last Modified Oct 17th, 2026
+ */
+public class SpectatorWindow extends JPanel
+{
+    private static final int VIEW_SIZE = 480;           // Pixels along the longer side of the board
+    private static final int REPAINT_MILLIS = 33;
+
+    private final GameSettings settings;
+    private final SpectatorView view = new SpectatorView();
+    private final int columns;
+    private final int rows;
+    private final double scale;                         // Pixels per cell
+
+
+    /**
+     * Constructor.
+     *
+     * @param   settings    Settings of the game being watched
+     */
+    private SpectatorWindow(GameSettings settings)
+    {
+        this.settings = settings;
+        this.columns = settings.getWidth() / settings.getSegmentSize();
+        this.rows = settings.getHeight() / settings.getSegmentSize();
+        this.scale = (double) VIEW_SIZE / Math.max(columns, rows);
+
+        this.setPreferredSize(new Dimension((int) Math.ceil(columns * scale), (int) Math.ceil(rows * scale)));
+    }
+
+
+    /**
+     * Opens a window watching a game. Call on the event dispatch thread.
+     *
+     * @param   publisher   The game's publisher
+     * @param   settings    Settings of the game being watched
+     * @param   owner       Window to place the spectator window next to, or null
+     */
+    public static void open(SpectatorPublisher publisher, GameSettings settings, Component owner)
+    {
+        SpectatorWindow panel = new SpectatorWindow(settings);
+        JFrame frame = new JFrame("Spectator");
+        frame.add(panel);
+        frame.pack();
+        frame.setDefaultCloseOperation(WindowConstants.DISPOSE_ON_CLOSE);
+        frame.setLocationRelativeTo(owner);
+
+        Thread thread = new Thread(panel.view, "spectator-view");
+        thread.setDaemon(true);
+        thread.start();
+        publisher.subscribe(panel.view);
+
+        Timer timer = new Timer(REPAINT_MILLIS, e -> {
+            frame.setTitle(panel.getTitle());
+            panel.repaint();
+        });
+        timer.start();
+
+        frame.addWindowListener(new WindowAdapter()
+        {
+            public void windowClosed(WindowEvent e)
+            {
+                publisher.unsubscribe(panel.view);
+                timer.stop();
+                thread.interrupt();
+            }
+        });
+        frame.setVisible(true);
+    }
+
+
+    /**
+     * Paints the rebuilt game: the snake, the apple and the poison apples.
+     *
+     * @param   g   Graphics object for drawing.
+     */
+    public void paintComponent(Graphics g)
+    {
+        super.paintComponent(g);
+        if (!view.isSynced()) { return; }
+
+        Graphics2D g2 = (Graphics2D) g.create();
+        g2.scale(scale, scale);
+        int size = settings.getSegmentSize();
+
+        g2.setColor(settings.getSnakeColor());
+        for (int cell : view.getBodyCells()) { g2.fillRect(cell % columns, cell / columns, 1, 1); }
+
+        ConsumableFood.AppleType type = ConsumableFood.AppleType.values()[view.getFoodType()];
+        drawSprite(g2, ConsumableFood.getImageName(type), view.getFoodCell(), size);
+        for (int cell : view.getPoisonCells()) { drawSprite(g2, PoisonFood.IMAGE_NAME, cell, size); }
+
+        g2.dispose();
+    }
+
+
+    // Helper Methods
+
+    /**
+     * @return  Title describing the stream
+     */
+    private String getTitle()
+    {
+        if (!view.isSynced()) { return "Spectator - waiting for a keyframe"; }
+        return "Spectator - tick " + view.getTick() + ", score " + view.getScore()
+                + (view.isGameOver() ? ", game over" : "");
+    }
+
+
+    /**
+     * Draws an apple sprite scaled into one cell.
+     */
+    private void drawSprite(Graphics2D g, String imageName, int cell, int size)
+    {
+        g.drawImage(SpriteAtlas.getSprite(imageName, size), cell % columns, cell / columns, 1, 1, null);
+    }
+}
@@ -0,0 +1,136 @@
+// SpriteAtlas.java
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The SpriteAtlas class is a shared cache of the scaled apple images.
+ * Each image is decoded and scaled once per segment size, then reused by every
+ * ConsumableFood and PoisonFood so that painting never touches the disk or allocates.
+ *
+ * @author Michael Nguyen
+ * @version Last Modified Oct 17th, 2026
+ */
+public final class SpriteAtlas
+{
+    // Every apple image that can appear on the board
+    private static final String[] IMAGE_NAMES =
+            { "appleBasic.png", "appleBetter.png", "appleGold.png", "applePoison.png" };
+
+    // Segment size -> (image name -> scaled image)
+    private static final ConcurrentHashMap<Integer, ConcurrentHashMap<String, Image>> sprites =
+            new ConcurrentHashMap<>();
+
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+
+
+    private SpriteAtlas() { }
+
+
+    /**
+     * Decodes and scales every apple image for the given segment size.
+     *
+     * @param   segmentSize     Size of one board cell in pixels.
+     */
+    public static void preload(int segmentSize)
+    {
+        for (String imageName : IMAGE_NAMES) { preload(imageName, segmentSize); }
+    }
+
+
+    /**
+     * Decodes and scales one apple image for the given segment size. Images can be loaded
+     * on several threads at once; a lookup of an image still loading waits for it.
+     *
+     * @param   imageName       File name of the apple image inside ./images
+     * @param   segmentSize     Size of one board cell in pixels.
+     */
+    public static void preload(String imageName, int segmentSize)
+    {
+        getSheet(segmentSize).computeIfAbsent(imageName, name -> loadSprite(name, segmentSize));
+    }
+
+
+    /**
+     * @return  File names of every apple image that can appear on the board.
+     */
+    public static String[] getImageNames() { return IMAGE_NAMES.clone(); }
+
+
+    /**
+     * Gets the scaled image for an apple, loading it on the first request.
+     *
+     * @param   imageName       File name of the apple image inside ./images
+     * @param   segmentSize     Size of one board cell in pixels.
+     * @return                  Scaled image of the apple.
+     */
+    public static Image getSprite(String imageName, int segmentSize)
+    {
+        ConcurrentHashMap<String, Image> sheet = getSheet(segmentSize);
+        Image sprite = sheet.get(imageName);
+
+        if (sprite != null)
+        {
+            hits.incrementAndGet();
+            return sprite;
+        }
+
+        misses.incrementAndGet();
+        return sheet.computeIfAbsent(imageName, name -> loadSprite(name, segmentSize));
+    }
+
+
+    /**
+     * @return  Number of lookups answered from the cache.
+     */
+    public static long getHits() { return hits.get(); }
+
+    /**
+     * @return  Number of lookups that had to load an image.
+     */
+    public static long getMisses() { return misses.get(); }
+
+
+    // Helper Methods
+
+    /**
+     * Gets (or creates) the map of images for one segment size.
+     */
+    private static ConcurrentHashMap<String, Image> getSheet(int segmentSize)
+    {
+        return sprites.computeIfAbsent(segmentSize, size -> new ConcurrentHashMap<>());
+    }
+
+
+    /**
+     * Decodes an image and scales it to one and a half segments.
+     *
+     * @param   imageName       File name of the apple image inside ./images
+     * @param   segmentSize     Size of one board cell in pixels.
+     * @return                  Scaled image of the apple.
+     */
+    private static Image loadSprite(String imageName, int segmentSize)
+    {
+        Image sourceImage = new ImageIcon("./images/" + imageName).getImage();
+
+        // Calculate the new dimensions
+        int scaledWidth = (int) (segmentSize * 1.5);
+        int scaledHeight = (int) (segmentSize * 1.5);
+
+        // Create a buffered image with the desired size
+        BufferedImage scaledImage = new BufferedImage(
+                scaledWidth, scaledHeight, BufferedImage.TYPE_INT_ARGB);
+
+        Graphics2D graphics = scaledImage.createGraphics();
+
+        // Draw the source image into the buffered image with scaling
+        graphics.drawImage(sourceImage, 0, 0, scaledWidth, scaledHeight, null);
+        graphics.dispose();
+
+        return scaledImage;
+    }
+}
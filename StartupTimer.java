@@ -0,0 +1,104 @@
+// StartupTimer.java
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The StartupTimer class records how long the game takes to start, measured from the start
+ * of the JVM. Each stage is recorded only the first time it is reached, so the calls can stay
+ * on the paint and tick paths, where later calls cost a single read.
+ * Once the first tick has run, a report is printed:
+ *
+ *   Startup: settings window 412 ms, assets preloaded 530 ms, play pressed 2,104 ms,
+ *            first game frame 2,161 ms (+57 ms), first tick 2,208 ms (+104 ms);
+ *            sprites 6 hits, 0 misses
+ *
+ * Times after play was pressed also show how long after the press they came, since the
+ * time spent choosing settings is up to the player. The SpriteAtlas counts show whether
+ * painting found the apples preloaded; a miss means a frame had to load one itself.
+ * Printing is turned off with -Dsnake.startupReport=false.
+ *
+ * @author Michael Nguyen
+ * @version Last Modified Oct 17th, 2026
+ */
+public final class StartupTimer
+{
+    public static final boolean REPORT = !"false".equals(System.getProperty("snake.startupReport"));
+
+    /**
+     * What is timed, in the order it usually happens.
+     */
+    public enum Stage
+    {
+        SETTINGS_WINDOW("settings window"),
+        ASSETS_PRELOADED("assets preloaded"),
+        PLAY_PRESSED("play pressed"),
+        FIRST_FRAME("first game frame"),
+        FIRST_TICK("first tick");
+
+        private final String label;
+
+        Stage(String label) { this.label = label; }
+    }
+
+    private static final Stage[] STAGES = Stage.values();
+    private static final AtomicLongArray reachedAt = new AtomicLongArray(STAGES.length);   // Uptime in ms, 0 if not yet
+
+
+    private StartupTimer() { }
+
+
+    /**
+     * Records a stage the first time it is reached. Prints the report after the first tick.
+     *
+     * @param   stage   The stage just reached
+     */
+    public static void mark(Stage stage)
+    {
+        if (reachedAt.get(stage.ordinal()) != 0) { return; }
+
+        // An uptime of 0 would read as not reached
+        long uptime = Math.max(1, ManagementFactory.getRuntimeMXBean().getUptime());
+        if (reachedAt.compareAndSet(stage.ordinal(), 0, uptime) && stage == Stage.FIRST_TICK && REPORT)
+        {
+            System.out.println(report());
+        }
+    }
+
+
+    /**
+     * @param   stage   A stage
+     * @return          Milliseconds from the start of the JVM to the stage, or -1 if not reached
+     */
+    public static long getMillis(Stage stage)
+    {
+        long uptime = reachedAt.get(stage.ordinal());
+        return uptime == 0 ? -1 : uptime;
+    }
+
+
+    /**
+     * @return  One line with every stage reached so far, and the sprite cache counts
+     */
+    public static String report()
+    {
+        StringBuilder line = new StringBuilder("Startup:");
+        long played = getMillis(Stage.PLAY_PRESSED);
+
+        for (Stage stage : STAGES)
+        {
+            long millis = getMillis(stage);
+            if (millis < 0) { continue; }
+
+            if (line.length() > "Startup:".length()) { line.append(','); }
+            line.append(String.format(" %s %,d ms", stage.label, millis));
+            if (played >= 0 && stage.ordinal() > Stage.PLAY_PRESSED.ordinal())
+            {
+                line.append(String.format(" (+%,d ms)", millis - played));
+            }
+        }
+
+        line.append(String.format("; sprites %,d hits, %,d misses", SpriteAtlas.getHits(), SpriteAtlas.getMisses()));
+        return line.toString();
+    }
+}
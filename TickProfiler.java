@@ -0,0 +1,252 @@
+// TickProfiler.java
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import jdk.jfr.*;
+
+/**
+ * The TickProfiler class times each phase of a tick, each frame, and how late each tick
+ * started, into LatencyHistograms. Every tick and frame is also emitted as a JDK Flight
+ * Recorder event (snake.Tick and snake.Frame), with the time of each phase.
+ * A summary with p50, p99 and max is printed when the program exits.
+ *
+ * Profiling is turned on with -Dsnake.profile=true. The switch is a static final constant,
+ * so when it is off the JIT compiles every call away and the tick runs as before.
+ *
+ * Every thread records into histograms of its own, since LatencyHistogram takes a single
+ * writer and the simulators tick many games on many threads at once. The histograms of every
+ * thread that recorded are merged when they are read. Those of threads that have finished,
+ * such as closed GameServer rooms, are folded into one retired set and dropped, so their
+ * samples stay counted without keeping one recorder per thread forever. Live threads are
+ * read without stopping them: a merge made while they record can miss or half-see the
+ * samples of that moment, and is only exact once they have finished.
+ *
+ * @author Michael Nguyen
+ * @version Last Modified Oct 17th, 2026
+ */
+public final class TickProfiler
+{
+    public static final boolean ENABLED = Boolean.getBoolean("snake.profile");
+
+    /**
+     * What is timed. The first five are parts of GameEngine.tick(). INPUT is the wait from
+     * a key press to the tick that applies it.
+     */
+    public enum Phase { MOVE, FOOD, WALL, SELF, POISON, TICK, LATENESS, PAINT, INPUT }
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final Queue<Recorder> recorders = new ConcurrentLinkedQueue<>();     // One per live thread that recorded
+    private static final Recorder retired = new Recorder(null);     // Samples of finished threads, guarded by itself
+    private static final ThreadLocal<Recorder> threadRecorder = ThreadLocal.withInitial(() -> {
+        retireFinishedThreads();
+        Recorder recorder = new Recorder(Thread.currentThread());
+        recorders.add(recorder);
+        return recorder;
+    });
+
+    static
+    {
+        if (ENABLED)
+        {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> report(System.out), "tick-profiler-report"));
+        }
+    }
+
+
+    private TickProfiler() { }
+
+
+    /**
+     * @return  Start time of something to time, or 0 when profiling is off
+     */
+    public static long start()
+    {
+        return ENABLED ? System.nanoTime() : 0L;
+    }
+
+
+    /**
+     * Records a phase that started at the given time.
+     *
+     * @param   phase   The phase that just ended
+     * @param   since   Start time of the phase
+     * @return          The current time, to start the next phase from, or 0 when profiling is off
+     */
+    public static long record(Phase phase, long since)
+    {
+        if (!ENABLED) { return 0L; }
+
+        long now = System.nanoTime();
+        Recorder recorder = threadRecorder.get();
+        recorder.histograms[phase.ordinal()].record(now - since);
+        if (phase.ordinal() < recorder.tickPhases.length) { recorder.tickPhases[phase.ordinal()] = now - since; }
+        return now;
+    }
+
+
+    /**
+     * Records a whole tick, with how late it started, and emits its Flight Recorder event.
+     *
+     * @param   start       Start time of the tick
+     * @param   lateness    Nanoseconds between when the tick was due and when it started
+     */
+    public static void tickFinished(long start, long lateness)
+    {
+        if (!ENABLED) { return; }
+
+        long duration = System.nanoTime() - start;
+        Recorder recorder = threadRecorder.get();
+        long[] tickPhases = recorder.tickPhases;
+        recorder.histograms[Phase.TICK.ordinal()].record(duration);
+        recorder.histograms[Phase.LATENESS.ordinal()].record(lateness);
+
+        TickEvent event = new TickEvent();
+        if (event.shouldCommit())
+        {
+            event.tickDuration = duration;
+            event.lateness = lateness;
+            event.move = tickPhases[Phase.MOVE.ordinal()];
+            event.food = tickPhases[Phase.FOOD.ordinal()];
+            event.wall = tickPhases[Phase.WALL.ordinal()];
+            event.self = tickPhases[Phase.SELF.ordinal()];
+            event.poison = tickPhases[Phase.POISON.ordinal()];
+            event.commit();
+        }
+
+        // Phases skipped by a short-circuited tick read as zero in the next event
+        Arrays.fill(tickPhases, 0L);
+    }
+
+
+    /**
+     * Records a drawn frame and emits its Flight Recorder event.
+     *
+     * @param   start   Start time of the frame
+     */
+    public static void frameFinished(long start)
+    {
+        if (!ENABLED) { return; }
+
+        long duration = System.nanoTime() - start;
+        threadRecorder.get().histograms[Phase.PAINT.ordinal()].record(duration);
+
+        FrameEvent event = new FrameEvent();
+        if (event.shouldCommit())
+        {
+            event.frameDuration = duration;
+            event.commit();
+        }
+    }
+
+
+    /**
+     * @return  A new histogram of a phase, merged from every thread. Values from threads
+     *          still recording are approximate.
+     */
+    public static LatencyHistogram getHistogram(Phase phase)
+    {
+        LatencyHistogram merged = new LatencyHistogram();
+
+        // Held throughout, so a recorder retired meanwhile is neither missed nor counted twice
+        synchronized (retired)
+        {
+            retireFinishedThreads();
+            merged.merge(retired.histograms[phase.ordinal()]);
+            for (Recorder recorder : recorders) { merged.merge(recorder.histograms[phase.ordinal()]); }
+        }
+        return merged;
+    }
+
+
+    /**
+     * Prints the count, p50, p99 and max of every phase, in microseconds.
+     *
+     * @param   out     Where to print
+     */
+    public static void report(PrintStream out)
+    {
+        out.printf("%-9s %10s %10s %10s %10s%n", "phase", "count", "p50 us", "p99 us", "max us");
+
+        for (Phase phase : PHASES)
+        {
+            LatencyHistogram histogram = getHistogram(phase);
+            out.printf("%-9s %,10d %10.1f %10.1f %10.1f%n", phase.name().toLowerCase(), histogram.getCount(),
+                    histogram.getPercentile(0.50) / 1e3, histogram.getPercentile(0.99) / 1e3, histogram.getMax() / 1e3);
+        }
+    }
+
+
+    // Helper Methods
+
+    /**
+     * Folds the recorders of threads that have finished into the retired histograms and
+     * drops them. Once isAlive() returns false, everything the thread recorded is visible.
+     */
+    private static void retireFinishedThreads()
+    {
+        synchronized (retired)
+        {
+            for (Iterator<Recorder> it = recorders.iterator(); it.hasNext(); )
+            {
+                Recorder recorder = it.next();
+                if (recorder.owner.isAlive()) { continue; }
+
+                for (int i = 0; i < PHASES.length; i++) { retired.histograms[i].merge(recorder.histograms[i]); }
+                it.remove();
+            }
+        }
+    }
+
+
+    /**
+     * The Recorder class holds the histograms of one thread, and the phases of the tick
+     * that thread is running.
+     */
+    private static final class Recorder
+    {
+        final Thread owner;         // The thread recording, or null for the retired histograms
+        final LatencyHistogram[] histograms = new LatencyHistogram[PHASES.length];
+        final long[] tickPhases = new long[Phase.TICK.ordinal()];
+
+        Recorder(Thread owner)
+        {
+            this.owner = owner;
+            for (int i = 0; i < histograms.length; i++) { histograms[i] = new LatencyHistogram(); }
+        }
+    }
+}
+
+
+/**
+ * Flight Recorder event for one tick of the game loop.
+ */
+@Name("snake.Tick")
+@Label("Snake Tick")
+@Category("Snake")
+@StackTrace(false)
+class TickEvent extends Event
+{
+    @Label("Tick Duration") @Timespan long tickDuration;
+    @Label("Lateness") @Timespan long lateness;
+    @Label("Move") @Timespan long move;
+    @Label("Food Check") @Timespan long food;
+    @Label("Wall Check") @Timespan long wall;
+    @Label("Self Check") @Timespan long self;
+    @Label("Poison Check") @Timespan long poison;
+}
+
+
+/**
+ * Flight Recorder event for one drawn frame.
+ */
+@Name("snake.Frame")
+@Label("Snake Frame")
+@Category("Snake")
+@StackTrace(false)
+class FrameEvent extends Event
+{
+    @Label("Frame Duration") @Timespan long frameDuration;
+}
@@ -0,0 +1,71 @@
+// TickResult.java
+
+/**
+ * The TickResult class describes what happened during one tick of the GameEngine.
+ * The engine reuses a single instance, so a result is only valid until the next tick.
+ *
+ * @author Michael Nguyen
+ * @version Last Modified Oct 17th, 2026
+ */
+public class TickResult
+{
+    private boolean ateFood;        // The snake ate the consumable food
+    private boolean died;           // The snake hit a wall, itself or a poison apple
+    private boolean boardFull;      // No free cell was left for the next apple
+    private boolean speedChanged;   // A milestone lowered the game delay
+    private int scoreDelta;         // Points gained this tick
+
+
+    // Getter Methods
+
+    /**
+     * @return  True if the snake ate the food this tick.
+     */
+    public boolean hasAteFood() { return this.ateFood; }
+
+    /**
+     * @return  True if the game ended this tick.
+     */
+    public boolean hasDied() { return this.died; }
+
+    /**
+     * @return  True if the game ended because no free cell was left for food.
+     */
+    public boolean isBoardFull() { return this.boardFull; }
+
+    /**
+     * @return  True if the game delay changed this tick.
+     */
+    public boolean hasSpeedChanged() { return this.speedChanged; }
+
+    /**
+     * @return  Points gained this tick.
+     */
+    public int getScoreDelta() { return this.scoreDelta; }
+
+
+    // Setter Methods (used by the GameEngine)
+
+    void reset()
+    {
+        this.ateFood = false;
+        this.died = false;
+        this.boardFull = false;
+        this.speedChanged = false;
+        this.scoreDelta = 0;
+    }
+
+    void setAteFood(int scoreDelta)
+    {
+        this.ateFood = true;
+        this.scoreDelta = scoreDelta;
+    }
+
+    void setDied(boolean boardFull)
+    {
+        this.died = true;
+        this.boardFull = boardFull;
+    }
+
+    void setSpeedChanged() { this.speedChanged = true; }
+}
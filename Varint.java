@@ -0,0 +1,125 @@
+// Varint.java
+
+import java.io.*;
+import java.nio.ByteBuffer;
+
+/**
+ * The Varint class reads and writes unsigned variable-length integers:
+ * seven bits per byte, low bits first, with the high bit set on every byte but the last.
+ * Small values such as tick counts and coordinates take one or two bytes.
+ * Signed values are zigzag encoded first, so small negative steps stay small too.
+ * Streams are used for replay files and ByteBuffers for network frames.
+ *
+ * @author Michael Nguyen
+ * @version Last Modified Oct 17th, 2026
+ */
+public final class Varint
+{
+    private Varint() { }
+
+
+    /**
+     * Writes a non-negative value.
+     */
+    public static void write(DataOutput out, long value) throws IOException
+    {
+        while ((value & ~0x7FL) != 0)
+        {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+
+    /**
+     * Reads a value written by write().
+     */
+    public static long read(DataInput in) throws IOException
+    {
+        long value = 0;
+
+        for (int shift = 0; shift < 64; shift += 7)
+        {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+
+            if ((b & 0x80) == 0) { return value; }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+
+    /**
+     * Reads a value written by write() that must fit in an int.
+     */
+    public static int readInt(DataInput in) throws IOException
+    {
+        long value = read(in);
+        if (value > Integer.MAX_VALUE) { throw new IOException("Varint out of range: " + value); }
+        return (int) value;
+    }
+
+
+    /**
+     * Writes a non-negative value at the buffer's position.
+     */
+    public static void write(ByteBuffer out, long value)
+    {
+        while ((value & ~0x7FL) != 0)
+        {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+
+    /**
+     * Reads a value written by write() from the buffer's position.
+     */
+    public static long read(ByteBuffer in) throws IOException
+    {
+        long value = 0;
+
+        for (int shift = 0; shift < 64; shift += 7)
+        {
+            int b = in.get() & 0xFF;
+            value |= (long) (b & 0x7F) << shift;
+
+            if ((b & 0x80) == 0) { return value; }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+
+    /**
+     * Reads a value written by write() that must fit in an int.
+     */
+    public static int readInt(ByteBuffer in) throws IOException
+    {
+        long value = read(in);
+        if (value > Integer.MAX_VALUE) { throw new IOException("Varint out of range: " + value); }
+        return (int) value;
+    }
+
+
+    /**
+     * Writes a value that may be negative, zigzag encoded: 0, -1, 1, -2, ... become 0, 1, 2, 3, ...
+     */
+    public static void writeSigned(ByteBuffer out, int value)
+    {
+        write(out, ((value << 1) ^ (value >> 31)) & 0xFFFFFFFFL);
+    }
+
+
+    /**
+     * Reads a value written by writeSigned() from the buffer's position.
+     */
+    public static int readSigned(ByteBuffer in) throws IOException
+    {
+        long value = read(in);
+        if (value > 0xFFFFFFFFL) { throw new IOException("Varint out of range: " + value); }
+        return (int) (value >>> 1) ^ -(int) (value & 1);
+    }
+}
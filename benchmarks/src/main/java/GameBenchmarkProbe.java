@@ -0,0 +1,200 @@
+// GameBenchmarkProbe.java
+
+import snake.bench.GameProbe;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+/**
+ * The GameBenchmarkProbe class gives the JMH benchmarks access to the game classes.
+ * For the tick benchmarks the snake follows a circuit that visits every cell of the board,
+ * so it never hits a wall or itself no matter how long it is. The paint benchmarks keep the
+ * game's files in a temporary directory, so they never touch the player's own.
+ *
+ * @author Michael Nguyen
+ * @version Last Modified Oct 17th, 2026
+ */
+public class GameBenchmarkProbe implements GameProbe
+{
+    private GameEngine engine;
+    private int targetLength;
+    private int lastRow;            // Last row of the circuit, chosen so the row count is even
+    private int lastColumn;
+    private GameWindow gameWindow;
+    private Path dataDirectory;     // Temporary home of the paint benchmark's leaderboard and saves
+    private BufferedImage canvas;
+    private Graphics2D graphics;
+
+
+    public void setUpSnake(int length)
+    {
+        // Leave about as many free cells as there are segments, so the snake never fills the board
+        int side = (int) Math.ceil(Math.sqrt(2.0 * length + 1000)) + 3;
+        GameSettings settings = new GameSettings(Color.BLACK, 100, 0.0, side * 20, side * 20);
+
+        this.targetLength = length;
+        this.lastColumn = side - 1;
+        this.lastRow = (side - 1) % 2 == 0 ? side - 2 : side - 3;
+        this.engine = new GameEngine(settings);
+
+        growSnake();
+    }
+
+
+    public int tick()
+    {
+        TickResult result = engine.tick(nextDirection());
+
+        // Food eaten along the circuit slowly grows the snake; start over once it has doubled
+        if (result.hasDied() || engine.getSnake().getLength() > 2 * targetLength)
+        {
+            engine.reset();
+            growSnake();
+        }
+        return engine.getScore();
+    }
+
+
+    public int detectCollision()
+    {
+        Snake snake = engine.getSnake();
+        BoardGrid grid = engine.getGrid();
+
+        int count = grid.getSnakeCount(snake.getHeadX(), snake.getHeadY());
+        return grid.isPoison(snake.getHeadX(), snake.getHeadY()) ? -count : count;
+    }
+
+
+    public int spawnFood()
+    {
+        ConsumableFood food = engine.getFood();
+
+        food.generateNewPosition(engine.getGrid());
+        return food.getX();
+    }
+
+
+    public void setUpPaint(int poisonCount)
+    {
+        try
+        {
+            this.dataDirectory = Files.createTempDirectory("snake-bench");
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+
+        GameSettings settings = new GameSettings();
+        HighScoreStore store = new HighScoreStore(dataDirectory.resolve("leaderboard.dat"));
+        this.gameWindow = new GameWindow(settings, new ScoreBoard(settings, store), dataDirectory);
+
+        // Painting is culled to the panel's size, and a panel that is never shown has none
+        gameWindow.setSize(settings.getViewWidth(), settings.getViewHeight());
+
+        for (int i = 0; i < poisonCount; i++)
+        {
+            gameWindow.getEngine().spawnPoisonApple();
+        }
+
+        this.canvas = new BufferedImage(settings.getViewWidth(), settings.getViewHeight(), BufferedImage.TYPE_INT_RGB);
+        this.graphics = canvas.createGraphics();
+        checkPaintCoversView();
+    }
+
+
+    public void paint()
+    {
+        gameWindow.paintComponent(graphics);
+    }
+
+
+    public void tearDownPaint()
+    {
+        graphics.dispose();
+
+        // The leaderboard is opened on the DiskWriter thread; let it finish before deleting its file
+        CompletableFuture.runAsync(() -> { }, DiskWriter.executor()).join();
+
+        try (Stream<Path> walk = Files.walk(dataDirectory))
+        {
+            // Files before the directories holding them
+            List<Path> files = walk.sorted(Comparator.reverseOrder()).toList();
+            for (Path file : files) { Files.delete(file); }
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+
+    // Helper Methods
+
+    /**
+     * Paints once over a marker colour and checks that every pixel of the view was drawn,
+     * so the benchmark cannot end up timing an empty paint.
+     */
+    private void checkPaintCoversView()
+    {
+        int marker = 0xFF00FF;
+        graphics.setColor(new Color(marker));
+        graphics.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        paint();
+
+        int[] pixels = canvas.getRGB(0, 0, canvas.getWidth(), canvas.getHeight(), null, 0, canvas.getWidth());
+        for (int pixel : pixels)
+        {
+            if ((pixel & 0xFFFFFF) == marker) { throw new IllegalStateException("Paint left part of the view undrawn"); }
+        }
+    }
+
+
+    /**
+     * Ticks the fresh engine along the circuit, growing every step, until the snake is long enough.
+     */
+    private void growSnake()
+    {
+        while (engine.getSnake().getLength() < targetLength)
+        {
+            TickResult result = engine.tick(nextDirection());
+
+            if (result.hasDied()) { throw new IllegalStateException("Snake left the circuit"); }
+            if (!result.hasAteFood()) { engine.getSnake().grow(); }
+        }
+    }
+
+
+    /**
+     * Finds the direction that keeps the head on the circuit. The circuit snakes right and left
+     * across the rows from the top, then returns up along the first column.
+     *
+     * @return  Direction for the next tick.
+     */
+    private Snake.Direction nextDirection()
+    {
+        Snake snake = engine.getSnake();
+        int column = snake.getHeadX() / 20;
+        int row = snake.getHeadY() / 20;
+
+        if (column == 1)
+        {
+            return row == 0 ? Snake.Direction.RIGHT : Snake.Direction.UP;
+        }
+
+        if (row % 2 == 0)
+        {
+            return column < lastColumn ? Snake.Direction.RIGHT : Snake.Direction.DOWN;
+        }
+
+        if (column > 2 || row == lastRow) { return Snake.Direction.LEFT; }
+        return Snake.Direction.DOWN;
+    }
+}
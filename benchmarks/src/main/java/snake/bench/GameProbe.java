@@ -0,0 +1,75 @@
+package snake.bench;
+
+/**
+ * The GameProbe interface is the bridge between the benchmarks and the game.
+ * JMH refuses benchmarks in the default package and the game classes live there,
+ * so the benchmarks drive the game through this interface. The implementation,
+ * GameBenchmarkProbe, sits in the default package and is loaded by name.
+ *
+ * @author Michael Nguyen
+ * @version Last Modified Oct 17th, 2026
+ */
+public interface GameProbe
+{
+    /**
+     * Starts a game whose snake has the given length and circles the board forever.
+     *
+     * @param   length  Number of snake segments.
+     */
+    void setUpSnake(int length);
+
+    /**
+     * Runs one engine tick along the snake's circuit.
+     *
+     * @return  The current score, to be consumed by the benchmark.
+     */
+    int tick();
+
+    /**
+     * Runs the self and poison collision checks for the current head.
+     *
+     * @return  A value derived from the checks, to be consumed by the benchmark.
+     */
+    int detectCollision();
+
+    /**
+     * Moves the food to a new free cell.
+     *
+     * @return  The x coordinate of the food, to be consumed by the benchmark.
+     */
+    int spawnFood();
+
+    /**
+     * Creates an offscreen GameWindow, with its files in a temporary directory, and fills
+     * the board with poison apples.
+     *
+     * @param   poisonCount     Number of poison apples on the board.
+     */
+    void setUpPaint(int poisonCount);
+
+    /**
+     * Paints the GameWindow into an offscreen image.
+     */
+    void paint();
+
+    /**
+     * Deletes the files the offscreen GameWindow kept.
+     */
+    void tearDownPaint();
+
+
+    /**
+     * @return  A new instance of the default-package probe.
+     */
+    static GameProbe create()
+    {
+        try
+        {
+            return (GameProbe) Class.forName("GameBenchmarkProbe").getDeclaredConstructor().newInstance();
+        }
+        catch (ReflectiveOperationException e)
+        {
+            throw new IllegalStateException("GameBenchmarkProbe is missing from the classpath", e);
+        }
+    }
+}
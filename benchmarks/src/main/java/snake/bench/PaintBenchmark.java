@@ -0,0 +1,47 @@
+package snake.bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures GameWindow.paintComponent drawing into an offscreen image with a growing number of poison apples.
+ *
+ * @author Michael Nguyen
+ * @version Last Modified Oct 17th, 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class PaintBenchmark
+{
+    @Param({ "0", "10", "100", "500" })
+    public int poisonCount;
+
+    private GameProbe probe;
+
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        probe = GameProbe.create();
+        probe.setUpPaint(poisonCount);
+    }
+
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        probe.tearDownPaint();
+    }
+
+
+    @Benchmark
+    public void paint()
+    {
+        probe.paint();
+    }
+}
@@ -0,0 +1,63 @@
+package snake.bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-tick and per-spawn cost of the game engine for short and very long snakes.
+ *
+ * @author Michael Nguyen
+ * @version Last Modified Oct 17th, 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TickBenchmark
+{
+    @Param({ "10", "1000", "100000" })
+    public int length;
+
+    private GameProbe probe;
+
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        probe = GameProbe.create();
+        probe.setUpSnake(length);
+    }
+
+
+    /**
+     * One full engine tick: move, food, wall, self and poison checks.
+     */
+    @Benchmark
+    public int tick()
+    {
+        return probe.tick();
+    }
+
+
+    /**
+     * The self and poison collision checks on their own.
+     */
+    @Benchmark
+    public int detectCollision()
+    {
+        return probe.detectCollision();
+    }
+
+
+    /**
+     * Placing food on a random free cell.
+     */
+    @Benchmark
+    public int spawnFood()
+    {
+        return probe.spawnFood();
+    }
+}
@@ -0,0 +1,161 @@
+// ArenaProtocolTest.java
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests of the multiplayer protocol: frame layout, encoding into a growing scratch buffer,
+ * and clients rebuilding the arena from keyframes and deltas without a state hash mismatch.
+ *
+ * @author Michael Nguyen
+ * @version Last Modified Oct 17th, 2026
+ */
+class ArenaProtocolTest
+{
+    @Test
+    void framesStartWithTheirLengthAndType()
+    {
+        ByteBuffer out = ByteBuffer.allocate(64);
+        ArenaProtocol.writeJoin(out, "room");
+        ArenaProtocol.writeInput(out, Snake.Direction.LEFT);
+        out.flip();
+
+        assertEquals(1 + 4, out.getInt());
+        assertEquals(ArenaProtocol.JOIN, out.get());
+        byte[] name = new byte[4];
+        out.get(name);
+        assertEquals("room", new String(name, StandardCharsets.UTF_8));
+
+        assertEquals(1 + 1, out.getInt());
+        assertEquals(ArenaProtocol.INPUT, out.get());
+        assertEquals(Snake.Direction.LEFT.ordinal(), out.get());
+        assertFalse(out.hasRemaining());
+    }
+
+
+    @Test
+    void welcomeDescribesTheArena() throws IOException
+    {
+        ArenaEngine arena = new ArenaEngine(settings(40), 6, 1L);
+        ByteBuffer frame = ArenaProtocol.encode(new ByteBuffer[] { ByteBuffer.allocate(64) },
+                out -> ArenaProtocol.writeWelcome(out, arena, 2));
+
+        assertEquals(frame.remaining() - 4, frame.getInt());
+        assertEquals(ArenaProtocol.WELCOME, frame.get());
+        assertEquals(3, Varint.readInt(frame));
+        assertEquals(40, Varint.readInt(frame));
+        assertEquals(40, Varint.readInt(frame));
+        assertEquals(6, Varint.readInt(frame));
+        assertEquals(arena.getFoodCount(), Varint.readInt(frame));
+        assertFalse(frame.hasRemaining());
+    }
+
+
+    @Test
+    void encodeGrowsTheScratchBufferForLargeFrames()
+    {
+        ArenaEngine arena = new ArenaEngine(settings(200), 64, 2L);
+        for (int tick = 0; tick < 50; tick++) { arena.tick(); }
+
+        ByteBuffer[] scratch = { ByteBuffer.allocate(16) };
+        ByteBuffer frame = ArenaProtocol.encode(scratch, out -> ArenaProtocol.writeKeyframe(out, arena));
+
+        assertTrue(scratch[0].capacity() >= frame.remaining());
+        assertEquals(0, frame.position());
+        assertEquals(frame.remaining() - 4, frame.getInt(0));
+        assertEquals(ArenaProtocol.KEYFRAME, frame.get(4));
+
+        // The same state encodes to the same bytes with the grown buffer
+        assertEquals(frame, ArenaProtocol.encode(scratch, out -> ArenaProtocol.writeKeyframe(out, arena)));
+    }
+
+
+    @Test
+    void deltaEndsWithTheStateHash()
+    {
+        ArenaEngine arena = new ArenaEngine(settings(40), 6, 3L);
+        ArenaProtocol.DeltaEncoder delta = new ArenaProtocol.DeltaEncoder(arena);
+        ByteBuffer[] scratch = { ByteBuffer.allocate(64) };
+
+        for (int tick = 0; tick < 200 && !arena.isGameOver(); tick++)
+        {
+            arena.tick();
+            ByteBuffer frame = ArenaProtocol.encode(scratch, delta::write);
+
+            assertEquals(ArenaProtocol.DELTA, frame.get(4));
+            assertEquals(delta.stateHash(), frame.getLong(frame.limit() - 8));
+        }
+    }
+
+
+    @Test
+    @Timeout(60)
+    void clientsRebuildTheArenaWithoutMismatches() throws Exception
+    {
+        try (GameServer server = new GameServer(new InetSocketAddress("127.0.0.1", 0), settings(30), 8))
+        {
+            server.start();
+            InetSocketAddress address = new InetSocketAddress("127.0.0.1", server.getPort());
+
+            try (HeadlessClient player = new HeadlessClient(address, "test");
+                 HeadlessClient other = new HeadlessClient(address, "test"))
+            {
+                assertEquals(ArenaProtocol.WELCOME, player.readFrame());
+                assertEquals(ArenaProtocol.KEYFRAME, player.readFrame());
+                assertEquals(ArenaProtocol.WELCOME, other.readFrame());
+                assertEquals(ArenaProtocol.KEYFRAME, other.readFrame());
+                assertTrue(player.getSeat() >= 0);
+                assertNotEquals(player.getSeat(), other.getSeat());
+
+                for (int frame = 0; frame < 500; frame++)
+                {
+                    for (HeadlessClient client : new HeadlessClient[] { player, other })
+                    {
+                        if (client.readFrame() != ArenaProtocol.DELTA) { continue; }
+
+                        Snake.Direction turn = client.chooseTurn();
+                        if (turn != null) { client.sendTurn(turn); }
+                    }
+                }
+
+                assertEquals(0, player.getMismatches());
+                assertEquals(0, other.getMismatches());
+                assertTrue(player.getTick() > 0);
+            }
+        }
+    }
+
+
+    @Test
+    void serverClosedBeforeStartingReleasesItsPort() throws IOException
+    {
+        GameServer server = new GameServer(new InetSocketAddress("127.0.0.1", 0), settings(30), 8);
+        int port = server.getPort();
+        server.close();
+
+        assertThrows(IllegalStateException.class, server::start);
+        try (ServerSocketChannel channel = ServerSocketChannel.open())
+        {
+            channel.bind(new InetSocketAddress("127.0.0.1", port));
+        }
+    }
+
+
+    // Helper Methods
+
+    private static GameSettings settings(int cells)
+    {
+        GameSettings settings = new GameSettings(Color.BLACK, 2, 0.3);
+        settings.setBoardSize(cells, cells);
+        return settings;
+    }
+}
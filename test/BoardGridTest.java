@@ -0,0 +1,257 @@
+// BoardGridTest.java
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests of the BoardGrid occupancy index against a plain model of the board, in particular
+ * the O(1) epoch clear of poison and the lazy reclaim of stale poison cells.
+ *
+ * @author Michael Nguyen
+ * @version Last Modified Oct 17th, 2026
+ */
+class BoardGridTest
+{
+    private static final int RECLAIM_BATCH = 64;        // Matches BoardGrid.RECLAIM_BATCH
+
+
+    @Test
+    void gridMatchesModelThroughRandomUpdatesWithFreeSet()
+    {
+        GameSettings settings = new GameSettings();
+        settings.setBoardSize(30, 20);
+        new Model(settings, 11L).run(20_000);
+    }
+
+
+    @Test
+    void gridMatchesModelThroughRandomUpdatesWithoutFreeSet()
+    {
+        GameSettings settings = new GameSettings();
+        settings.setBoardSize(2100, 2100);
+        Model model = new Model(settings, 12L);
+        assertFalse(model.grid.hasFreeSet());
+        model.run(5_000);
+    }
+
+
+    @Test
+    void clearIsLazyAndStaleCellsAreReclaimedBySpawns()
+    {
+        GameSettings settings = new GameSettings();
+        settings.setBoardSize(50, 50);
+        BoardGrid grid = new BoardGrid(settings);
+        GameRandom random = new GameRandom(3L);
+        int empty = grid.getFreeCount();
+
+        int poison = 500;
+        for (int i = 0; i < poison; i++)
+        {
+            int cell = grid.randomFreeCell(random);
+            grid.addPoison(grid.getCellX(cell), grid.getCellY(cell));
+        }
+        assertEquals(poison, grid.getPoisonCount());
+        assertEquals(empty - poison, grid.getFreeCount());
+
+        // The clear takes the poison off the board, but its cells come back only as spawns reclaim them
+        grid.clearPoison();
+        assertEquals(0, grid.getPoisonCount());
+        assertEquals(1, grid.getPoisonClears());
+        assertEquals(empty - poison, grid.getFreeCount());
+        for (int cell = 0; cell < grid.getColumns() * grid.getRows(); cell++)
+        {
+            assertFalse(grid.isPoison(grid.getCellX(cell), grid.getCellY(cell)));
+        }
+
+        grid.randomFreeCell(random);
+        assertEquals(empty - poison + RECLAIM_BATCH, grid.getFreeCount());
+
+        for (int i = 0; i < poison / RECLAIM_BATCH; i++) { grid.randomFreeCell(random); }
+        assertEquals(empty, grid.getFreeCount());
+
+        // A second clear reclaims whatever the first left, since their bit is reused
+        int cell = grid.randomFreeCell(random);
+        grid.addPoison(grid.getCellX(cell), grid.getCellY(cell));
+        grid.clearPoison();
+        grid.clearPoison();
+        assertFalse(grid.isOccupied(grid.getCellX(cell), grid.getCellY(cell)));
+        assertEquals(empty, grid.getFreeCount());
+    }
+
+
+    @Test
+    void removePoisonFreesEveryCellAtOnce()
+    {
+        GameSettings settings = new GameSettings();
+        settings.setBoardSize(40, 40);
+        BoardGrid grid = new BoardGrid(settings);
+        GameRandom random = new GameRandom(4L);
+        int empty = grid.getFreeCount();
+
+        for (int i = 0; i < 1000; i++)
+        {
+            int cell = grid.randomFreeCell(random);
+            grid.addPoison(grid.getCellX(cell), grid.getCellY(cell));
+        }
+        grid.removePoison();
+
+        assertEquals(0, grid.getPoisonCount());
+        assertEquals(empty, grid.getFreeCount());
+    }
+
+
+    // Helper Methods
+
+    /**
+     * A plain model of the board: segment counts, food and the poison of the current epoch.
+     * Random updates go to both the grid and the model, and their answers are compared on
+     * every cell an update ever touched.
+     */
+    private static final class Model
+    {
+        final BoardGrid grid;
+        final GameRandom random;
+        final int size;
+        final int columns;
+        final int rows;
+        final int[] snake;
+        final boolean[] food;
+        final boolean[] poison;
+        final boolean[] seen;
+        final int spawnCells;
+        int[] touched = new int[64];
+        int touchedCount;
+        int poisonCount;
+
+
+        Model(GameSettings settings, long seed)
+        {
+            this.grid = new BoardGrid(settings);
+            this.random = new GameRandom(seed);
+            this.size = settings.getSegmentSize();
+            this.columns = grid.getColumns();
+            this.rows = grid.getRows();
+            this.snake = new int[columns * rows];
+            this.food = new boolean[columns * rows];
+            this.poison = new boolean[columns * rows];
+            this.seen = new boolean[columns * rows];
+            this.spawnCells = grid.getFreeCount();
+        }
+
+
+        void run(int steps)
+        {
+            for (int step = 0; step < steps; step++)
+            {
+                int choice = random.nextInt(100);
+
+                if (choice < 30)
+                {
+                    int cell = random.nextInt(columns * rows);
+                    if (snake[cell] < 8)
+                    {
+                        grid.addSnake(x(cell), y(cell));
+                        snake[cell]++;
+                        touch(cell);
+                    }
+                }
+                else if (choice < 50 && touchedCount > 0)
+                {
+                    int cell = touched[random.nextInt(touchedCount)];
+                    grid.removeSnake(x(cell), y(cell));
+                    if (snake[cell] > 0) { snake[cell]--; }
+                }
+                else if (choice < 80)
+                {
+                    int cell = grid.randomFreeCell(random);
+                    if (cell < 0) { continue; }
+                    assertTrue(isEmpty(cell) && isSpawn(cell), "spawned on a taken cell " + cell);
+                    touch(cell);
+
+                    if (choice < 75)
+                    {
+                        grid.addPoison(x(cell), y(cell));
+                        poison[cell] = true;
+                        poisonCount++;
+                    }
+                    else
+                    {
+                        grid.setFood(x(cell), y(cell), true);
+                        food[cell] = true;
+                    }
+                }
+                else if (choice < 85 && touchedCount > 0)
+                {
+                    int cell = touched[random.nextInt(touchedCount)];
+                    grid.setFood(x(cell), y(cell), false);
+                    food[cell] = false;
+                }
+                else if (choice >= 98)
+                {
+                    if (choice == 98) { grid.clearPoison(); }
+                    else { grid.removePoison(); }
+                    Arrays.fill(poison, false);
+                    poisonCount = 0;
+                }
+
+                check(step, choice == 99);
+            }
+
+            grid.removePoison();
+            Arrays.fill(poison, false);
+            poisonCount = 0;
+            check(steps, true);
+        }
+
+
+        /**
+         * Compares the grid with the model. Stale poison waiting to be reclaimed is missing
+         * from the free count, so it only matches exactly right after removePoison().
+         */
+        void check(int step, boolean fullyReclaimed)
+        {
+            assertEquals(poisonCount, grid.getPoisonCount(), "step " + step);
+
+            int free = spawnCells;
+            for (int i = 0; i < touchedCount; i++)
+            {
+                int cell = touched[i];
+                assertEquals(snake[cell], grid.getSnakeCount(x(cell), y(cell)), "step " + step);
+                assertEquals(food[cell], grid.isFood(x(cell), y(cell)), "step " + step);
+                assertEquals(poison[cell], grid.isPoison(x(cell), y(cell)), "step " + step);
+                if (fullyReclaimed) { assertEquals(!isEmpty(cell), grid.isOccupied(x(cell), y(cell)), "step " + step); }
+
+                if (!isEmpty(cell) && isSpawn(cell)) { free--; }
+            }
+
+            if (fullyReclaimed) { assertEquals(free, grid.getFreeCount(), "step " + step); }
+            else { assertTrue(grid.getFreeCount() <= free, "step " + step); }
+        }
+
+
+        void touch(int cell)
+        {
+            if (seen[cell]) { return; }
+            seen[cell] = true;
+
+            if (touchedCount == touched.length) { touched = Arrays.copyOf(touched, touchedCount * 2); }
+            touched[touchedCount++] = cell;
+        }
+
+        boolean isEmpty(int cell) { return snake[cell] == 0 && !food[cell] && !poison[cell]; }
+
+        boolean isSpawn(int cell)
+        {
+            int column = cell % columns;
+            int row = cell / columns;
+            return column > 0 && column < columns - 1 && row > 0 && row < rows - 1;
+        }
+
+        int x(int cell) { return (cell % columns) * size; }
+
+        int y(int cell) { return (cell / columns) * size; }
+    }
+}
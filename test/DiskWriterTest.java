@@ -0,0 +1,92 @@
+// DiskWriterTest.java
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests of the DiskWriter's atomic file replacement.
+ *
+ * @author Michael Nguyen
+ * @version Last Modified Oct 17th, 2026
+ */
+class DiskWriterTest
+{
+    @TempDir
+    Path directory;
+
+
+    @Test
+    void writeReplacesTheFileAndLeavesNoTemporaryFile() throws IOException
+    {
+        Path file = directory.resolve("data.txt");
+
+        DiskWriter.writeAtomically(file, bytes("first"));
+        DiskWriter.writeAtomically(file, bytes("second"));
+
+        assertEquals("second", Files.readString(file));
+        assertEquals(List.of(file), listFiles(directory));
+    }
+
+
+    @Test
+    void writesQueuedInQuickSuccessionLeaveOnlyTheLatest() throws IOException
+    {
+        Path file = directory.resolve("data.txt");
+
+        for (int i = 0; i < 200; i++)
+        {
+            byte[] data = bytes("write " + i);
+            DiskWriter.execute(() ->
+            {
+                try
+                {
+                    DiskWriter.writeAtomically(file, data);
+                }
+                catch (IOException e)
+                {
+                    throw new RuntimeException(e);
+                }
+            });
+        }
+        waitForDiskWriter();
+
+        assertEquals("write 199", Files.readString(file));
+        assertEquals(List.of(file), listFiles(directory));
+    }
+
+
+    // Helper Methods
+
+    /**
+     * Waits until every task queued on the DiskWriter so far has run.
+     */
+    static void waitForDiskWriter()
+    {
+        CompletableFuture.runAsync(() -> { }, DiskWriter.executor()).join();
+    }
+
+
+    /**
+     * @return  Every file in a directory
+     */
+    static List<Path> listFiles(Path directory) throws IOException
+    {
+        try (Stream<Path> files = Files.list(directory))
+        {
+            return files.sorted().toList();
+        }
+    }
+
+
+    private static byte[] bytes(String text) { return text.getBytes(StandardCharsets.UTF_8); }
+}
@@ -0,0 +1,80 @@
+// GameEngineTest.java
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests of the GameEngine rules, driving the snake tick by tick.
+ *
+ * @author Michael Nguyen
+ * @version Last Modified Oct 17th, 2026
+ */
+class GameEngineTest
+{
+    @Test
+    void passingBesideTheFoodDoesNotEatIt()
+    {
+        GameSettings settings = new GameSettings(Color.BLACK, 100, 0.0);
+        int size = settings.getSegmentSize();
+
+        // The apple lands anywhere, so start over until the cells around it are open
+        GameEngine engine;
+        do { engine = new GameEngine(settings); } while (!isAwayFromWalls(engine.getFood(), settings));
+
+        Snake snake = engine.getSnake();
+        int foodX = engine.getFood().getX();
+        int foodY = engine.getFood().getY();
+
+        // Pick the row right above the food, or right below it if the snake is already there
+        int row = foodY - size;
+        if (row == snake.getHeadY()) { row = foodY + size; }
+
+        // Leave the food's column first, so the way to the row cannot cross the food
+        if (snake.getHeadX() == foodX) { step(engine, Snake.Direction.RIGHT); }
+        while (snake.getHeadY() != row)
+        {
+            step(engine, snake.getHeadY() < row ? Snake.Direction.DOWN : Snake.Direction.UP);
+        }
+
+        // Run along the row into the cell beside the food
+        Snake.Direction along = snake.getHeadX() < foodX ? Snake.Direction.RIGHT : Snake.Direction.LEFT;
+        while (snake.getHeadX() != foodX) { step(engine, along); }
+
+        assertEquals(0, engine.getScore());
+        assertEquals(2, snake.getLength());
+        assertEquals(foodX, engine.getFood().getX());
+        assertEquals(foodY, engine.getFood().getY());
+
+        // Turning into the food's cell eats it
+        TickResult result = engine.tick(row > foodY ? Snake.Direction.UP : Snake.Direction.DOWN);
+        assertTrue(result.hasAteFood());
+        assertTrue(engine.getScore() > 0);
+    }
+
+
+    // Helper Methods
+
+    /**
+     * @return  True if the rows above and below the food, and the columns beside it, are inside the walls
+     */
+    private static boolean isAwayFromWalls(Food food, GameSettings settings)
+    {
+        int size = settings.getSegmentSize();
+        return food.getX() >= 2 * size && food.getX() < settings.getWidth() - size
+                && food.getY() >= size && food.getY() < settings.getHeight() - 2 * size;
+    }
+
+
+    /**
+     * Runs one tick in the given direction and checks that it did not end the game or eat anything.
+     */
+    private static void step(GameEngine engine, Snake.Direction direction)
+    {
+        TickResult result = engine.tick(direction);
+        assertFalse(result.hasDied());
+        assertFalse(result.hasAteFood());
+    }
+}
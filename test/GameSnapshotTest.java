@@ -0,0 +1,208 @@
+// GameSnapshotTest.java
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests of GameEngine snapshots: a restored game matches the saved one and plays on
+ * identically, and snapshots that are truncated, malformed or from other settings are
+ * rejected without touching the game.
+ *
+ * @author Michael Nguyen
+ * @version Last Modified Oct 17th, 2026
+ */
+class GameSnapshotTest
+{
+    private final GreedyPlayer player = new GreedyPlayer();
+
+
+    @Test
+    void restoredGameMatchesAndPlaysOnIdentically() throws IOException
+    {
+        GameSettings settings = new GameSettings();
+        settings.setPoisonPerApple(3);
+        assertPlaysOnIdentically(settings, 400);
+    }
+
+
+    @Test
+    void restoredGameOnBoardWithoutFreeSetPlaysOnIdentically() throws IOException
+    {
+        // Too many cells to keep a set of free cells, so only the old cells are cleared
+        GameSettings settings = new GameSettings();
+        settings.setBoardSize(2100, 2100);
+        assertPlaysOnIdentically(settings, 400);
+    }
+
+
+    @Test
+    void snapshotRoundTripsThroughLongGames() throws IOException
+    {
+        GameSettings settings = new GameSettings();
+        GameEngine original = new GameEngine(settings, 7L);
+        GameEngine restored = new GameEngine(settings, 8L);
+
+        for (int tick = 0; tick < 20_000; tick++)
+        {
+            original.tick(player.decide(original));
+            if (tick % 97 == 0 || original.isGameOver())
+            {
+                byte[] snapshot = original.saveSnapshot();
+                restored.restoreSnapshot(snapshot);
+
+                assertEquals(original.getStateHash(), restored.getStateHash());
+                assertEquals(original.getGrid().getFreeCount(), restored.getGrid().getFreeCount());
+                assertEquals(original.isGameOver(), restored.isGameOver());
+                assertArrayEquals(snapshot, restored.saveSnapshot());
+            }
+            if (original.isGameOver()) { original.reset(); }
+        }
+    }
+
+
+    @Test
+    void truncatedSnapshotsAreRejectedWithoutChangingTheGame()
+    {
+        GameEngine engine = playedEngine(new GameSettings(), 300);
+        byte[] snapshot = engine.saveSnapshot();
+
+        GameEngine target = playedEngine(new GameSettings(), 50);
+        long hash = target.getStateHash();
+
+        for (int length = 0; length < snapshot.length; length++)
+        {
+            byte[] truncated = Arrays.copyOf(snapshot, length);
+            assertThrows(IOException.class, () -> target.restoreSnapshot(truncated), "length " + length);
+            assertEquals(hash, target.getStateHash());
+        }
+    }
+
+
+    @Test
+    void snapshotsFromOtherSettingsAreRejected()
+    {
+        GameSettings easy = SettingsWindow.createDifficultySettings(0, Color.BLACK);
+        easy.setDifficulty(GameSettings.Difficulty.EASY);
+        byte[] snapshot = playedEngine(easy, 100).saveSnapshot();
+
+        // Same board and segment size, other difficulty
+        GameSettings insane = SettingsWindow.createDifficultySettings(2, Color.BLACK);
+        insane.setDifficulty(GameSettings.Difficulty.INSANE);
+        GameEngine insaneGame = new GameEngine(insane, 1L);
+        assertFalse(insaneGame.canRestore(snapshot));
+        assertThrows(IOException.class, () -> insaneGame.restoreSnapshot(snapshot));
+
+        // Same settings marked as another difficulty
+        GameSettings custom = SettingsWindow.createDifficultySettings(0, Color.BLACK);
+        assertFalse(new GameEngine(custom, 1L).canRestore(snapshot));
+
+        // Other board size
+        GameSettings large = SettingsWindow.createDifficultySettings(0, Color.BLACK);
+        large.setDifficulty(GameSettings.Difficulty.EASY);
+        large.setBoardSize(40, 40);
+        assertFalse(new GameEngine(large, 1L).canRestore(snapshot));
+
+        assertTrue(new GameEngine(easy, 1L).canRestore(snapshot));
+    }
+
+
+    @Test
+    void malformedSnapshotsAreRejected()
+    {
+        GameEngine engine = new GameEngine(new GameSettings(), 1L);
+        byte[] snapshot = engine.saveSnapshot();
+
+        byte[] badMagic = snapshot.clone();
+        badMagic[0] ^= 1;
+        assertThrows(IOException.class, () -> engine.restoreSnapshot(badMagic));
+
+        byte[] badVersion = snapshot.clone();
+        badVersion[4] = (byte) (GameEngine.SNAPSHOT_VERSION + 1);
+        assertThrows(IOException.class, () -> engine.restoreSnapshot(badVersion));
+
+        assertThrows(IOException.class, () -> engine.restoreSnapshot(new byte[0]));
+    }
+
+
+    @Test
+    void lengthLargerThanTheSnapshotIsRejectedBeforeAllocating()
+    {
+        GameSettings settings = new GameSettings();
+        settings.setBoardSize(10_000, 10_000);
+        GameEngine engine = new GameEngine(settings, 1L);
+
+        // A header for this board claiming a snake that fills it, with no segments after it
+        ByteBuffer out = ByteBuffer.allocate(128);
+        out.putInt(GameEngine.SNAPSHOT_MAGIC);
+        out.put((byte) GameEngine.SNAPSHOT_VERSION);
+        Varint.write(out, 10_000);
+        Varint.write(out, 10_000);
+        Varint.write(out, settings.getSegmentSize());
+        out.putLong(settings.getProfileId());
+        out.put((byte) settings.getDifficulty().ordinal());
+        out.putLong(1L);
+        out.putLong(2L);
+        Varint.write(out, 0);
+        Varint.write(out, settings.getGameDelay());
+        Varint.write(out, 0);
+        out.put((byte) 0);
+        out.put((byte) Snake.Direction.RIGHT.ordinal());
+        Varint.write(out, 100_000_000);
+        Varint.writeSigned(out, 5);
+        Varint.writeSigned(out, 5);
+        byte[] hostile = Arrays.copyOf(out.array(), out.position());
+
+        IOException e = assertThrows(IOException.class, () -> engine.restoreSnapshot(hostile));
+        assertTrue(e.getMessage().startsWith("Bad length"), e.getMessage());
+    }
+
+
+    // Helper Methods
+
+    /**
+     * Saves a game part way, restores the snapshot into a fresh engine and back into the
+     * original, then checks both play on tick for tick.
+     */
+    private void assertPlaysOnIdentically(GameSettings settings, int ticks) throws IOException
+    {
+        GameEngine original = playedEngine(settings, 200);
+        byte[] snapshot = original.saveSnapshot();
+        long hash = original.getStateHash();
+
+        GameEngine restored = new GameEngine(settings, 12345L);
+        restored.restoreSnapshot(snapshot);
+        assertEquals(hash, restored.getStateHash());
+
+        // Restarting the original from the checkpoint puts it on the same course
+        original.restoreSnapshot(snapshot);
+        assertEquals(hash, original.getStateHash());
+
+        for (int tick = 0; tick < ticks && !original.isGameOver(); tick++)
+        {
+            original.tick(player.decide(original));
+            restored.tick(player.decide(restored));
+            assertEquals(original.getStateHash(), restored.getStateHash(), "tick " + tick);
+        }
+    }
+
+
+    /**
+     * @return  An engine that has played a number of ticks, starting over whenever the snake dies
+     */
+    private GameEngine playedEngine(GameSettings settings, int ticks)
+    {
+        GameEngine engine = new GameEngine(settings, 42L);
+        for (int tick = 0; tick < ticks; tick++)
+        {
+            engine.tick(player.decide(engine));
+            if (engine.isGameOver()) { engine.reset(); }
+        }
+        return engine;
+    }
+}
@@ -0,0 +1,103 @@
+// HighScoreStoreTest.java
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests of the HighScoreStore's write-behind sessions and the import of the old high score file.
+ *
+ * @author Michael Nguyen
+ * @version Last Modified Oct 17th, 2026
+ */
+class HighScoreStoreTest
+{
+    @TempDir
+    Path directory;
+
+
+    @Test
+    void sessionsRecordedInQuickSuccessionAllReachTheLeaderboard() throws Exception
+    {
+        Path file = directory.resolve("leaderboard.dat");
+        HighScoreStore store = new HighScoreStore(file);
+        GameSettings settings = new GameSettings();
+        int[] scores = { 40, 90, 10, 70, 90, 20 };
+
+        // Hold the writer so every session is waiting when it gets to them
+        CountDownLatch release = new CountDownLatch(1);
+        DiskWriter.execute(() -> awaitQuietly(release));
+        for (int score : scores) { store.record(settings, score, score / 10); }
+        release.countDown();
+        DiskWriterTest.waitForDiskWriter();
+
+        LeaderboardStore leaderboard = store.open().join();
+        long profileId = settings.getProfileId();
+        int difficulty = settings.getDifficulty().ordinal();
+
+        assertEquals(scores.length, leaderboard.getSessionCount());
+        assertEquals(scores.length, leaderboard.getRecordCount(profileId, difficulty));
+        assertEquals(90, store.loadHighScore(settings).join());
+        assertEquals(10, leaderboard.getScore(profileId, difficulty, scores.length - 1));
+        assertEquals(List.of(file), DiskWriterTest.listFiles(directory));
+    }
+
+
+    @Test
+    void highScoresAreKeptPerDifficulty()
+    {
+        HighScoreStore store = new HighScoreStore(directory.resolve("leaderboard.dat"));
+        GameSettings easy = new GameSettings();
+        easy.setDifficulty(GameSettings.Difficulty.EASY);
+        GameSettings insane = new GameSettings();
+        insane.setDifficulty(GameSettings.Difficulty.INSANE);
+
+        store.record(easy, 150, 12);
+        store.record(insane, 30, 4);
+        DiskWriterTest.waitForDiskWriter();
+
+        assertEquals(150, store.loadHighScore(easy).join());
+        assertEquals(30, store.loadHighScore(insane).join());
+    }
+
+
+    @Test
+    void oldHighScoreFileIsImportedOnce() throws IOException
+    {
+        Path legacy = directory.resolve("highscore.txt");
+        Files.writeString(legacy, "120" + System.lineSeparator());
+
+        GameSettings defaults = new GameSettings();
+        defaults.setDifficulty(GameSettings.Difficulty.EASY);
+
+        HighScoreStore store = new HighScoreStore(directory.resolve("leaderboard.dat"), legacy);
+        assertEquals(120, store.loadHighScore(defaults).join());
+
+        // The leaderboard exists now, so a changed old file is left alone
+        Files.writeString(legacy, "500");
+        HighScoreStore reopened = new HighScoreStore(directory.resolve("leaderboard.dat"), legacy);
+        assertEquals(120, reopened.loadHighScore(defaults).join());
+    }
+
+
+    // Helper Methods
+
+    private static void awaitQuietly(CountDownLatch latch)
+    {
+        try
+        {
+            latch.await();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
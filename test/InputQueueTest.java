@@ -0,0 +1,132 @@
+// InputQueueTest.java
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests of the InputQueue turn rules, playing queued presses into a GameEngine one tick at a
+ * time the way the game loop does.
+ *
+ * @author Michael Nguyen
+ * @version Last Modified Oct 17th, 2026
+ */
+class InputQueueTest
+{
+    private final GameEngine engine = new GameEngine(new GameSettings(Color.BLACK, 100, 0.0));
+    private final Snake snake = engine.getSnake();
+    private final InputQueue input = new InputQueue();
+
+
+    @Test
+    void twoPressesInOneTickAreAppliedOnePerTick()
+    {
+        assertEquals(Snake.Direction.RIGHT, snake.getDirection());
+        input.offer(Snake.Direction.UP);
+        input.offer(Snake.Direction.LEFT);
+
+        // The first turn is not lost to the second, and the second waits for the next tick
+        assertEquals(Snake.Direction.UP, tick());
+        assertEquals(Snake.Direction.UP, snake.getDirection());
+        assertEquals(Snake.Direction.LEFT, tick());
+        assertEquals(Snake.Direction.LEFT, snake.getDirection());
+        assertNull(tick());
+    }
+
+
+    @Test
+    void rightThenLeftInOneTickNeverReverses()
+    {
+        input.offer(Snake.Direction.UP);
+        tick();
+
+        input.offer(Snake.Direction.RIGHT);
+        input.offer(Snake.Direction.LEFT);
+
+        assertEquals(Snake.Direction.RIGHT, tick());
+        int headX = snake.getHeadX();
+
+        // LEFT is now a reversal into the neck, so it is dropped and the snake carries on
+        assertNull(tick());
+        assertEquals(Snake.Direction.RIGHT, snake.getDirection());
+        assertEquals(headX + engine.getSettings().getSegmentSize(), snake.getHeadX());
+        assertFalse(engine.isGameOver());
+    }
+
+
+    @Test
+    void pressesThatChangeNothingDoNotUseUpTheTick()
+    {
+        input.offer(Snake.Direction.RIGHT);     // Already going right
+        input.offer(Snake.Direction.LEFT);      // Reversal
+        input.offer(Snake.Direction.DOWN);
+
+        assertEquals(Snake.Direction.DOWN, tick());
+        assertNull(tick());
+    }
+
+
+    @Test
+    void discardedAndClearedPressesAreNeverPlayed()
+    {
+        input.offer(Snake.Direction.UP);
+        input.discardPending();
+        assertNull(tick());
+
+        input.offer(Snake.Direction.DOWN);
+        input.clear();
+        assertNull(tick());
+
+        input.offer(Snake.Direction.DOWN);
+        assertEquals(Snake.Direction.DOWN, tick());
+    }
+
+
+    @Test
+    void fullQueueDropsFurtherPresses()
+    {
+        int accepted = 0;
+        while (input.offer(accepted % 2 == 0 ? Snake.Direction.UP : Snake.Direction.RIGHT)) { accepted++; }
+        assertEquals(16, accepted);
+
+        // Taking a turn frees its slot
+        assertEquals(Snake.Direction.UP, tick());
+        assertTrue(input.offer(Snake.Direction.DOWN));
+    }
+
+
+    // Helper Methods
+
+    /**
+     * Runs one tick with the next queued turn, as the game loop does.
+     *
+     * @return  The turn applied, or null if the snake went straight
+     */
+    private Snake.Direction tick()
+    {
+        Snake.Direction previous = snake.getDirection();
+        Snake.Direction turn = input.poll(snake);
+        engine.tick(turn);
+
+        assertFalse(engine.isGameOver());
+        assertNotEquals(opposite(previous), snake.getDirection());
+        return turn;
+    }
+
+
+    /**
+     * @return  The direction opposite to another
+     */
+    private static Snake.Direction opposite(Snake.Direction direction)
+    {
+        return switch (direction)
+        {
+            case UP -> Snake.Direction.DOWN;
+            case DOWN -> Snake.Direction.UP;
+            case LEFT -> Snake.Direction.RIGHT;
+            case RIGHT -> Snake.Direction.LEFT;
+        };
+    }
+}
@@ -0,0 +1,158 @@
+// LeaderboardStoreTest.java
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests of the LeaderboardStore file: ranking, eviction from full tables, separate tables per
+ * profile and difficulty, reopening from disk, and rejection of damaged directories.
+ *
+ * @author Michael Nguyen
+ * @version Last Modified Oct 17th, 2026
+ */
+class LeaderboardStoreTest
+{
+    private static final int TABLE_COUNT_OFFSET = 16;   // Matches LeaderboardStore
+
+    @TempDir
+    Path directory;
+
+
+    @Test
+    void scoresAreRankedHighestFirstAndTiesKeepArrivalOrder() throws IOException
+    {
+        try (LeaderboardStore store = new LeaderboardStore(directory.resolve("ranks.dat"), 10, 4))
+        {
+            assertEquals(0, store.insert(1L, 0, 100L, 50, 5));
+            assertEquals(0, store.insert(1L, 0, 200L, 80, 8));
+            assertEquals(2, store.insert(1L, 0, 300L, 10, 1));
+            assertEquals(2, store.insert(1L, 0, 400L, 50, 6));    // After the earlier 50
+
+            assertEquals(4, store.getRecordCount(1L, 0));
+            assertEquals(80, store.getBestScore(1L, 0));
+            assertArrayEquals(new int[] { 80, 50, 50, 10 }, scores(store, 1L, 0));
+            assertEquals(100L, store.getTimestamp(1L, 0, 1));
+            assertEquals(400L, store.getTimestamp(1L, 0, 2));
+            assertEquals(6, store.getLength(1L, 0, 2));
+
+            assertThrows(IndexOutOfBoundsException.class, () -> store.getScore(1L, 0, 4));
+            assertEquals(0, store.getBestScore(2L, 0));
+        }
+    }
+
+
+    @Test
+    void fullTableDropsItsLowestScoreAndRejectsLowerOnes() throws IOException
+    {
+        try (LeaderboardStore store = new LeaderboardStore(directory.resolve("evict.dat"), 3, 4))
+        {
+            store.insert(1L, 0, 1L, 30, 3);
+            store.insert(1L, 0, 2L, 20, 2);
+            store.insert(1L, 0, 3L, 10, 1);
+
+            assertEquals(-1, store.insert(1L, 0, 4L, 10, 1));      // Ties the lowest, which was first
+            assertEquals(-1, store.insert(1L, 0, 5L, 5, 1));
+            assertEquals(1, store.insert(1L, 0, 6L, 25, 4));
+
+            assertArrayEquals(new int[] { 30, 25, 20 }, scores(store, 1L, 0));
+            assertEquals(6, store.getSessionCount());
+        }
+    }
+
+
+    @Test
+    void everyProfileAndDifficultyHasItsOwnTable() throws IOException
+    {
+        try (LeaderboardStore store = new LeaderboardStore(directory.resolve("tables.dat"), 5, 3))
+        {
+            // Pairs whose keys would clash if the profile and difficulty were hashed into one number
+            store.insert(0L, 31, 1L, 100, 1);
+            store.insert(1L, 0, 2L, 200, 1);
+            store.insert(1L, 1, 3L, 300, 1);
+
+            assertEquals(100, store.getBestScore(0L, 31));
+            assertEquals(200, store.getBestScore(1L, 0));
+            assertEquals(300, store.getBestScore(1L, 1));
+
+            // Every table is taken
+            assertEquals(-1, store.insert(2L, 0, 4L, 400, 1));
+            assertEquals(0, store.getRecordCount(2L, 0));
+        }
+    }
+
+
+    @Test
+    void reopenedFileKeepsItsRecordsAndLayout() throws IOException
+    {
+        Path file = directory.resolve("reopen.dat");
+        try (LeaderboardStore store = new LeaderboardStore(file, 3, 4))
+        {
+            for (int score = 1; score <= 5; score++) { store.insert(7L, 2, score, score * 10, score); }
+            store.insert(8L, 1, 9L, 99, 9);
+        }
+
+        // The layout in the file wins over the one asked for
+        try (LeaderboardStore store = new LeaderboardStore(file, 100, 256))
+        {
+            assertArrayEquals(new int[] { 50, 40, 30 }, scores(store, 7L, 2));
+            assertEquals(5L, store.getTimestamp(7L, 2, 0));
+            assertEquals(99, store.getBestScore(8L, 1));
+            assertEquals(6, store.getSessionCount());
+
+            assertEquals(-1, store.insert(7L, 2, 10L, 20, 2));
+            assertEquals(0, store.insert(7L, 2, 11L, 60, 6));
+        }
+
+        try (LeaderboardStore store = LeaderboardStore.open(file))
+        {
+            assertArrayEquals(new int[] { 60, 50, 40 }, scores(store, 7L, 2));
+        }
+    }
+
+
+    @Test
+    void fileWithMoreTablesThanItsLayoutIsRejected() throws IOException
+    {
+        Path file = directory.resolve("damaged.dat");
+        new LeaderboardStore(file, 3, 4).close();
+
+        try (FileChannel channel = FileChannel.open(file, WRITE))
+        {
+            channel.write(ByteBuffer.allocate(4).putInt(0, 5), TABLE_COUNT_OFFSET);
+        }
+        assertThrows(IOException.class, () -> new LeaderboardStore(file, 3, 4));
+    }
+
+
+    @Test
+    void otherFilesAreRejected() throws IOException
+    {
+        Path file = directory.resolve("other.dat");
+        try (FileChannel channel = FileChannel.open(file, CREATE, WRITE))
+        {
+            channel.write(ByteBuffer.wrap("not a leaderboard".getBytes()));
+        }
+        assertThrows(IOException.class, () -> LeaderboardStore.open(file));
+    }
+
+
+    // Helper Methods
+
+    /**
+     * @return  Every score of a table, best first
+     */
+    private static int[] scores(LeaderboardStore store, long profileId, int difficulty)
+    {
+        int[] scores = new int[store.getRecordCount(profileId, difficulty)];
+        for (int rank = 0; rank < scores.length; rank++) { scores[rank] = store.getScore(profileId, difficulty, rank); }
+        return scores;
+    }
+}
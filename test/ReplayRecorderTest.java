@@ -0,0 +1,104 @@
+// ReplayRecorderTest.java
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests of the replay format: a recorded game re-simulates to the same outcome through
+ * ReplayPlayer, and damaged recordings are rejected or fail verification.
+ *
+ * @author Michael Nguyen
+ * @version Last Modified Oct 17th, 2026
+ */
+class ReplayRecorderTest
+{
+    @Test
+    void recordedGamesReplayToTheSameOutcome() throws IOException
+    {
+        for (long seed = 1; seed <= 5; seed++)
+        {
+            GameEngine engine = new GameEngine(settings(), seed);
+            byte[] recording = play(engine);
+
+            ReplayPlayer.Result result = ReplayPlayer.replay(new ByteArrayInputStream(recording));
+            assertTrue(result.matches(), "seed " + seed);
+            assertEquals(engine.getScore(), result.getScore());
+            assertEquals(engine.getSnake().getLength(), result.getLength());
+        }
+    }
+
+
+    @Test
+    void observerSeesEveryTick() throws IOException
+    {
+        GameEngine engine = new GameEngine(settings(), 9L);
+        byte[] recording = play(engine);
+
+        long[] ticks = new long[1];
+        long[] lastHash = new long[1];
+        ReplayPlayer.Result result = ReplayPlayer.replay(new ByteArrayInputStream(recording),
+                (replayed, tick) -> { if (tick != null) { ticks[0]++; } lastHash[0] = replayed.getStateHash(); });
+
+        assertEquals(result.getTicks(), ticks[0]);
+        assertEquals(engine.getStateHash(), lastHash[0]);
+    }
+
+
+    @Test
+    void damagedRecordingsAreRejected() throws IOException
+    {
+        byte[] recording = play(new GameEngine(settings(), 3L));
+
+        byte[] badMagic = recording.clone();
+        badMagic[0] ^= 1;
+        assertThrows(IOException.class, () -> ReplayPlayer.replay(new ByteArrayInputStream(badMagic)));
+
+        byte[] badVersion = recording.clone();
+        badVersion[4] = (byte) (ReplayRecorder.VERSION + 1);
+        assertThrows(IOException.class, () -> ReplayPlayer.replay(new ByteArrayInputStream(badVersion)));
+
+        byte[] truncated = Arrays.copyOf(recording, recording.length - 1);
+        assertThrows(EOFException.class, () -> ReplayPlayer.replay(new ByteArrayInputStream(truncated)));
+
+        // A different stored hash no longer verifies
+        byte[] badHash = recording.clone();
+        badHash[badHash.length - 1] ^= 1;
+        assertFalse(ReplayPlayer.replay(new ByteArrayInputStream(badHash)).matches());
+    }
+
+
+    // Helper Methods
+
+    private static GameSettings settings()
+    {
+        GameSettings settings = new GameSettings(Color.BLACK, 80, 0.2, 500, 500);
+        settings.setPoisonPerApple(2);
+        return settings;
+    }
+
+
+    /**
+     * Plays a game to the end with the greedy player, recording it.
+     */
+    private static byte[] play(GameEngine engine)
+    {
+        GreedyPlayer player = new GreedyPlayer();
+        ReplayRecorder recorder = new ReplayRecorder(engine);
+
+        for (int tick = 0; tick < 50_000 && !engine.isGameOver(); tick++)
+        {
+            Snake.Direction direction = tick % 7 == 0 ? null : player.decide(engine);
+            recorder.record(direction);
+            engine.tick(direction);
+        }
+        recorder.finish(engine);
+        return recorder.toByteArray();
+    }
+}
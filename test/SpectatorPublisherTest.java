@@ -0,0 +1,160 @@
+// SpectatorPublisherTest.java
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests of the spectator stream: a SpectatorView rebuilds the game exactly from keyframes and
+ * deltas, syncs up when it joins late or loses a frame, and nothing is sent to nobody.
+ *
+ * @author Michael Nguyen
+ * @version Last Modified Oct 17th, 2026
+ */
+class SpectatorPublisherTest
+{
+    private static final int KEYFRAME_INTERVAL = 50;
+
+    private final GreedyPlayer player = new GreedyPlayer();
+
+
+    @Test
+    void viewerRebuildsTheGameAcrossRestarts()
+    {
+        GameSettings settings = new GameSettings();
+        settings.setPoisonPerApple(2);
+        GameEngine engine = new GameEngine(settings, 21L);
+        SpectatorPublisher publisher = new SpectatorPublisher(engine, KEYFRAME_INTERVAL);
+        SpectatorView view = new SpectatorView();
+        publisher.subscribe(view::apply);
+
+        int games = 0;
+        for (int tick = 0; tick < 20_000; tick++)
+        {
+            engine.tick(player.decide(engine));
+            publisher.publish();
+
+            assertTrue(view.isSynced(), "tick " + tick);
+            assertEquals(engine.isGameOver(), view.isGameOver());
+            assertEquals(engine.getScore(), view.getScore());
+            if (!engine.isGameOver()) { assertArrayEquals(cellsOf(engine), view.getBodyCells(), "tick " + tick); }
+            assertEquals(engine.getPoisonCount(), view.getPoisonCells().length);
+
+            if (engine.isGameOver())
+            {
+                engine.reset();
+                publisher.reset();
+                games++;
+            }
+        }
+
+        assertTrue(games > 1);
+        assertEquals(0, view.getMismatches());
+        assertTrue(view.getKeyframes() >= 20_000 / KEYFRAME_INTERVAL);
+    }
+
+
+    @Test
+    void deltasStaySmallWhateverTheLength()
+    {
+        GameEngine engine = new GameEngine(new GameSettings(), 22L);
+        SpectatorPublisher publisher = new SpectatorPublisher(engine, Integer.MAX_VALUE);
+        List<ByteBuffer> frames = new ArrayList<>();
+        publisher.subscribe(frames::add);
+
+        for (int tick = 0; tick < 2_000 && !engine.isGameOver(); tick++)
+        {
+            engine.tick(player.decide(engine));
+            publisher.publish();
+        }
+
+        assertEquals(SpectatorPublisher.KEYFRAME, frames.get(1).get(4));
+        for (ByteBuffer frame : frames.subList(2, frames.size()))
+        {
+            assertEquals(SpectatorPublisher.DELTA, frame.get(4));
+            assertTrue(frame.remaining() < 32, "delta of " + frame.remaining() + " bytes");
+            assertTrue(frame.isReadOnly());
+        }
+    }
+
+
+    @Test
+    void lateAndLossyViewersSyncAtTheNextKeyframe()
+    {
+        GameEngine engine = new GameEngine(new GameSettings(), 23L);
+        SpectatorPublisher publisher = new SpectatorPublisher(engine, KEYFRAME_INTERVAL);
+
+        SpectatorView late = new SpectatorView();
+        SpectatorView lossy = new SpectatorView();
+        boolean[] drop = new boolean[1];
+        publisher.subscribe(frame -> { if (!drop[0]) { lossy.apply(frame); } });
+
+        for (int tick = 1; tick <= 3 * KEYFRAME_INTERVAL; tick++)
+        {
+            if (tick == 10) { publisher.subscribe(late::apply); }
+            drop[0] = tick == 20;
+
+            engine.tick(player.decide(engine));
+            publisher.publish();
+            assertFalse(engine.isGameOver());
+
+            // Out of sync until the keyframe that follows the delta of tick KEYFRAME_INTERVAL + 1
+            boolean keyframeSeen = tick > KEYFRAME_INTERVAL;
+            assertEquals(keyframeSeen, late.isSynced(), "tick " + tick);
+            assertEquals(tick < 21 || keyframeSeen, lossy.isSynced(), "tick " + tick);
+        }
+
+        assertEquals(0, late.getMismatches());
+        assertEquals(0, lossy.getMismatches());
+        assertArrayEquals(cellsOf(engine), late.getBodyCells());
+        assertArrayEquals(cellsOf(engine), lossy.getBodyCells());
+    }
+
+
+    @Test
+    void nothingIsEncodedWithoutViewers()
+    {
+        GameEngine engine = new GameEngine(new GameSettings(), 24L);
+        SpectatorPublisher publisher = new SpectatorPublisher(engine, KEYFRAME_INTERVAL);
+
+        for (int tick = 0; tick < 100; tick++)
+        {
+            engine.tick(player.decide(engine));
+            publisher.publish();
+        }
+
+        // Whoever joins now starts from a keyframe straight away
+        List<ByteBuffer> frames = new ArrayList<>();
+        publisher.subscribe(frames::add);
+        engine.tick(player.decide(engine));
+        publisher.publish();
+
+        assertEquals(2, frames.size());
+        assertEquals(SpectatorPublisher.DELTA, frames.get(0).get(4));
+        assertEquals(SpectatorPublisher.KEYFRAME, frames.get(1).get(4));
+    }
+
+
+    // Helper Methods
+
+    /**
+     * @return  Cells of the engine's snake, head first, as the stream numbers them
+     */
+    private static int[] cellsOf(GameEngine engine)
+    {
+        Snake snake = engine.getSnake();
+        int size = engine.getSettings().getSegmentSize();
+        int columns = engine.getGrid().getColumns();
+
+        int[] cells = new int[snake.getLength()];
+        for (int i = 0; i < cells.length; i++)
+        {
+            cells[i] = snake.getSegmentX(i) / size + snake.getSegmentY(i) / size * columns;
+        }
+        return cells;
+    }
+}
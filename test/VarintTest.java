@@ -0,0 +1,104 @@
+// VarintTest.java
+
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests of the Varint encodings: values round-trip through both the stream and buffer forms,
+ * which produce the same bytes, and malformed input is rejected.
+ *
+ * @author Michael Nguyen
+ * @version Last Modified Oct 17th, 2026
+ */
+class VarintTest
+{
+    private static final long[] VALUES = {
+        0, 1, 0x7F, 0x80, 0x3FFF, 0x4000, 300, Integer.MAX_VALUE, 0xFFFFFFFFL, Long.MAX_VALUE, -1L
+    };
+
+
+    @Test
+    void streamAndBufferFormsRoundTripToTheSameBytes() throws IOException
+    {
+        for (long value : VALUES)
+        {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            Varint.write(new DataOutputStream(bytes), value);
+            byte[] streamed = bytes.toByteArray();
+
+            ByteBuffer buffer = ByteBuffer.allocate(16);
+            Varint.write(buffer, value);
+            buffer.flip();
+            byte[] buffered = new byte[buffer.remaining()];
+            buffer.get(buffered);
+
+            assertArrayEquals(streamed, buffered, "value " + value);
+            assertEquals(value, Varint.read(new DataInputStream(new ByteArrayInputStream(streamed))));
+            assertEquals(value, Varint.read(ByteBuffer.wrap(buffered)));
+        }
+    }
+
+
+    @Test
+    void smallValuesTakeOneByte()
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        Varint.write(buffer, 0x7F);
+        assertEquals(1, buffer.position());
+        Varint.write(buffer, 0x80);
+        assertEquals(3, buffer.position());
+    }
+
+
+    @Test
+    void signedValuesRoundTripWithSmallMagnitudesShort() throws IOException
+    {
+        int[] values = { 0, -1, 1, -2, 2, -64, 63, -65, Integer.MIN_VALUE, Integer.MAX_VALUE };
+        for (int value : values)
+        {
+            ByteBuffer buffer = ByteBuffer.allocate(16);
+            Varint.writeSigned(buffer, value);
+            if (value >= -64 && value <= 63) { assertEquals(1, buffer.position(), "value " + value); }
+
+            buffer.flip();
+            assertEquals(value, Varint.readSigned(buffer));
+            assertFalse(buffer.hasRemaining());
+        }
+    }
+
+
+    @Test
+    void readIntRejectsValuesOutsideAnInt()
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        Varint.write(buffer, Integer.MAX_VALUE + 1L);
+        buffer.flip();
+        assertThrows(IOException.class, () -> Varint.readInt(buffer));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        assertDoesNotThrow(() -> Varint.write(new DataOutputStream(bytes), Integer.MAX_VALUE + 1L));
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        assertThrows(IOException.class, () -> Varint.readInt(in));
+    }
+
+
+    @Test
+    void malformedAndTruncatedInputIsRejected()
+    {
+        // Ten continuation bytes never end the value
+        byte[] endless = new byte[10];
+        Arrays.fill(endless, (byte) 0x80);
+        assertThrows(IOException.class, () -> Varint.read(ByteBuffer.wrap(endless)));
+        assertThrows(IOException.class, () -> Varint.read(new DataInputStream(new ByteArrayInputStream(endless))));
+
+        byte[] truncated = { (byte) 0x80, (byte) 0x80 };
+        assertThrows(BufferUnderflowException.class, () -> Varint.read(ByteBuffer.wrap(truncated)));
+        assertThrows(EOFException.class, () -> Varint.read(new DataInputStream(new ByteArrayInputStream(truncated))));
+    }
+}